@@ -0,0 +1,107 @@
+package br.com.rockambole.clausonus.funcionario.seguranca;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.SecureRandom;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * Vazão (operações/s) e alocação por operação (profiler gc, gc.alloc.rate.norm) da geração e
+ * da verificação de hashes de senha, com os parâmetros de custo padrão de produção, e da
+ * derivação do formato anterior no buffer reaproveitado contra a implementação anterior, com
+ * a mesma senha e o mesmo salt.
+ * Executar com ./gradlew :clausonus-funcionario:jmh
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class HashSenhaBenchmark {
+
+    private static final String SENHA = "senha-de-referencia";
+
+    private Argon2idHashSenha argon2id;
+    private Pbkdf2HashSenha pbkdf2;
+    private HashSenha hashArgon2id;
+    private HashSenha hashPbkdf2;
+    private byte[] salt;
+    private String hashFormatoAnterior;
+
+    @Setup
+    public void preparar() throws Exception {
+        argon2id = new Argon2idHashSenha(19456, 2, 1);
+        pbkdf2 = new Pbkdf2HashSenha(600000);
+        hashArgon2id = argon2id.gerar(SENHA);
+        hashPbkdf2 = pbkdf2.gerar(SENHA);
+
+        salt = new byte[16];
+        new SecureRandom().nextBytes(salt);
+        byte[] hash = HashSenhaLegado.derivar(SENHA, salt);
+        if (!Arrays.equals(hash, derivarFormatoAnteriorReferencia(SENHA, salt))) {
+            throw new IllegalStateException("A derivação no buffer difere da implementação anterior");
+        }
+        byte[] combinado = new byte[salt.length + hash.length];
+        System.arraycopy(salt, 0, combinado, 0, salt.length);
+        System.arraycopy(hash, 0, combinado, salt.length, hash.length);
+        hashFormatoAnterior = Base64.getEncoder().encodeToString(combinado);
+    }
+
+    @Benchmark
+    public String criptografarArgon2id() {
+        return argon2id.gerar(SENHA).formatar();
+    }
+
+    @Benchmark
+    public boolean verificarArgon2id() {
+        return argon2id.verificar(SENHA, hashArgon2id);
+    }
+
+    @Benchmark
+    public String criptografarPbkdf2() {
+        return pbkdf2.gerar(SENHA).formatar();
+    }
+
+    @Benchmark
+    public boolean verificarPbkdf2() {
+        return pbkdf2.verificar(SENHA, hashPbkdf2);
+    }
+
+    @Benchmark
+    public boolean verificarFormatoAnterior() {
+        return HashSenhaLegado.verificar(SENHA, hashFormatoAnterior);
+    }
+
+    @Benchmark
+    public byte[] derivarFormatoAnterior() {
+        return HashSenhaLegado.derivar(SENHA, salt);
+    }
+
+    /**
+     * Implementação anterior de {@link HashSenhaLegado#derivar(String, byte[])}: um digest
+     * criado por chamada e um array alocado por iteração
+     */
+    @Benchmark
+    public byte[] derivarFormatoAnteriorReferencia() throws Exception {
+        return derivarFormatoAnteriorReferencia(SENHA, salt);
+    }
+
+    private static byte[] derivarFormatoAnteriorReferencia(String senha, byte[] salt) throws Exception {
+        MessageDigest digest = MessageDigest.getInstance("SHA-256");
+        digest.update(salt);
+        byte[] hash = digest.digest(senha.getBytes(StandardCharsets.UTF_8));
+        for (int i = 0; i < 1000; i++) {
+            digest.reset();
+            hash = digest.digest(hash);
+        }
+        return hash;
+    }
+}
@@ -31,6 +31,11 @@ public class FuncionarioDTO {
     
     private boolean ativo = true;
     
+    private Long idLoja;
+    
+    // Somente leitura: preenchida a partir da entidade e usada como ETag
+    private Long versao;
+    
     // Construtores
     public FuncionarioDTO() {
     }
@@ -44,6 +49,17 @@ public class FuncionarioDTO {
         this.ativo = ativo;
     }
     
+    public FuncionarioDTO(Long id, String nome, String cpf, String cargo, String login, boolean ativo, Long versao) {
+        this(id, nome, cpf, cargo, login, ativo);
+        this.versao = versao;
+    }
+    
+    public FuncionarioDTO(Long id, String nome, String cpf, String cargo, String login, boolean ativo, Long idLoja,
+            Long versao) {
+        this(id, nome, cpf, cargo, login, ativo, versao);
+        this.idLoja = idLoja;
+    }
+    
     // Getters e Setters
     public Long getId() {
         return id;
@@ -100,10 +116,26 @@ public class FuncionarioDTO {
     public void setAtivo(boolean ativo) {
         this.ativo = ativo;
     }
+
+    public Long getIdLoja() {
+        return idLoja;
+    }
+
+    public void setIdLoja(Long idLoja) {
+        this.idLoja = idLoja;
+    }
+
+    public Long getVersao() {
+        return versao;
+    }
+
+    public void setVersao(Long versao) {
+        this.versao = versao;
+    }
     
     @Override
     public String toString() {
         return "FuncionarioDTO [id=" + id + ", nome=" + nome + ", cpf=" + cpf + ", cargo=" + cargo + ", login=" + login
-                + ", ativo=" + ativo + "]";
+                + ", ativo=" + ativo + ", idLoja=" + idLoja + ", versao=" + versao + "]";
     }
 }
\ No newline at end of file
@@ -0,0 +1,47 @@
+package br.com.rockambole.clausonus.funcionario.dto;
+
+import jakarta.validation.constraints.NotBlank;
+
+/**
+ * DTO com as credenciais para emissão de token (login)
+ */
+public class LoginDTO {
+    
+    @NotBlank(message = "O login é obrigatório")
+    private String login;
+    
+    @NotBlank(message = "A senha é obrigatória")
+    private String senha;
+    
+    // Construtores
+    public LoginDTO() {
+    }
+    
+    public LoginDTO(String login, String senha) {
+        this.login = login;
+        this.senha = senha;
+    }
+    
+    // Getters e Setters
+    public String getLogin() {
+        return login;
+    }
+    
+    public void setLogin(String login) {
+        this.login = login;
+    }
+    
+    public String getSenha() {
+        return senha;
+    }
+    
+    public void setSenha(String senha) {
+        this.senha = senha;
+    }
+    
+    @Override
+    public String toString() {
+        // A senha não é incluída por segurança
+        return "LoginDTO [login=" + login + "]";
+    }
+}
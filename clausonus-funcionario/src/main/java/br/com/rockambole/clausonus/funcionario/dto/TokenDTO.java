@@ -0,0 +1,48 @@
+package br.com.rockambole.clausonus.funcionario.dto;
+
+/**
+ * DTO com o token JWT emitido no login
+ */
+public class TokenDTO {
+    
+    private String token;
+    
+    private String tipo = "Bearer";
+    
+    // Validade do token em segundos, a partir da emissão
+    private long expiraEm;
+    
+    // Construtores
+    public TokenDTO() {
+    }
+    
+    public TokenDTO(String token, long expiraEm) {
+        this.token = token;
+        this.expiraEm = expiraEm;
+    }
+    
+    // Getters e Setters
+    public String getToken() {
+        return token;
+    }
+    
+    public void setToken(String token) {
+        this.token = token;
+    }
+    
+    public String getTipo() {
+        return tipo;
+    }
+    
+    public void setTipo(String tipo) {
+        this.tipo = tipo;
+    }
+    
+    public long getExpiraEm() {
+        return expiraEm;
+    }
+    
+    public void setExpiraEm(long expiraEm) {
+        this.expiraEm = expiraEm;
+    }
+}
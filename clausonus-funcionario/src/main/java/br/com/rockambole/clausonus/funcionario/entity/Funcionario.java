@@ -3,19 +3,35 @@ package br.com.rockambole.clausonus.funcionario.entity;
 import java.util.List;
 import java.util.Optional;
 
+import org.hibernate.annotations.ColumnDefault;
+
 import io.quarkus.hibernate.orm.panache.PanacheEntity;
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
+import jakarta.persistence.Index;
 import jakarta.persistence.Table;
+import jakarta.persistence.Version;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.Size;
 
 /**
  * Entidade Funcionário implementada com Panache
  * Utiliza o padrão Active Record para operações de banco de dados
+ * Fica fora do cache de segundo nível: o cache é local a cada instância, e a autenticação
+ * precisa ver imediatamente a troca de senha e a desativação feitas em qualquer instância.
  */
 @Entity
-@Table(name = "funcionario")
+@Table(name = "funcionario", indexes = {
+        // Índices da listagem paginada: ordenação por nome e filtro por cargo, desempatados pelo ID.
+        // O filtro por prefixo do nome usa um intervalo de nomes, e não só o LIKE, para usar o
+        // índice em qualquer collation; idx_funcionario_ativo_nome atende o filtro por situação
+        // combinado com a ordem ou o prefixo do nome
+        @Index(name = "idx_funcionario_nome", columnList = "nome, id"),
+        @Index(name = "idx_funcionario_ativo_nome", columnList = "ativo, nome, id"),
+        @Index(name = "idx_funcionario_cargo", columnList = "cargo, id"),
+        // Senhas em texto plano a converter (MigracaoSenhas)
+        @Index(name = "idx_funcionario_senha_pendente", columnList = "senha_pendente, id")
+})
 public class Funcionario extends PanacheEntity {
     
     @NotBlank(message = "O nome é obrigatório")
@@ -46,6 +62,23 @@ public class Funcionario extends PanacheEntity {
     @Column(name = "ativo", nullable = false)
     private boolean ativo = true;
     
+    // Senha gravada em texto plano pela carga inicial, a converter pela tarefa MigracaoSenhas;
+    // o default permite adicionar a coluna em tabelas já populadas, cujas senhas já são hashes
+    @ColumnDefault("false")
+    @Column(name = "senha_pendente", nullable = false)
+    private boolean senhaPendente;
+    
+    // Loja em que o funcionário trabalha (ID do módulo de loja); opcional
+    @Column(name = "id_loja")
+    private Long idLoja;
+    
+    // Incrementada pelo Hibernate a cada alteração e verificada no UPDATE (controle otimista);
+    // o default permite adicionar a coluna em tabelas já populadas
+    @Version
+    @ColumnDefault("0")
+    @Column(name = "versao", nullable = false)
+    private Long versao;
+    
     // Construtores
     public Funcionario() {
     }
@@ -136,6 +169,10 @@ public class Funcionario extends PanacheEntity {
     public void setSenha(String senha) {
         this.senha = senha;
     }
+    
+    public boolean isSenhaPendente() {
+        return senhaPendente;
+    }
 
     public boolean isAtivo() {
         return ativo;
@@ -144,6 +181,18 @@ public class Funcionario extends PanacheEntity {
     public void setAtivo(boolean ativo) {
         this.ativo = ativo;
     }
+
+    public Long getIdLoja() {
+        return idLoja;
+    }
+
+    public void setIdLoja(Long idLoja) {
+        this.idLoja = idLoja;
+    }
+
+    public Long getVersao() {
+        return versao;
+    }
     
     // Métodos para conversão entre Entity e DTO
     
@@ -159,6 +208,8 @@ public class Funcionario extends PanacheEntity {
         dto.setLogin(this.login);
         // Não transferimos a senha para o DTO por segurança
         dto.setAtivo(this.ativo);
+        dto.setIdLoja(this.idLoja);
+        dto.setVersao(this.versao);
         return dto;
     }
     
@@ -173,8 +224,10 @@ public class Funcionario extends PanacheEntity {
         // A senha só é atualizada se for fornecida
         if (dto.getSenha() != null && !dto.getSenha().isEmpty()) {
             this.senha = dto.getSenha(); // Na implementação real, deve usar SenhaService para criptografar
+            this.senhaPendente = false;
         }
         this.ativo = dto.isAtivo();
+        this.idLoja = dto.getIdLoja();
         return this;
     }
     
@@ -189,6 +242,7 @@ public class Funcionario extends PanacheEntity {
         funcionario.login = dto.getLogin();
         funcionario.senha = senhaCriptografada;
         funcionario.ativo = dto.isAtivo();
+        funcionario.idLoja = dto.getIdLoja();
         return funcionario;
     }
 }
\ No newline at end of file
@@ -9,16 +9,28 @@ public class BusinessException extends RuntimeException {
     
     private final Response.Status status;
     
+    // Enviado no cabeçalho Retry-After quando informado (ex.: 429, 503)
+    private final Long segundosParaNovaTentativa;
+    
     public BusinessException(String message) {
         this(message, Response.Status.BAD_REQUEST);
     }
     
     public BusinessException(String message, Response.Status status) {
+        this(message, status, null);
+    }
+    
+    public BusinessException(String message, Response.Status status, Long segundosParaNovaTentativa) {
         super(message);
         this.status = status;
+        this.segundosParaNovaTentativa = segundosParaNovaTentativa;
     }
     
     public Response.Status getStatus() {
         return status;
     }
+    
+    public Long getSegundosParaNovaTentativa() {
+        return segundosParaNovaTentativa;
+    }
 }
\ No newline at end of file
@@ -1,5 +1,6 @@
 package br.com.rockambole.clausonus.funcionario.exception;
 
+import jakarta.ws.rs.core.HttpHeaders;
 import jakarta.ws.rs.core.Response;
 import jakarta.ws.rs.ext.ExceptionMapper;
 import jakarta.ws.rs.ext.Provider;
@@ -18,8 +19,11 @@ public class BusinessExceptionHandler implements ExceptionMapper<BusinessExcepti
                     exception.getMessage(),
                     "Erro de negócio");
         
-        return Response.status(exception.getStatus())
-                .entity(errorMessage)
-                .build();
+        Response.ResponseBuilder resposta = Response.status(exception.getStatus())
+                .entity(errorMessage);
+        if (exception.getSegundosParaNovaTentativa() != null) {
+            resposta.header(HttpHeaders.RETRY_AFTER, exception.getSegundosParaNovaTentativa());
+        }
+        return resposta.build();
     }
 }
\ No newline at end of file
@@ -0,0 +1,14 @@
+package br.com.rockambole.clausonus.funcionario.exception;
+
+import jakarta.ws.rs.core.Response;
+
+/**
+ * Exceção para recusar tentativas de autenticação acima do limite (429), informando ao
+ * cliente em quantos segundos tentar novamente (Retry-After)
+ */
+public class MuitasTentativasException extends BusinessException {
+    
+    public MuitasTentativasException(String message, long segundosParaNovaTentativa) {
+        super(message, Response.Status.TOO_MANY_REQUESTS, segundosParaNovaTentativa);
+    }
+}
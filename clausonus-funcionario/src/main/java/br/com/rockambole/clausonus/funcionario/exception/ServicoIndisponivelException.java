@@ -0,0 +1,14 @@
+package br.com.rockambole.clausonus.funcionario.exception;
+
+import jakarta.ws.rs.core.Response;
+
+/**
+ * Exceção para recusar uma requisição por sobrecarga temporária (503), informando ao
+ * cliente em quantos segundos tentar novamente (Retry-After)
+ */
+public class ServicoIndisponivelException extends BusinessException {
+    
+    public ServicoIndisponivelException(String message, long segundosParaNovaTentativa) {
+        super(message, Response.Status.SERVICE_UNAVAILABLE, segundosParaNovaTentativa);
+    }
+}
@@ -0,0 +1,86 @@
+package br.com.rockambole.clausonus.funcionario.repository;
+
+/**
+ * Filtros e ordem da listagem paginada de funcionários. Filtros nulos não são aplicados.
+ */
+public final class FiltroFuncionarios {
+
+    /**
+     * Ordem da listagem; o ID desempata a ordem por nome, para que a paginação por
+     * posição (keyset) seja estável
+     */
+    public enum Ordem {
+        ID("id", false, false),
+        ID_DESC("-id", false, true),
+        NOME("nome", true, false),
+        NOME_DESC("-nome", true, true);
+
+        private final String valor;
+        private final boolean porNome;
+        private final boolean decrescente;
+
+        Ordem(String valor, boolean porNome, boolean decrescente) {
+            this.valor = valor;
+            this.porNome = porNome;
+            this.decrescente = decrescente;
+        }
+
+        /**
+         * Converte o valor do parâmetro de ordem (id, -id, nome, -nome)
+         *
+         * @param valor Valor recebido, ou null para a ordem padrão (ID)
+         * @throws IllegalArgumentException se o valor não for uma ordem válida
+         */
+        public static Ordem de(String valor) {
+            if (valor == null || valor.isBlank()) {
+                return ID;
+            }
+            for (Ordem ordem : values()) {
+                if (ordem.valor.equalsIgnoreCase(valor.trim())) {
+                    return ordem;
+                }
+            }
+            throw new IllegalArgumentException("Ordem inválida: " + valor + " (use id, -id, nome ou -nome)");
+        }
+
+        public String getValor() {
+            return valor;
+        }
+
+        public boolean isPorNome() {
+            return porNome;
+        }
+
+        public boolean isDecrescente() {
+            return decrescente;
+        }
+    }
+
+    private final Boolean ativo;
+    private final String cargo;
+    private final String prefixoNome;
+    private final Ordem ordem;
+
+    public FiltroFuncionarios(Boolean ativo, String cargo, String prefixoNome, Ordem ordem) {
+        this.ativo = ativo;
+        this.cargo = cargo == null || cargo.isBlank() ? null : cargo;
+        this.prefixoNome = prefixoNome == null || prefixoNome.isBlank() ? null : prefixoNome;
+        this.ordem = ordem == null ? Ordem.ID : ordem;
+    }
+
+    public Boolean getAtivo() {
+        return ativo;
+    }
+
+    public String getCargo() {
+        return cargo;
+    }
+
+    public String getPrefixoNome() {
+        return prefixoNome;
+    }
+
+    public Ordem getOrdem() {
+        return ordem;
+    }
+}
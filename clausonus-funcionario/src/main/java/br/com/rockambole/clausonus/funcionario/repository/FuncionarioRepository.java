@@ -1,15 +1,31 @@
 package br.com.rockambole.clausonus.funcionario.repository;
 
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
+import org.hibernate.FlushMode;
+import org.hibernate.jpa.HibernateHints;
+
+import br.com.rockambole.clausonus.funcionario.dto.FuncionarioDTO;
 import br.com.rockambole.clausonus.funcionario.entity.Funcionario;
 import io.quarkus.hibernate.orm.panache.PanacheRepository;
 import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.persistence.TypedQuery;
 
 @ApplicationScoped
 public class FuncionarioRepository implements PanacheRepository<Funcionario> {
     
+    // Projeção das consultas de leitura: monta o DTO direto do resultado, sem carregar a
+    // entidade nem o hash da senha
+    private static final String PROJECAO_DTO = "select new br.com.rockambole.clausonus.funcionario.dto.FuncionarioDTO("
+            + "f.id, f.nome, f.cpf, f.cargo, f.login, f.ativo, f.idLoja, f.versao) from Funcionario f ";
+    
+    // Maior code point Unicode: limite superior exclusivo do intervalo de nomes com um prefixo
+    private static final String MAIOR_CARACTERE = new String(Character.toChars(Character.MAX_CODE_POINT));
+    
     public List<Funcionario> listarTodos() {
         return listAll();
     }
@@ -38,6 +54,162 @@ public class FuncionarioRepository implements PanacheRepository<Funcionario> {
         return list("cargo", cargo);
     }
     
+    public List<FuncionarioDTO> listarTodosDTO() {
+        return consultaLeitura(PROJECAO_DTO + "order by f.id").getResultList();
+    }
+    
+    public List<FuncionarioDTO> listarAtivosDTO() {
+        return consultaLeitura(PROJECAO_DTO + "where f.ativo = true order by f.id").getResultList();
+    }
+    
+    public Optional<FuncionarioDTO> buscarDTOPorId(Long id) {
+        return consultaLeitura(PROJECAO_DTO + "where f.id = :id")
+                .setParameter("id", id)
+                .getResultStream()
+                .findFirst();
+    }
+    
+    public Optional<FuncionarioDTO> buscarDTOPorCpf(String cpf) {
+        return consultaLeitura(PROJECAO_DTO + "where f.cpf = :cpf")
+                .setParameter("cpf", cpf)
+                .getResultStream()
+                .findFirst();
+    }
+    
+    public Optional<FuncionarioDTO> buscarDTOPorLogin(String login) {
+        return consultaLeitura(PROJECAO_DTO + "where f.login = :login")
+                .setParameter("login", login)
+                .getResultStream()
+                .findFirst();
+    }
+    
+    public List<FuncionarioDTO> buscarDTOsPorNome(String nome) {
+        return consultaLeitura(PROJECAO_DTO + "where f.nome like :nome order by f.id")
+                .setParameter("nome", "%" + nome + "%")
+                .getResultList();
+    }
+    
+    public List<FuncionarioDTO> buscarDTOsPorCargo(String cargo) {
+        return consultaLeitura(PROJECAO_DTO + "where f.cargo = :cargo order by f.id")
+                .setParameter("cargo", cargo)
+                .getResultList();
+    }
+    
+    /**
+     * Lista uma página de funcionários com os filtros e a ordem informados, a partir da posição
+     * do último item da página anterior (keyset). A consulta é montada sempre na mesma ordem de
+     * cláusulas e com os valores como parâmetros, de modo que cada combinação de filtros gera
+     * o mesmo texto SQL e reaproveita o plano do Hibernate e o prepared statement do banco.
+     *
+     * @param filtro Filtros (ativo, cargo, prefixo do nome) e ordem
+     * @param aposId ID do último funcionário da página anterior, ou null para a primeira página
+     * @param aposNome Nome do último funcionário da página anterior (apenas na ordem por nome)
+     * @param limite Quantidade máxima de funcionários retornados
+     */
+    public List<FuncionarioDTO> listarPaginaDTO(FiltroFuncionarios filtro, Long aposId, String aposNome, int limite) {
+        List<String> condicoes = new ArrayList<>();
+        Map<String, Object> parametros = new LinkedHashMap<>();
+        
+        if (filtro.getAtivo() != null) {
+            condicoes.add("f.ativo = :ativo");
+            parametros.put("ativo", filtro.getAtivo());
+        }
+        if (filtro.getCargo() != null) {
+            condicoes.add("f.cargo = :cargo");
+            parametros.put("cargo", filtro.getCargo());
+        }
+        if (filtro.getPrefixoNome() != null) {
+            // O intervalo [prefixo, prefixo + U+10FFFF) permite a busca no índice por nome em
+            // qualquer collation (um LIKE só usa o índice na collation C); o LIKE mantém a
+            // comparação exata do prefixo sobre as linhas do intervalo
+            condicoes.add("f.nome >= :prefixoInicio and f.nome < :prefixoFim and f.nome like :prefixoNome escape '!'");
+            parametros.put("prefixoInicio", filtro.getPrefixoNome());
+            parametros.put("prefixoFim", filtro.getPrefixoNome() + MAIOR_CARACTERE);
+            parametros.put("prefixoNome", escaparLike(filtro.getPrefixoNome()) + "%");
+        }
+        
+        FiltroFuncionarios.Ordem ordem = filtro.getOrdem();
+        String comparacao = ordem.isDecrescente() ? "<" : ">";
+        String direcao = ordem.isDecrescente() ? " desc" : " asc";
+        if (aposId != null) {
+            if (ordem.isPorNome()) {
+                // Comparação de tuplas: o índice (nome, id) começa a leitura na posição do cursor;
+                // com nome > x or (nome = x and id > y) o PostgreSQL percorre o índice desde o início
+                condicoes.add("(f.nome, f.id) " + comparacao + " (:aposNome, :aposId)");
+                parametros.put("aposNome", aposNome);
+            } else {
+                condicoes.add("f.id " + comparacao + " :aposId");
+            }
+            parametros.put("aposId", aposId);
+        }
+        
+        StringBuilder jpql = new StringBuilder(PROJECAO_DTO);
+        if (!condicoes.isEmpty()) {
+            jpql.append("where ").append(String.join(" and ", condicoes)).append(' ');
+        }
+        jpql.append(ordem.isPorNome() ? "order by f.nome" + direcao + ", f.id" + direcao : "order by f.id" + direcao);
+        
+        TypedQuery<FuncionarioDTO> consulta = consultaLeitura(jpql.toString());
+        parametros.forEach(consulta::setParameter);
+        return consulta.setMaxResults(limite).getResultList();
+    }
+    
+    private static String escaparLike(String valor) {
+        return valor.replace("!", "!!").replace("%", "!%").replace("_", "!_");
+    }
+    
+    /**
+     * Cria uma consulta de leitura projetada em FuncionarioDTO que não dispara o flush
+     * automático do contexto de persistência (não há verificação de entidades sujas)
+     */
+    private TypedQuery<FuncionarioDTO> consultaLeitura(String jpql) {
+        return getEntityManager().createQuery(jpql, FuncionarioDTO.class)
+                .setHint(HibernateHints.HINT_FLUSH_MODE, FlushMode.MANUAL);
+    }
+    
+    /**
+     * Lista, em ordem de ID, os funcionários com a senha marcada como pendente de conversão
+     * (texto plano da carga inicial), a partir de uma posição. A marca é indexada, então a
+     * consulta não percorre a tabela quando não há pendências.
+     *
+     * @param aposId ID do último funcionário do lote anterior (0 para o primeiro lote)
+     * @param limite Quantidade máxima de funcionários retornados
+     * @return Senha em texto plano de cada funcionário, por ID, em ordem de ID
+     */
+    public Map<Long, String> listarSenhasPendentes(long aposId, int limite) {
+        Map<Long, String> pendentes = new LinkedHashMap<>();
+        getEntityManager()
+                .createQuery("select f.id, f.senha from Funcionario f where f.senhaPendente = true and f.id > :aposId "
+                        + "order by f.id", Object[].class)
+                .setParameter("aposId", aposId)
+                .setMaxResults(limite)
+                .getResultList()
+                .forEach(linha -> pendentes.put((Long) linha[0], (String) linha[1]));
+        return pendentes;
+    }
+    
+    /**
+     * Grava o hash de uma senha pendente de conversão somente se ela ainda for a lida e
+     * continuar pendente, em um único UPDATE que também remove a marca
+     *
+     * @return true se a senha foi convertida
+     */
+    public boolean concluirMigracaoSenha(Long id, String textoPlano, String hash) {
+        return update("senha = ?1, senhaPendente = false, versao = versao + 1 "
+                + "where id = ?2 and senha = ?3 and senhaPendente = true", hash, id, textoPlano) == 1;
+    }
+    
+    /**
+     * Troca o hash da senha somente se o valor gravado ainda for o informado (comparação e
+     * troca em um único UPDATE), incrementando a versão do funcionário
+     *
+     * @return true se a senha foi trocada
+     */
+    public boolean substituirSenha(Long id, String senhaAnterior, String novaSenha) {
+        return update("senha = ?1, senhaPendente = false, versao = versao + 1 where id = ?2 and senha = ?3",
+                novaSenha, id, senhaAnterior) == 1;
+    }
+    
     public void salvar(Funcionario funcionario) {
         persist(funcionario);
     }
@@ -0,0 +1,31 @@
+package br.com.rockambole.clausonus.funcionario.resource;
+
+import java.util.Map;
+
+import jakarta.inject.Inject;
+import jakarta.ws.rs.GET;
+import jakarta.ws.rs.Path;
+import jakarta.ws.rs.Produces;
+import jakarta.ws.rs.core.MediaType;
+
+import org.eclipse.microprofile.openapi.annotations.Operation;
+import org.eclipse.microprofile.openapi.annotations.responses.APIResponse;
+import org.eclipse.microprofile.openapi.annotations.tags.Tag;
+
+import br.com.rockambole.clausonus.funcionario.seguranca.ChaveJwt;
+
+@Path("/.well-known/jwks.json")
+@Produces(MediaType.APPLICATION_JSON)
+@Tag(name = "Autenticação", description = "Chaves para validação dos tokens emitidos no login")
+public class ChaveJwtResource {
+    
+    @Inject
+    ChaveJwt chaveJwt;
+    
+    @GET
+    @Operation(summary = "Chaves públicas dos tokens", description = "Conjunto de chaves (JWKS) para validar localmente os tokens emitidos em POST /funcionarios/login")
+    @APIResponse(responseCode = "200", description = "Conjunto de chaves no formato JWKS")
+    public Map<String, Object> jwks() {
+        return chaveJwt.jwks();
+    }
+}
@@ -1,7 +1,5 @@
 package br.com.rockambole.clausonus.funcionario.resource;
 
-import java.util.List;
-
 import jakarta.inject.Inject;
 import jakarta.validation.Valid;
 import jakarta.validation.constraints.NotBlank;
@@ -9,12 +7,16 @@ import jakarta.validation.constraints.NotNull;
 import jakarta.ws.rs.Consumes;
 import jakarta.ws.rs.DELETE;
 import jakarta.ws.rs.GET;
+import jakarta.ws.rs.HeaderParam;
 import jakarta.ws.rs.POST;
 import jakarta.ws.rs.PUT;
 import jakarta.ws.rs.Path;
 import jakarta.ws.rs.PathParam;
 import jakarta.ws.rs.Produces;
 import jakarta.ws.rs.QueryParam;
+import jakarta.ws.rs.core.Context;
+import jakarta.ws.rs.core.EntityTag;
+import jakarta.ws.rs.core.HttpHeaders;
 import jakarta.ws.rs.core.MediaType;
 import jakarta.ws.rs.core.Response;
 import jakarta.ws.rs.core.Response.Status;
@@ -28,34 +30,55 @@ import org.eclipse.microprofile.openapi.annotations.responses.APIResponse;
 import org.eclipse.microprofile.openapi.annotations.tags.Tag;
 
 import br.com.rockambole.clausonus.funcionario.dto.FuncionarioDTO;
+import br.com.rockambole.clausonus.funcionario.dto.LoginDTO;
+import br.com.rockambole.clausonus.funcionario.dto.PaginaDTO;
 import br.com.rockambole.clausonus.funcionario.dto.SenhaDTO;
+import br.com.rockambole.clausonus.funcionario.dto.TokenDTO;
+import br.com.rockambole.clausonus.funcionario.exception.BusinessException;
+import br.com.rockambole.clausonus.funcionario.repository.FiltroFuncionarios;
+import br.com.rockambole.clausonus.funcionario.seguranca.EmissorToken;
+import br.com.rockambole.clausonus.funcionario.seguranca.LimitadorTentativas;
 import br.com.rockambole.clausonus.funcionario.service.FuncionarioService;
+import br.com.rockambole.clausonus.funcionario.util.EtagUtil;
+import io.smallrye.common.annotation.RunOnVirtualThread;
+import io.vertx.core.http.HttpServerRequest;
 import jakarta.ws.rs.core.UriBuilder;
 
 @Path("/funcionarios")
 @Produces(MediaType.APPLICATION_JSON)
 @Consumes(MediaType.APPLICATION_JSON)
 @Tag(name = "Funcionários", description = "Operações relacionadas a funcionários")
+@RunOnVirtualThread
 public class FuncionarioResource {
     
     @Inject
     FuncionarioService funcionarioService;
     
+    @Inject
+    EmissorToken emissorToken;
+    
+    @Inject
+    LimitadorTentativas limitadorTentativas;
+    
     @GET
-    @Operation(summary = "Lista todos os funcionários", description = "Retorna uma lista com todos os funcionários cadastrados")
-    @APIResponse(responseCode = "200", description = "Lista de funcionários", 
+    @Operation(summary = "Lista funcionários", description = "Retorna uma página de funcionários, com filtros combináveis por situação, cargo e início do nome, e o cursor da próxima página")
+    @APIResponse(responseCode = "200", description = "Página de funcionários", 
         content = @Content(mediaType = "application/json", 
-        schema = @Schema(type = SchemaType.ARRAY, implementation = FuncionarioDTO.class)))
-    public Response listarTodos(@QueryParam("ativos") Boolean apenasAtivos) {
-        List<FuncionarioDTO> funcionarios;
-        
-        if (apenasAtivos != null && apenasAtivos) {
-            funcionarios = funcionarioService.listarAtivos();
-        } else {
-            funcionarios = funcionarioService.listarTodos();
+        schema = @Schema(implementation = PaginaDTO.class)))
+    @APIResponse(responseCode = "400", description = "Ordem, cursor ou limite inválidos")
+    public Response listarTodos(
+            @Parameter(description = "Situação do funcionário (true=ativo, false=inativo)") @QueryParam("ativo") Boolean ativo,
+            @Parameter(description = "Equivalente a ativo=true; mantido por compatibilidade") @QueryParam("ativos") Boolean apenasAtivos,
+            @Parameter(description = "Cargo exato") @QueryParam("cargo") String cargo,
+            @Parameter(description = "Início do nome") @QueryParam("nome") String nome,
+            @Parameter(description = "Ordem: id (padrão), -id, nome ou -nome") @QueryParam("ordem") String ordem,
+            @Parameter(description = "Cursor retornado em proximoCursor pela página anterior") @QueryParam("after") String after,
+            @Parameter(description = "Quantidade máxima de funcionários na página") @QueryParam("limit") Integer limit) {
+        if (ativo == null && Boolean.TRUE.equals(apenasAtivos)) {
+            ativo = true;
         }
-        
-        return Response.ok(funcionarios).build();
+        FiltroFuncionarios filtro = new FiltroFuncionarios(ativo, cargo, nome, FiltroFuncionarios.Ordem.de(ordem));
+        return Response.ok(funcionarioService.listarPagina(filtro, after, limit)).build();
     }
     
     @GET
@@ -68,7 +91,7 @@ public class FuncionarioResource {
     public Response buscarPorId(
             @Parameter(description = "ID do funcionário", required = true) 
             @PathParam("id") Long id) {
-        return Response.ok(funcionarioService.buscarPorId(id)).build();
+        return comEtag(funcionarioService.buscarPorId(id));
     }
     
     @GET
@@ -101,6 +124,7 @@ public class FuncionarioResource {
         content = @Content(mediaType = "application/json", 
         schema = @Schema(implementation = FuncionarioDTO.class)))
     @APIResponse(responseCode = "400", description = "Dados inválidos ou funcionário já existente")
+    @APIResponse(responseCode = "503", description = "Muitas operações de senha em andamento; tente novamente após o Retry-After")
     public Response salvar(@Valid FuncionarioDTO funcionarioDTO) {
         try {
             FuncionarioDTO salvo = funcionarioService.salvar(funcionarioDTO);
@@ -121,6 +145,9 @@ public class FuncionarioResource {
             return Response.status(Response.Status.BAD_REQUEST)
                     .entity(e.getMessage())
                     .build();
+        } catch (BusinessException e) {
+            // Tratada pelo BusinessExceptionHandler (ex.: 503 com o executor de hash sobrecarregado)
+            throw e;
         } catch (Exception e) {
             return Response.status(Response.Status.BAD_REQUEST)
                     .entity("Erro ao salvar funcionário: " + e.getMessage())
@@ -128,6 +155,22 @@ public class FuncionarioResource {
         }
     }
     
+    @POST
+    @Path("/login")
+    @Operation(summary = "Autentica funcionário", description = "Verifica login e senha de um funcionário ativo e emite um token JWT de curta duração")
+    @APIResponse(responseCode = "200", description = "Token emitido", 
+        content = @Content(mediaType = "application/json", 
+        schema = @Schema(implementation = TokenDTO.class)))
+    @APIResponse(responseCode = "401", description = "Login ou senha inválidos, ou funcionário inativo")
+    @APIResponse(responseCode = "429", description = "Muitas tentativas para o login ou a partir do IP; tente novamente após o Retry-After")
+    @APIResponse(responseCode = "503", description = "Muitas operações de senha em andamento; tente novamente após o Retry-After")
+    public Response login(@Valid LoginDTO loginDTO, @Context HttpServerRequest requisicao) {
+        limitadorTentativas.registrarTentativa(loginDTO.getLogin(), ipDeOrigem(requisicao));
+        FuncionarioDTO funcionario = funcionarioService.autenticar(loginDTO.getLogin(), loginDTO.getSenha())
+                .orElseThrow(() -> new BusinessException("Login ou senha inválidos", Status.UNAUTHORIZED));
+        return Response.ok(emissorToken.emitir(funcionario)).build();
+    }
+    
     @PUT
     @Path("/{id}")
     @Operation(summary = "Atualiza funcionário", description = "Atualiza os dados de um funcionário existente")
@@ -136,11 +179,15 @@ public class FuncionarioResource {
         schema = @Schema(implementation = FuncionarioDTO.class)))
     @APIResponse(responseCode = "404", description = "Funcionário não encontrado")
     @APIResponse(responseCode = "400", description = "Dados inválidos ou conflito com funcionário existente")
+    @APIResponse(responseCode = "412", description = "O funcionário foi alterado desde o ETag informado em If-Match")
+    @APIResponse(responseCode = "503", description = "Muitas operações de senha em andamento; tente novamente após o Retry-After")
     public Response atualizar(
             @Parameter(description = "ID do funcionário", required = true) 
             @PathParam("id") Long id,
+            @Parameter(description = "ETag lido em GET /funcionarios/{id}; a atualização só é aplicada se ainda for o atual") 
+            @HeaderParam(HttpHeaders.IF_MATCH) String ifMatch,
             @Valid FuncionarioDTO funcionarioDTO) {
-        return Response.ok(funcionarioService.atualizar(id, funcionarioDTO)).build();
+        return comEtag(funcionarioService.atualizar(id, funcionarioDTO, EtagUtil.versaoEsperada(ifMatch, id)));
     }
     
     @PUT
@@ -149,10 +196,15 @@ public class FuncionarioResource {
     @APIResponse(responseCode = "204", description = "Senha atualizada com sucesso")
     @APIResponse(responseCode = "404", description = "Funcionário não encontrado")
     @APIResponse(responseCode = "400", description = "Senha atual incorreta ou dados inválidos")
+    @APIResponse(responseCode = "429", description = "Muitas tentativas para o funcionário ou a partir do IP; tente novamente após o Retry-After")
+    @APIResponse(responseCode = "503", description = "Muitas operações de senha em andamento; tente novamente após o Retry-After")
     public Response atualizarSenha(
             @Parameter(description = "ID do funcionário", required = true) 
             @PathParam("id") Long id,
-            @Valid SenhaDTO senhaDTO) {
+            @Valid SenhaDTO senhaDTO,
+            @Context HttpServerRequest requisicao) {
+        // A senha atual é verificada: a troca conta como tentativa de autenticação
+        limitadorTentativas.registrarTentativa("id:" + id, ipDeOrigem(requisicao));
         funcionarioService.atualizarSenha(id, senhaDTO.getSenhaAtual(), senhaDTO.getNovaSenha());
         return Response.noContent().build();
     }
@@ -183,4 +235,18 @@ public class FuncionarioResource {
         funcionarioService.excluir(id);
         return Response.noContent().build();
     }
-}
\ No newline at end of file
+    
+    private static String ipDeOrigem(HttpServerRequest requisicao) {
+        // Atrás de um proxy confiável (quarkus.http.proxy.trusted-proxies), o IP do cliente vem do
+        // X-Forwarded-For; de outras origens o cabeçalho é ignorado
+        return requisicao.remoteAddress() != null ? requisicao.remoteAddress().hostAddress() : "desconhecido";
+    }
+    
+    private static Response comEtag(FuncionarioDTO funcionario) {
+        Response.ResponseBuilder resposta = Response.ok(funcionario);
+        if (funcionario != null && funcionario.getVersao() != null) {
+            resposta.tag(new EntityTag(EtagUtil.doFuncionario(funcionario.getId(), funcionario.getVersao())));
+        }
+        return resposta.build();
+    }
+}
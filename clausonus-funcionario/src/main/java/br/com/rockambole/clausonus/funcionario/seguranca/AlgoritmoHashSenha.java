@@ -0,0 +1,39 @@
+package br.com.rockambole.clausonus.funcionario.seguranca;
+
+/**
+ * Algoritmo de hash de senha usado pelo SenhaService. Cada implementação é um bean com os
+ * seus parâmetros de custo configuráveis; o algoritmo das senhas novas é escolhido por
+ * clausonus.funcionario.senha.algoritmo.
+ */
+public interface AlgoritmoHashSenha {
+
+    /**
+     * Identificador do algoritmo no formato PHC (ex.: argon2id, pbkdf2-sha256)
+     */
+    String identificador();
+
+    /**
+     * Gera o hash de uma senha com um salt novo e os parâmetros configurados
+     *
+     * @param senha Senha em texto plano
+     * @return Hash no formato PHC
+     */
+    HashSenha gerar(String senha);
+
+    /**
+     * Verifica uma senha contra um hash deste algoritmo, usando os parâmetros gravados no hash
+     *
+     * @param senha Senha em texto plano
+     * @param hash Hash armazenado
+     * @return true se a senha corresponde ao hash
+     */
+    boolean verificar(String senha, HashSenha hash);
+
+    /**
+     * Indica se o hash foi gerado com os parâmetros configurados atualmente
+     *
+     * @param hash Hash armazenado
+     * @return false se o custo configurado mudou desde que o hash foi gerado
+     */
+    boolean parametrosAtuais(HashSenha hash);
+}
@@ -0,0 +1,91 @@
+package br.com.rockambole.clausonus.funcionario.seguranca;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.SecureRandom;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+
+import org.bouncycastle.crypto.generators.Argon2BytesGenerator;
+import org.bouncycastle.crypto.params.Argon2Parameters;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+
+/**
+ * Hash de senha Argon2id (memory-hard, resistente a ataques com GPU), no formato
+ * {@code $argon2id$v=19$m=<memoria KiB>,t=<iteracoes>,p=<paralelismo>$<salt>$<hash>}
+ */
+@ApplicationScoped
+public class Argon2idHashSenha implements AlgoritmoHashSenha {
+
+    public static final String IDENTIFICADOR = "argon2id";
+
+    private static final int TAMANHO_SALT = 16;
+    private static final int TAMANHO_HASH = 32;
+
+    private final SecureRandom random = new SecureRandom();
+    private final int memoriaKib;
+    private final int iteracoes;
+    private final int paralelismo;
+
+    @Inject
+    public Argon2idHashSenha(
+            @ConfigProperty(name = "clausonus.funcionario.senha.argon2.memoria-kib", defaultValue = "19456") int memoriaKib,
+            @ConfigProperty(name = "clausonus.funcionario.senha.argon2.iteracoes", defaultValue = "2") int iteracoes,
+            @ConfigProperty(name = "clausonus.funcionario.senha.argon2.paralelismo", defaultValue = "1") int paralelismo) {
+        this.memoriaKib = memoriaKib;
+        this.iteracoes = iteracoes;
+        this.paralelismo = paralelismo;
+    }
+
+    @Override
+    public String identificador() {
+        return IDENTIFICADOR;
+    }
+
+    @Override
+    public HashSenha gerar(String senha) {
+        byte[] salt = new byte[TAMANHO_SALT];
+        random.nextBytes(salt);
+
+        Map<String, String> parametros = new LinkedHashMap<>();
+        parametros.put("m", String.valueOf(memoriaKib));
+        parametros.put("t", String.valueOf(iteracoes));
+        parametros.put("p", String.valueOf(paralelismo));
+        byte[] hash = derivar(senha, salt, memoriaKib, iteracoes, paralelismo, TAMANHO_HASH);
+        return new HashSenha(IDENTIFICADOR, Argon2Parameters.ARGON2_VERSION_13, parametros, salt, hash);
+    }
+
+    @Override
+    public boolean verificar(String senha, HashSenha hash) {
+        byte[] calculado = derivar(senha, hash.getSalt(), hash.parametroInteiro("m"), hash.parametroInteiro("t"),
+                hash.parametroInteiro("p"), hash.getHash().length);
+        return MessageDigest.isEqual(calculado, hash.getHash());
+    }
+
+    @Override
+    public boolean parametrosAtuais(HashSenha hash) {
+        return hash.parametroInteiro("m") == memoriaKib
+                && hash.parametroInteiro("t") == iteracoes
+                && hash.parametroInteiro("p") == paralelismo
+                && hash.getHash().length == TAMANHO_HASH;
+    }
+
+    private static byte[] derivar(String senha, byte[] salt, int memoriaKib, int iteracoes, int paralelismo, int tamanho) {
+        Argon2Parameters parametros = new Argon2Parameters.Builder(Argon2Parameters.ARGON2_id)
+                .withVersion(Argon2Parameters.ARGON2_VERSION_13)
+                .withMemoryAsKB(memoriaKib)
+                .withIterations(iteracoes)
+                .withParallelism(paralelismo)
+                .withSalt(salt)
+                .build();
+
+        Argon2BytesGenerator gerador = new Argon2BytesGenerator();
+        gerador.init(parametros);
+        byte[] hash = new byte[tamanho];
+        gerador.generateBytes(senha.getBytes(StandardCharsets.UTF_8), hash);
+        return hash;
+    }
+}
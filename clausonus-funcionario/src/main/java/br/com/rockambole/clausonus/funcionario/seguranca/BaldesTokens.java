@@ -0,0 +1,196 @@
+package br.com.rockambole.clausonus.funcionario.seguranca;
+
+import java.util.Iterator;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.LongSupplier;
+
+/**
+ * Baldes de tokens por chave (login, IP), distribuídos em faixas para limitar a contenção.
+ * Cada balde guarda seu estado (tokens e instante da última recarga) em um AtomicReference
+ * atualizado por CAS, sem bloqueio. A memória é limitada: cada faixa tem no máximo
+ * maximoChaves / faixas baldes. Com a faixa cheia, só são descartados os baldes que já
+ * recarregaram por completo, que equivalem a um balde novo; se nenhum estiver cheio, a chave
+ * nova é recusada (falha fechada), em vez de descartar um balde que ainda limita alguém.
+ * A varredura da faixa cheia roda no máximo uma vez por segundo; entre varreduras, as chaves
+ * novas dessa faixa são recusadas sem percorrê-la.
+ */
+public class BaldesTokens {
+
+    // Intervalo mínimo entre varreduras de uma faixa cheia
+    private static final long INTERVALO_VARREDURA_NANOS = TimeUnit.SECONDS.toNanos(1);
+
+    private final double capacidade;
+    private final double recargaPorNano;
+    private final long ociosidadeNanos;
+    private final int maximoPorFaixa;
+    private final Faixa[] faixas;
+    private final LongSupplier relogio;
+
+    /**
+     * @param capacidade Tentativas permitidas em rajada
+     * @param recargaPorMinuto Tentativas devolvidas ao balde por minuto
+     * @param faixas Quantidade de faixas (arredondada para potência de 2)
+     * @param maximoChaves Quantidade máxima de baldes mantidos em memória
+     * @param ociosidadeNanos Tempo sem uso após o qual o balde é descartado (no mínimo o tempo
+     *        de recarga completa)
+     * @param relogio Fonte de tempo em nanossegundos
+     */
+    public BaldesTokens(int capacidade, double recargaPorMinuto, int faixas, int maximoChaves, long ociosidadeNanos,
+            LongSupplier relogio) {
+        if (capacidade < 1 || recargaPorMinuto <= 0) {
+            throw new IllegalArgumentException("Capacidade e recarga do balde de tokens devem ser positivas");
+        }
+        this.capacidade = capacidade;
+        this.recargaPorNano = recargaPorMinuto / TimeUnit.MINUTES.toNanos(1);
+        this.ociosidadeNanos = Math.max(ociosidadeNanos, (long) Math.ceil(capacidade / recargaPorNano));
+        this.relogio = relogio;
+
+        int quantidadeFaixas = 1;
+        while (quantidadeFaixas < faixas) {
+            quantidadeFaixas <<= 1;
+        }
+        this.maximoPorFaixa = Math.max(1, maximoChaves / quantidadeFaixas);
+        this.faixas = new Faixa[quantidadeFaixas];
+        long agora = relogio.getAsLong();
+        for (int i = 0; i < quantidadeFaixas; i++) {
+            this.faixas[i] = new Faixa(agora);
+        }
+    }
+
+    /**
+     * Consome um token do balde da chave
+     *
+     * @param chave Chave do balde
+     * @return 0 se havia token disponível; caso contrário, nanossegundos até o próximo token
+     *         (ou até a próxima varredura, se a chave é nova e a faixa está cheia)
+     */
+    public long consumir(String chave) {
+        long agora = relogio.getAsLong();
+        Faixa faixa = faixas[espalhar(chave.hashCode()) & (faixas.length - 1)];
+        Balde balde = faixa.baldes.get(chave);
+        if (balde == null) {
+            if (faixa.baldes.size() >= maximoPorFaixa && !abrirEspaco(faixa, agora)) {
+                return Math.max(1, faixa.proximaVarredura.get() - agora);
+            }
+            balde = faixa.baldes.computeIfAbsent(chave, c -> new Balde(capacidade, agora));
+        }
+
+        while (true) {
+            Estado atual = balde.estado.get();
+            long instante = Math.max(agora, atual.instante);
+            double tokens = Math.min(capacidade, atual.tokens + (instante - atual.instante) * recargaPorNano);
+            if (tokens < 1) {
+                return (long) Math.ceil((1 - tokens) / recargaPorNano);
+            }
+            if (balde.estado.compareAndSet(atual, new Estado(tokens - 1, instante))) {
+                return 0;
+            }
+        }
+    }
+
+    /**
+     * Descarta os baldes ociosos
+     *
+     * @return Quantidade de baldes descartados
+     */
+    public int removerOciosos() {
+        long agora = relogio.getAsLong();
+        int removidos = 0;
+        for (Faixa faixa : faixas) {
+            int antes = faixa.baldes.size();
+            faixa.baldes.values().removeIf(balde -> balde.ocioso(agora, ociosidadeNanos));
+            removidos += antes - faixa.baldes.size();
+        }
+        return removidos;
+    }
+
+    /**
+     * Quantidade de baldes em memória
+     */
+    public int tamanho() {
+        int tamanho = 0;
+        for (Faixa faixa : faixas) {
+            tamanho += faixa.baldes.size();
+        }
+        return tamanho;
+    }
+
+    /**
+     * Descarta os baldes já recarregados por completo de uma faixa cheia
+     *
+     * @return true se sobrou espaço para uma chave nova
+     */
+    private boolean abrirEspaco(Faixa faixa, long agora) {
+        // Uma varredura por intervalo, feita pela thread que vence o CAS; as demais recusam
+        long proxima = faixa.proximaVarredura.get();
+        if (agora - proxima < 0 || !faixa.proximaVarredura.compareAndSet(proxima, agora + INTERVALO_VARREDURA_NANOS)) {
+            return false;
+        }
+
+        long menorFalta = Long.MAX_VALUE;
+        Iterator<Balde> baldes = faixa.baldes.values().iterator();
+        while (baldes.hasNext()) {
+            long falta = nanosAteEncher(baldes.next(), agora);
+            if (falta <= 0) {
+                baldes.remove();
+            } else {
+                menorFalta = Math.min(menorFalta, falta);
+            }
+        }
+        if (faixa.baldes.size() < maximoPorFaixa) {
+            return true;
+        }
+
+        // Nenhum espaço: a próxima varredura só vale quando algum balde estiver cheio
+        faixa.proximaVarredura.set(agora + Math.max(INTERVALO_VARREDURA_NANOS, menorFalta));
+        return false;
+    }
+
+    private long nanosAteEncher(Balde balde, long agora) {
+        Estado atual = balde.estado.get();
+        double tokens = atual.tokens + Math.max(0, agora - atual.instante) * recargaPorNano;
+        return tokens >= capacidade ? 0 : (long) Math.ceil((capacidade - tokens) / recargaPorNano);
+    }
+
+    private static int espalhar(int hash) {
+        return hash ^ (hash >>> 16);
+    }
+
+    private static final class Faixa {
+
+        private final Map<String, Balde> baldes = new ConcurrentHashMap<>();
+        private final AtomicLong proximaVarredura;
+
+        private Faixa(long agora) {
+            this.proximaVarredura = new AtomicLong(agora);
+        }
+    }
+
+    private static final class Balde {
+
+        private final AtomicReference<Estado> estado;
+
+        private Balde(double capacidade, long agora) {
+            this.estado = new AtomicReference<>(new Estado(capacidade, agora));
+        }
+
+        private boolean ocioso(long agora, long ociosidadeNanos) {
+            return agora - estado.get().instante > ociosidadeNanos;
+        }
+    }
+
+    private static final class Estado {
+
+        private final double tokens;
+        private final long instante;
+
+        private Estado(double tokens, long instante) {
+            this.tokens = tokens;
+            this.instante = instante;
+        }
+    }
+}
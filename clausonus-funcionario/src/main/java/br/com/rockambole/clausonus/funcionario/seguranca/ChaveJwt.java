@@ -0,0 +1,116 @@
+package br.com.rockambole.clausonus.funcionario.seguranca;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.math.BigInteger;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.GeneralSecurityException;
+import java.security.KeyFactory;
+import java.security.MessageDigest;
+import java.security.interfaces.RSAPublicKey;
+import java.security.spec.X509EncodedKeySpec;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+
+/**
+ * Chave pública RSA usada para verificar os tokens emitidos no login
+ * (mp.jwt.verify.publickey.location), publicada como JWKS para que os demais serviços
+ * validem os tokens localmente, com o conjunto de chaves em cache. O identificador da chave
+ * (kid) é derivado da própria chave e enviado no cabeçalho dos tokens.
+ */
+@ApplicationScoped
+public class ChaveJwt {
+
+    private static final Base64.Encoder BASE64_URL = Base64.getUrlEncoder().withoutPadding();
+
+    private final RSAPublicKey chave;
+    private final String identificador;
+
+    @Inject
+    public ChaveJwt(@ConfigProperty(name = "mp.jwt.verify.publickey.location") String localizacao) {
+        this.chave = lerChavePublica(localizacao);
+        this.identificador = calcularIdentificador(chave);
+    }
+
+    /**
+     * Identificador da chave (kid)
+     */
+    public String getIdentificador() {
+        return identificador;
+    }
+
+    /**
+     * Conjunto de chaves no formato JWKS (RFC 7517)
+     */
+    public Map<String, Object> jwks() {
+        Map<String, Object> jwk = new LinkedHashMap<>();
+        jwk.put("kty", "RSA");
+        jwk.put("use", "sig");
+        jwk.put("alg", "RS256");
+        jwk.put("kid", identificador);
+        jwk.put("n", base64SemSinal(chave.getModulus()));
+        jwk.put("e", base64SemSinal(chave.getPublicExponent()));
+        return Map.of("keys", List.of(jwk));
+    }
+
+    private static String base64SemSinal(BigInteger valor) {
+        byte[] bytes = valor.toByteArray();
+        if (bytes.length > 1 && bytes[0] == 0) {
+            bytes = Arrays.copyOfRange(bytes, 1, bytes.length);
+        }
+        return BASE64_URL.encodeToString(bytes);
+    }
+
+    private static String calcularIdentificador(RSAPublicKey chave) {
+        try {
+            byte[] resumo = MessageDigest.getInstance("SHA-256").digest(chave.getEncoded());
+            return BASE64_URL.encodeToString(Arrays.copyOf(resumo, 12));
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("Erro ao calcular o identificador da chave JWT", e);
+        }
+    }
+
+    private static RSAPublicKey lerChavePublica(String localizacao) {
+        String pem = lerConteudo(localizacao, "a chave pública JWT")
+                .replace("-----BEGIN PUBLIC KEY-----", "")
+                .replace("-----END PUBLIC KEY-----", "")
+                .replaceAll("\\s", "");
+        try {
+            return (RSAPublicKey) KeyFactory.getInstance("RSA")
+                    .generatePublic(new X509EncodedKeySpec(Base64.getDecoder().decode(pem)));
+        } catch (GeneralSecurityException | IllegalArgumentException e) {
+            throw new IllegalStateException("Chave pública JWT inválida em " + localizacao, e);
+        }
+    }
+
+    /**
+     * Lê uma chave do classpath ou do sistema de arquivos
+     *
+     * @param localizacao Recurso do classpath (opcionalmente com o prefixo classpath:) ou
+     *        caminho de arquivo (opcionalmente com o prefixo file:)
+     * @param descricao Descrição da chave nas mensagens de erro
+     */
+    static String lerConteudo(String localizacao, String descricao) {
+        String recurso = localizacao.startsWith("classpath:") ? localizacao.substring("classpath:".length()) : localizacao;
+        try (InputStream entrada = Thread.currentThread().getContextClassLoader().getResourceAsStream(recurso)) {
+            if (entrada != null) {
+                return new String(entrada.readAllBytes(), StandardCharsets.UTF_8);
+            }
+            String arquivo = localizacao.startsWith("file:") ? localizacao.substring("file:".length()) : localizacao;
+            return Files.readString(Path.of(arquivo));
+        } catch (IOException e) {
+            throw new UncheckedIOException("Erro ao ler " + descricao + " em " + localizacao, e);
+        }
+    }
+}
@@ -0,0 +1,71 @@
+package br.com.rockambole.clausonus.funcionario.seguranca;
+
+import java.time.Duration;
+import java.util.Set;
+
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.enterprise.event.Observes;
+import jakarta.inject.Inject;
+
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+
+import br.com.rockambole.clausonus.funcionario.dto.FuncionarioDTO;
+import br.com.rockambole.clausonus.funcionario.dto.TokenDTO;
+import io.quarkus.runtime.StartupEvent;
+import io.smallrye.jwt.build.Jwt;
+import io.smallrye.jwt.build.JwtClaimsBuilder;
+
+/**
+ * Emite os tokens JWT de curta duração entregues no login, assinados com a chave privada
+ * de smallrye.jwt.sign.key.location. Os claims id, login, cargo e loja permitem que os
+ * demais serviços identifiquem o operador sem consultar o módulo de funcionário.
+ * A chave privada não faz parte do artefato: em produção é montada em
+ * /deployments/config/jwt, e o par de desenvolvimento e testes fica em src/test/resources.
+ * Sem a chave a aplicação não inicia, em vez de falhar no primeiro login.
+ */
+@ApplicationScoped
+public class EmissorToken {
+
+    private final ChaveJwt chave;
+    private final String emissor;
+    private final Duration validade;
+    private final String localizacaoChavePrivada;
+
+    @Inject
+    public EmissorToken(ChaveJwt chave,
+            @ConfigProperty(name = "mp.jwt.verify.issuer") String emissor,
+            @ConfigProperty(name = "clausonus.funcionario.jwt.validade", defaultValue = "PT15M") Duration validade,
+            @ConfigProperty(name = "smallrye.jwt.sign.key.location") String localizacaoChavePrivada) {
+        this.chave = chave;
+        this.emissor = emissor;
+        this.validade = validade;
+        this.localizacaoChavePrivada = localizacaoChavePrivada;
+    }
+
+    void verificarChavePrivada(@Observes StartupEvent evento) {
+        ChaveJwt.lerConteudo(localizacaoChavePrivada, "a chave privada JWT");
+    }
+
+    /**
+     * Emite um token para um funcionário autenticado
+     *
+     * @param funcionario Funcionário autenticado
+     * @return Token assinado e sua validade em segundos
+     */
+    public TokenDTO emitir(FuncionarioDTO funcionario) {
+        JwtClaimsBuilder claims = Jwt.issuer(emissor)
+                .subject(String.valueOf(funcionario.getId()))
+                .upn(funcionario.getLogin())
+                .groups(Set.of(funcionario.getCargo()))
+                .claim("id", funcionario.getId())
+                .claim("login", funcionario.getLogin())
+                .claim("cargo", funcionario.getCargo())
+                .expiresIn(validade);
+        if (funcionario.getIdLoja() != null) {
+            claims.claim("loja", funcionario.getIdLoja());
+        }
+
+        String token = claims.jws().keyId(chave.getIdentificador()).sign();
+        return new TokenDTO(token, validade.toSeconds());
+    }
+}
@@ -0,0 +1,144 @@
+package br.com.rockambole.clausonus.funcionario.seguranca;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import jakarta.annotation.PreDestroy;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+
+import br.com.rockambole.clausonus.funcionario.exception.ServicoIndisponivelException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+/**
+ * Executor dedicado aos cálculos de hash de senha, que são propositalmente caros em CPU.
+ * Tem uma thread por processador (clausonus.funcionario.senha.executor.threads) e uma fila
+ * limitada (clausonus.funcionario.senha.executor.tamanho-fila); com a fila cheia a tarefa é
+ * recusada na hora com {@link ServicoIndisponivelException} (503 com Retry-After), em vez de
+ * acumular requisições esperando e ocupar a CPU usada pelas demais operações. A espera de cada
+ * tarefa também é limitada (clausonus.funcionario.senha.executor.espera-maxima): passado esse
+ * tempo a etapa falha com a mesma exceção, e a tarefa que ainda estiver na fila é descartada.
+ */
+@ApplicationScoped
+public class ExecutorHashSenha {
+
+    private final ThreadPoolExecutor executor;
+    private final long segundosParaNovaTentativa;
+    private final Executor expiracao;
+    private final MeterRegistry registry;
+    private final Map<String, Timer> duracoes = new ConcurrentHashMap<>();
+    private final Timer espera;
+    private final Counter recusadas;
+    private final Counter expiradas;
+
+    @Inject
+    public ExecutorHashSenha(
+            @ConfigProperty(name = "clausonus.funcionario.senha.executor.threads") Optional<Integer> threads,
+            @ConfigProperty(name = "clausonus.funcionario.senha.executor.tamanho-fila", defaultValue = "32") int tamanhoFila,
+            @ConfigProperty(name = "clausonus.funcionario.senha.executor.retry-after-segundos", defaultValue = "1") long segundosParaNovaTentativa,
+            @ConfigProperty(name = "clausonus.funcionario.senha.executor.espera-maxima", defaultValue = "PT2S") Duration esperaMaxima,
+            MeterRegistry registry) {
+        int tamanho = threads.orElse(Runtime.getRuntime().availableProcessors());
+        this.executor = new ThreadPoolExecutor(tamanho, tamanho, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(tamanhoFila), new FabricaThreads(), new ThreadPoolExecutor.AbortPolicy());
+        this.segundosParaNovaTentativa = segundosParaNovaTentativa;
+        this.expiracao = CompletableFuture.delayedExecutor(esperaMaxima.toNanos(), TimeUnit.NANOSECONDS);
+        this.registry = registry;
+
+        Gauge.builder("funcionario.senha.hash.fila", executor, e -> e.getQueue().size())
+                .description("Tarefas de hash de senha aguardando na fila do executor dedicado")
+                .register(registry);
+        Gauge.builder("funcionario.senha.hash.em-execucao", executor, ThreadPoolExecutor::getActiveCount)
+                .description("Tarefas de hash de senha em execução no executor dedicado")
+                .register(registry);
+        this.espera = Timer.builder("funcionario.senha.hash.espera")
+                .description("Tempo de espera na fila antes do cálculo do hash de senha")
+                .register(registry);
+        this.recusadas = Counter.builder("funcionario.senha.hash.recusadas")
+                .description("Tarefas de hash de senha recusadas com a fila cheia")
+                .register(registry);
+        this.expiradas = Counter.builder("funcionario.senha.hash.expiradas")
+                .description("Tarefas de hash de senha que excederam a espera máxima")
+                .register(registry);
+    }
+
+    /**
+     * Agenda o cálculo de um hash no executor dedicado
+     *
+     * @param operacao Nome da operação (tag operacao da métrica funcionario.senha.hash.duracao)
+     * @param calculo Cálculo do hash
+     * @return Etapa concluída com o resultado do cálculo, ou com
+     *         {@link ServicoIndisponivelException} se a fila estiver cheia ou se o resultado
+     *         não ficar pronto dentro da espera máxima
+     */
+    public <T> CompletionStage<T> submeter(String operacao, Supplier<T> calculo) {
+        Timer duracao = duracoes.computeIfAbsent(operacao, nome -> Timer.builder("funcionario.senha.hash.duracao")
+                .description("Duração do cálculo do hash de senha no executor dedicado")
+                .tag("operacao", nome)
+                .register(registry));
+        CompletableFuture<T> resultado = new CompletableFuture<>();
+        long enfileirada = System.nanoTime();
+        try {
+            executor.execute(() -> {
+                // Expirada enquanto aguardava na fila: ninguém espera mais pelo resultado
+                if (resultado.isDone()) {
+                    return;
+                }
+                espera.record(System.nanoTime() - enfileirada, TimeUnit.NANOSECONDS);
+                try {
+                    resultado.complete(duracao.record(calculo));
+                } catch (RuntimeException e) {
+                    resultado.completeExceptionally(e);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            recusadas.increment();
+            return CompletableFuture.failedFuture(indisponivel());
+        }
+        expiracao.execute(() -> {
+            if (resultado.completeExceptionally(indisponivel())) {
+                expiradas.increment();
+            }
+        });
+        return resultado;
+    }
+
+    private ServicoIndisponivelException indisponivel() {
+        return new ServicoIndisponivelException(
+                "Muitas operações de senha em andamento; tente novamente em instantes", segundosParaNovaTentativa);
+    }
+
+    @PreDestroy
+    void encerrar() {
+        executor.shutdown();
+    }
+
+    private static final class FabricaThreads implements ThreadFactory {
+
+        private final AtomicInteger contador = new AtomicInteger();
+
+        @Override
+        public Thread newThread(Runnable tarefa) {
+            Thread thread = new Thread(tarefa, "hash-senha-" + contador.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        }
+    }
+}
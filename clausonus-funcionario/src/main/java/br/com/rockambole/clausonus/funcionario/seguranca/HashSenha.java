@@ -0,0 +1,126 @@
+package br.com.rockambole.clausonus.funcionario.seguranca;
+
+import java.util.Base64;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.stream.Collectors;
+
+/**
+ * Hash de senha no formato autodescritivo PHC
+ * ({@code $<algoritmo>[$v=<versao>]$<param>=<valor>,...$<salt>$<hash>}, salt e hash em Base64
+ * sem preenchimento). O valor armazenado registra o algoritmo e os parâmetros usados, de modo
+ * que o custo pode ser alterado sem invalidar as senhas já gravadas.
+ */
+public final class HashSenha {
+
+    private static final Base64.Encoder CODIFICADOR = Base64.getEncoder().withoutPadding();
+    private static final Base64.Decoder DECODIFICADOR = Base64.getDecoder();
+
+    private final String algoritmo;
+    private final Integer versao;
+    private final Map<String, String> parametros;
+    private final byte[] salt;
+    private final byte[] hash;
+
+    public HashSenha(String algoritmo, Integer versao, Map<String, String> parametros, byte[] salt, byte[] hash) {
+        this.algoritmo = algoritmo;
+        this.versao = versao;
+        this.parametros = parametros;
+        this.salt = salt;
+        this.hash = hash;
+    }
+
+    /**
+     * Lê um hash no formato PHC
+     *
+     * @param valor Valor armazenado
+     * @return Hash lido, ou vazio se o valor não estiver no formato PHC
+     */
+    public static Optional<HashSenha> ler(String valor) {
+        if (valor == null || !valor.startsWith("$")) {
+            return Optional.empty();
+        }
+
+        String[] partes = valor.split("\\$");
+        if (partes.length != 5 && partes.length != 6) {
+            return Optional.empty();
+        }
+
+        try {
+            int indice = 2;
+            Integer versao = null;
+            if (partes.length == 6) {
+                if (!partes[indice].startsWith("v=")) {
+                    return Optional.empty();
+                }
+                versao = Integer.valueOf(partes[indice].substring(2));
+                indice++;
+            }
+
+            Map<String, String> parametros = new LinkedHashMap<>();
+            for (String parametro : partes[indice].split(",")) {
+                String[] chaveValor = parametro.split("=", 2);
+                if (chaveValor.length != 2) {
+                    return Optional.empty();
+                }
+                parametros.put(chaveValor[0], chaveValor[1]);
+            }
+
+            return Optional.of(new HashSenha(partes[1], versao, parametros,
+                    DECODIFICADOR.decode(partes[indice + 1]), DECODIFICADOR.decode(partes[indice + 2])));
+        } catch (IllegalArgumentException e) {
+            // Versão não numérica ou Base64 inválido
+            return Optional.empty();
+        }
+    }
+
+    /**
+     * Gera o valor a ser armazenado
+     */
+    public String formatar() {
+        StringBuilder valor = new StringBuilder("$").append(algoritmo);
+        if (versao != null) {
+            valor.append("$v=").append(versao);
+        }
+        valor.append('$').append(parametros.entrySet().stream()
+                .map(parametro -> parametro.getKey() + "=" + parametro.getValue())
+                .collect(Collectors.joining(",")));
+        valor.append('$').append(CODIFICADOR.encodeToString(salt));
+        valor.append('$').append(CODIFICADOR.encodeToString(hash));
+        return valor.toString();
+    }
+
+    /**
+     * Lê um parâmetro numérico do hash
+     *
+     * @throws IllegalArgumentException se o parâmetro estiver ausente ou não for numérico
+     */
+    public int parametroInteiro(String nome) {
+        String valor = parametros.get(nome);
+        if (valor == null) {
+            throw new IllegalArgumentException("Parâmetro ausente no hash de senha: " + nome);
+        }
+        return Integer.parseInt(valor);
+    }
+
+    public String getAlgoritmo() {
+        return algoritmo;
+    }
+
+    public Integer getVersao() {
+        return versao;
+    }
+
+    public Map<String, String> getParametros() {
+        return parametros;
+    }
+
+    public byte[] getSalt() {
+        return salt;
+    }
+
+    public byte[] getHash() {
+        return hash;
+    }
+}
@@ -0,0 +1,95 @@
+package br.com.rockambole.clausonus.funcionario.seguranca;
+
+import java.nio.charset.StandardCharsets;
+import java.security.DigestException;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Base64;
+
+/**
+ * Verificação do formato de hash anterior (Base64 de 16 bytes de salt seguidos de SHA-256
+ * iterado 1.000 vezes), mantida apenas para aceitar as senhas gravadas antes do formato PHC.
+ * Nenhuma senha nova é gerada neste formato.
+ * O digest é reaproveitado por thread (as verificações rodam nas threads fixas do
+ * {@link ExecutorHashSenha}) e as iterações são calculadas no mesmo buffer, sem alocar um
+ * array por iteração.
+ */
+public final class HashSenhaLegado {
+
+    private static final int TAMANHO_SALT = 16;
+    private static final int TAMANHO_HASH = 32;
+    private static final int ITERACOES = 1000;
+
+    private static final ThreadLocal<MessageDigest> DIGEST = ThreadLocal.withInitial(() -> {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("Erro ao verificar hash de senha no formato anterior", e);
+        }
+    });
+
+    private HashSenhaLegado() {
+    }
+
+    /**
+     * Indica se o valor armazenado está no formato anterior
+     *
+     * @param valor Valor armazenado
+     */
+    public static boolean formatoLegado(String valor) {
+        return decodificar(valor) != null;
+    }
+
+    /**
+     * Verifica uma senha contra um hash no formato anterior
+     *
+     * @param senha Senha em texto plano
+     * @param valor Valor armazenado
+     * @return true se a senha corresponde ao hash
+     */
+    public static boolean verificar(String senha, String valor) {
+        byte[] combinado = decodificar(valor);
+        if (combinado == null) {
+            return false;
+        }
+
+        byte[] salt = new byte[TAMANHO_SALT];
+        byte[] hashOriginal = new byte[TAMANHO_HASH];
+        System.arraycopy(combinado, 0, salt, 0, TAMANHO_SALT);
+        System.arraycopy(combinado, TAMANHO_SALT, hashOriginal, 0, TAMANHO_HASH);
+
+        return MessageDigest.isEqual(hashOriginal, derivar(senha, salt));
+    }
+
+    private static byte[] decodificar(String valor) {
+        if (valor == null || valor.startsWith("$")) {
+            return null;
+        }
+        try {
+            byte[] combinado = Base64.getDecoder().decode(valor);
+            return combinado.length == TAMANHO_SALT + TAMANHO_HASH ? combinado : null;
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+    }
+
+    // Visível no pacote para o HashSenhaBenchmark comparar com a implementação anterior
+    static byte[] derivar(String senha, byte[] salt) {
+        MessageDigest digest = DIGEST.get();
+        digest.reset();
+        byte[] hash = new byte[TAMANHO_HASH];
+        try {
+            digest.update(salt);
+            digest.update(senha.getBytes(StandardCharsets.UTF_8));
+            digest.digest(hash, 0, TAMANHO_HASH);
+            for (int i = 0; i < ITERACOES; i++) {
+                // update copia a entrada antes de digest sobrescrever o mesmo buffer
+                digest.update(hash);
+                digest.digest(hash, 0, TAMANHO_HASH);
+            }
+            return hash;
+        } catch (DigestException e) {
+            throw new IllegalStateException("Erro ao verificar hash de senha no formato anterior", e);
+        }
+    }
+}
@@ -0,0 +1,101 @@
+package br.com.rockambole.clausonus.funcionario.seguranca;
+
+import java.time.Duration;
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+
+import br.com.rockambole.clausonus.funcionario.exception.MuitasTentativasException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.quarkus.scheduler.Scheduled;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Limita as tentativas de autenticação (login e troca de senha) por conta e por IP de origem,
+ * com baldes de tokens em memória ({@link BaldesTokens}). A verificação acontece antes de
+ * qualquer cálculo de hash, de modo que uma rajada de tentativas não consome a CPU do
+ * {@link ExecutorHashSenha}. Os limites ficam em clausonus.funcionario.tentativas.*.
+ */
+@Slf4j
+@ApplicationScoped
+public class LimitadorTentativas {
+
+    private final BaldesTokens porConta;
+    private final BaldesTokens porIp;
+    private final Counter recusadasPorConta;
+    private final Counter recusadasPorIp;
+
+    @Inject
+    public LimitadorTentativas(
+            @ConfigProperty(name = "clausonus.funcionario.tentativas.conta.capacidade", defaultValue = "5") int capacidadeConta,
+            @ConfigProperty(name = "clausonus.funcionario.tentativas.conta.recarga-por-minuto", defaultValue = "5") double recargaConta,
+            @ConfigProperty(name = "clausonus.funcionario.tentativas.ip.capacidade", defaultValue = "20") int capacidadeIp,
+            @ConfigProperty(name = "clausonus.funcionario.tentativas.ip.recarga-por-minuto", defaultValue = "30") double recargaIp,
+            @ConfigProperty(name = "clausonus.funcionario.tentativas.faixas", defaultValue = "64") int faixas,
+            @ConfigProperty(name = "clausonus.funcionario.tentativas.maximo-chaves", defaultValue = "100000") int maximoChaves,
+            @ConfigProperty(name = "clausonus.funcionario.tentativas.ociosidade", defaultValue = "PT15M") Duration ociosidade,
+            MeterRegistry registry) {
+        this.porConta = new BaldesTokens(capacidadeConta, recargaConta, faixas, maximoChaves, ociosidade.toNanos(),
+                System::nanoTime);
+        this.porIp = new BaldesTokens(capacidadeIp, recargaIp, faixas, maximoChaves, ociosidade.toNanos(),
+                System::nanoTime);
+
+        this.recusadasPorConta = Counter.builder("funcionario.tentativas.recusadas")
+                .description("Tentativas de autenticação recusadas pelo limite de tentativas")
+                .tag("chave", "conta")
+                .register(registry);
+        this.recusadasPorIp = Counter.builder("funcionario.tentativas.recusadas")
+                .description("Tentativas de autenticação recusadas pelo limite de tentativas")
+                .tag("chave", "ip")
+                .register(registry);
+        Gauge.builder("funcionario.tentativas.baldes", porConta, BaldesTokens::tamanho)
+                .description("Baldes de tokens mantidos em memória pelo limite de tentativas")
+                .tag("chave", "conta")
+                .register(registry);
+        Gauge.builder("funcionario.tentativas.baldes", porIp, BaldesTokens::tamanho)
+                .description("Baldes de tokens mantidos em memória pelo limite de tentativas")
+                .tag("chave", "ip")
+                .register(registry);
+    }
+
+    /**
+     * Registra uma tentativa de autenticação
+     *
+     * @param conta Conta alvo da tentativa (login, ou identificador do funcionário)
+     * @param ip IP de origem da requisição
+     * @throws MuitasTentativasException (429) se a conta ou o IP excedeu o limite
+     */
+    public void registrarTentativa(String conta, String ip) {
+        // O IP é verificado primeiro: uma origem bloqueada não consome as tentativas da conta
+        long esperaIp = porIp.consumir(ip);
+        if (esperaIp > 0) {
+            recusadasPorIp.increment();
+            throw recusar(esperaIp);
+        }
+
+        long esperaConta = porConta.consumir(conta.toLowerCase(Locale.ROOT));
+        if (esperaConta > 0) {
+            recusadasPorConta.increment();
+            throw recusar(esperaConta);
+        }
+    }
+
+    @Scheduled(identity = "limpeza-tentativas", every = "1m")
+    void removerOciosos() {
+        int removidos = porConta.removerOciosos() + porIp.removerOciosos();
+        if (removidos > 0) {
+            log.debug("Baldes de tentativas ociosos descartados: {}", removidos);
+        }
+    }
+
+    private static MuitasTentativasException recusar(long esperaNanos) {
+        long segundos = Math.max(1, TimeUnit.NANOSECONDS.toSeconds(esperaNanos + TimeUnit.SECONDS.toNanos(1) - 1));
+        return new MuitasTentativasException("Muitas tentativas de autenticação; tente novamente em instantes", segundos);
+    }
+}
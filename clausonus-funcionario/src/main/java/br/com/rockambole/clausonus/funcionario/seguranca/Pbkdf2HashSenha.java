@@ -0,0 +1,85 @@
+package br.com.rockambole.clausonus.funcionario.seguranca;
+
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.security.SecureRandom;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import javax.crypto.SecretKeyFactory;
+import javax.crypto.spec.PBEKeySpec;
+
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+
+/**
+ * Hash de senha PBKDF2 com HMAC-SHA-256 (JDK), no formato
+ * {@code $pbkdf2-sha256$i=<iteracoes>,l=<bytes>$<salt>$<hash>}.
+ * A SecretKeyFactory, que não é thread-safe, é reaproveitada por thread.
+ */
+@ApplicationScoped
+public class Pbkdf2HashSenha implements AlgoritmoHashSenha {
+
+    public static final String IDENTIFICADOR = "pbkdf2-sha256";
+
+    private static final String ALGORITMO_JCA = "PBKDF2WithHmacSHA256";
+    private static final int TAMANHO_SALT = 16;
+    private static final int TAMANHO_HASH = 32;
+
+    private static final ThreadLocal<SecretKeyFactory> FABRICA = ThreadLocal.withInitial(() -> {
+        try {
+            return SecretKeyFactory.getInstance(ALGORITMO_JCA);
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("Erro ao gerar o hash PBKDF2 da senha", e);
+        }
+    });
+
+    private final SecureRandom random = new SecureRandom();
+    private final int iteracoes;
+
+    @Inject
+    public Pbkdf2HashSenha(
+            @ConfigProperty(name = "clausonus.funcionario.senha.pbkdf2.iteracoes", defaultValue = "600000") int iteracoes) {
+        this.iteracoes = iteracoes;
+    }
+
+    @Override
+    public String identificador() {
+        return IDENTIFICADOR;
+    }
+
+    @Override
+    public HashSenha gerar(String senha) {
+        byte[] salt = new byte[TAMANHO_SALT];
+        random.nextBytes(salt);
+
+        Map<String, String> parametros = new LinkedHashMap<>();
+        parametros.put("i", String.valueOf(iteracoes));
+        parametros.put("l", String.valueOf(TAMANHO_HASH));
+        return new HashSenha(IDENTIFICADOR, null, parametros, salt, derivar(senha, salt, iteracoes, TAMANHO_HASH));
+    }
+
+    @Override
+    public boolean verificar(String senha, HashSenha hash) {
+        byte[] calculado = derivar(senha, hash.getSalt(), hash.parametroInteiro("i"), hash.getHash().length);
+        return MessageDigest.isEqual(calculado, hash.getHash());
+    }
+
+    @Override
+    public boolean parametrosAtuais(HashSenha hash) {
+        return hash.parametroInteiro("i") == iteracoes && hash.getHash().length == TAMANHO_HASH;
+    }
+
+    private static byte[] derivar(String senha, byte[] salt, int iteracoes, int tamanho) {
+        PBEKeySpec especificacao = new PBEKeySpec(senha.toCharArray(), salt, iteracoes, tamanho * 8);
+        try {
+            return FABRICA.get().generateSecret(especificacao).getEncoded();
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("Erro ao gerar o hash PBKDF2 da senha", e);
+        } finally {
+            especificacao.clearPassword();
+        }
+    }
+}
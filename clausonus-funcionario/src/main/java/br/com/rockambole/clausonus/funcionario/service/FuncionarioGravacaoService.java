@@ -0,0 +1,133 @@
+package br.com.rockambole.clausonus.funcionario.service;
+
+import java.util.Optional;
+
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+import jakarta.persistence.OptimisticLockException;
+import jakarta.transaction.Transactional;
+import jakarta.ws.rs.NotFoundException;
+import jakarta.ws.rs.core.Response;
+
+import br.com.rockambole.clausonus.funcionario.dto.FuncionarioDTO;
+import br.com.rockambole.clausonus.funcionario.entity.Funcionario;
+import br.com.rockambole.clausonus.funcionario.exception.BusinessException;
+import br.com.rockambole.clausonus.funcionario.repository.FuncionarioRepository;
+
+/**
+ * Gravações de funcionário que recebem a senha já criptografada. O {@link FuncionarioService}
+ * calcula os hashes antes de chamar estes métodos, de modo que cada transação (e a conexão
+ * com o banco) dura apenas as leituras e a gravação, e não a espera pelo executor de hash.
+ */
+@ApplicationScoped
+public class FuncionarioGravacaoService {
+
+    private final FuncionarioRepository funcionarioRepository;
+
+    @Inject
+    public FuncionarioGravacaoService(FuncionarioRepository funcionarioRepository) {
+        this.funcionarioRepository = funcionarioRepository;
+    }
+
+    /**
+     * Insere um novo funcionário
+     *
+     * @param funcionarioDTO Dados do funcionário
+     * @param senhaCriptografada Hash da senha
+     * @return FuncionarioDTO com o ID gerado
+     * @throws IllegalArgumentException se o CPF ou o login já estiverem cadastrados
+     */
+    @Transactional
+    public FuncionarioDTO inserir(FuncionarioDTO funcionarioDTO, String senhaCriptografada) {
+        // Verifica se já existe funcionário com o mesmo CPF
+        Optional<Funcionario> existentePorCpf = funcionarioRepository.buscarPorCpf(funcionarioDTO.getCpf());
+        if (existentePorCpf.isPresent()) {
+            throw new IllegalArgumentException("Já existe um funcionário cadastrado com o CPF: " + funcionarioDTO.getCpf());
+        }
+
+        // Verifica se já existe funcionário com o mesmo login
+        Optional<Funcionario> existentePorLogin = funcionarioRepository.buscarPorLogin(funcionarioDTO.getLogin());
+        if (existentePorLogin.isPresent()) {
+            throw new IllegalArgumentException("Já existe um funcionário cadastrado com o login: " + funcionarioDTO.getLogin());
+        }
+
+        Funcionario funcionario = Funcionario.fromDTO(funcionarioDTO, senhaCriptografada);
+        funcionarioRepository.salvar(funcionario);
+
+        return funcionario.toDTO();
+    }
+
+    /**
+     * Atualiza os dados de um funcionário somente se ele ainda estiver na versão lida pelo
+     * cliente (If-Match). O UPDATE inclui a versão na cláusula WHERE, de modo que uma alteração
+     * concorrente entre a leitura e a gravação também é detectada, sem bloqueio de linha.
+     *
+     * @param id ID do funcionário a ser atualizado
+     * @param funcionarioDTO Novos dados do funcionário, com a senha (se houver) já criptografada
+     * @param versaoEsperada Versão lida pelo cliente, ou null para atualizar sem verificação
+     * @return FuncionarioDTO atualizado
+     * @throws NotFoundException se o funcionário não for encontrado
+     * @throws BusinessException (412) se a versão do funcionário não for a esperada, ou (409)
+     *         se o funcionário for alterado por outra requisição durante a atualização
+     */
+    @Transactional
+    public FuncionarioDTO atualizar(Long id, FuncionarioDTO funcionarioDTO, Long versaoEsperada) {
+        Funcionario funcionario = funcionarioRepository.buscarPorId(id)
+                .orElseThrow(() -> new NotFoundException("Funcionário não encontrado com o ID: " + id));
+
+        if (versaoEsperada != null && !versaoEsperada.equals(funcionario.getVersao())) {
+            throw versaoDesatualizada(id, Response.Status.PRECONDITION_FAILED);
+        }
+
+        // Verifica se o CPF já está sendo usado por outro funcionário
+        if (!funcionario.getCpf().equals(funcionarioDTO.getCpf())) {
+            Optional<Funcionario> existentePorCpf = funcionarioRepository.buscarPorCpf(funcionarioDTO.getCpf());
+            if (existentePorCpf.isPresent() && !existentePorCpf.get().id.equals(id)) {
+                throw new IllegalArgumentException("Já existe um funcionário cadastrado com o CPF: " + funcionarioDTO.getCpf());
+            }
+        }
+
+        // Verifica se o login já está sendo usado por outro funcionário
+        if (!funcionario.getLogin().equals(funcionarioDTO.getLogin())) {
+            Optional<Funcionario> existentePorLogin = funcionarioRepository.buscarPorLogin(funcionarioDTO.getLogin());
+            if (existentePorLogin.isPresent() && !existentePorLogin.get().id.equals(id)) {
+                throw new IllegalArgumentException("Já existe um funcionário cadastrado com o login: " + funcionarioDTO.getLogin());
+            }
+        }
+
+        // Atualiza a entidade com os dados do DTO
+        funcionario.fromDTO(funcionarioDTO);
+
+        // Salva as alterações; o flush executa o UPDATE versionado e incrementa a versão
+        // antes da conversão para DTO
+        funcionarioRepository.salvar(funcionario);
+        try {
+            funcionarioRepository.flush();
+        } catch (OptimisticLockException e) {
+            throw versaoDesatualizada(id, versaoEsperada == null
+                    ? Response.Status.CONFLICT : Response.Status.PRECONDITION_FAILED);
+        }
+
+        return funcionario.toDTO();
+    }
+
+    /**
+     * Troca o hash da senha somente se o valor gravado ainda for o que foi verificado, em um
+     * único UPDATE
+     *
+     * @param id ID do funcionário
+     * @param senhaVerificada Hash lido e verificado antes do cálculo do novo hash
+     * @param novaSenha Novo hash da senha
+     * @return true se a senha foi trocada; false se o funcionário não existe mais ou se a
+     *         senha foi alterada por outra requisição nesse intervalo
+     */
+    @Transactional
+    public boolean substituirSenha(Long id, String senhaVerificada, String novaSenha) {
+        return funcionarioRepository.substituirSenha(id, senhaVerificada, novaSenha);
+    }
+
+    private static BusinessException versaoDesatualizada(Long id, Response.Status status) {
+        return new BusinessException("O funcionário " + id
+                + " foi alterado por outra requisição; consulte a versão atual e tente novamente", status);
+    }
+}
@@ -2,16 +2,22 @@ package br.com.rockambole.clausonus.funcionario.service;
 
 import java.util.List;
 import java.util.Optional;
-import java.util.stream.Collectors;
 
 import jakarta.enterprise.context.ApplicationScoped;
 import jakarta.inject.Inject;
 import jakarta.transaction.Transactional;
 import jakarta.ws.rs.NotFoundException;
+import jakarta.ws.rs.core.Response;
+
+import org.eclipse.microprofile.config.inject.ConfigProperty;
 
 import br.com.rockambole.clausonus.funcionario.dto.FuncionarioDTO;
+import br.com.rockambole.clausonus.funcionario.dto.PaginaDTO;
 import br.com.rockambole.clausonus.funcionario.entity.Funcionario;
+import br.com.rockambole.clausonus.funcionario.exception.BusinessException;
+import br.com.rockambole.clausonus.funcionario.repository.FiltroFuncionarios;
 import br.com.rockambole.clausonus.funcionario.repository.FuncionarioRepository;
+import br.com.rockambole.clausonus.funcionario.util.CursorUtil;
 import lombok.extern.slf4j.Slf4j;
 
 /**
@@ -23,11 +29,20 @@ public class FuncionarioService {
     
     private final FuncionarioRepository funcionarioRepository;
     private final SenhaService senhaService;
+    private final FuncionarioGravacaoService gravacaoService;
+    private final int limitePadrao;
+    private final int limiteMaximo;
     
     @Inject
-    public FuncionarioService(FuncionarioRepository funcionarioRepository, SenhaService senhaService) {
+    public FuncionarioService(FuncionarioRepository funcionarioRepository, SenhaService senhaService,
+            FuncionarioGravacaoService gravacaoService,
+            @ConfigProperty(name = "clausonus.funcionario.paginacao.limite-padrao", defaultValue = "50") int limitePadrao,
+            @ConfigProperty(name = "clausonus.funcionario.paginacao.limite-maximo", defaultValue = "500") int limiteMaximo) {
         this.funcionarioRepository = funcionarioRepository;
         this.senhaService = senhaService;
+        this.gravacaoService = gravacaoService;
+        this.limitePadrao = limitePadrao;
+        this.limiteMaximo = limiteMaximo;
     }
     
     /**
@@ -37,9 +52,7 @@ public class FuncionarioService {
      */
     public List<FuncionarioDTO> listarTodos() {
         log.info("Listando todos os funcionários");
-        return funcionarioRepository.listarTodos().stream()
-                .map(Funcionario::toDTO)
-                .collect(Collectors.toList());
+        return funcionarioRepository.listarTodosDTO();
     }
     
     /**
@@ -49,9 +62,40 @@ public class FuncionarioService {
      */
     public List<FuncionarioDTO> listarAtivos() {
         log.info("Listando funcionários ativos");
-        return funcionarioRepository.listarAtivos().stream()
-                .map(Funcionario::toDTO)
-                .collect(Collectors.toList());
+        return funcionarioRepository.listarAtivosDTO();
+    }
+    
+    /**
+     * Lista uma página de funcionários com filtros combinados, a partir de um cursor opaco
+     * 
+     * @param filtro Filtros (ativo, cargo, prefixo do nome) e ordem
+     * @param cursor Cursor retornado pela página anterior, ou null para a primeira página
+     * @param limite Tamanho da página (limitado a clausonus.funcionario.paginacao.limite-maximo)
+     * @return Página de FuncionarioDTO com o cursor da próxima página, se houver
+     * @throws IllegalArgumentException se o cursor ou o limite forem inválidos
+     */
+    public PaginaDTO<FuncionarioDTO> listarPagina(FiltroFuncionarios filtro, String cursor, Integer limite) {
+        log.info("Listando página de funcionários após o cursor: {}", cursor);
+        
+        int tamanho = limite == null ? limitePadrao : limite;
+        if (tamanho < 1) {
+            throw new IllegalArgumentException("O limite da página deve ser maior que zero");
+        }
+        tamanho = Math.min(tamanho, limiteMaximo);
+        
+        CursorUtil.Posicao posicao = CursorUtil.decodificar(cursor, filtro.getOrdem());
+        
+        // Busca um registro a mais para saber se existe próxima página
+        List<FuncionarioDTO> itens = funcionarioRepository.listarPaginaDTO(filtro,
+                posicao == null ? null : posicao.getId(), posicao == null ? null : posicao.getNome(), tamanho + 1);
+        
+        String proximoCursor = null;
+        if (itens.size() > tamanho) {
+            itens = itens.subList(0, tamanho);
+            proximoCursor = CursorUtil.codificar(filtro.getOrdem(), itens.get(tamanho - 1));
+        }
+        
+        return new PaginaDTO<>(itens, tamanho, proximoCursor);
     }
     
     /**
@@ -63,8 +107,7 @@ public class FuncionarioService {
      */
     public FuncionarioDTO buscarPorId(Long id) {
         log.info("Buscando funcionário pelo ID: {}", id);
-        return funcionarioRepository.buscarPorId(id)
-                .map(Funcionario::toDTO)
+        return funcionarioRepository.buscarDTOPorId(id)
                 .orElseThrow(() -> new NotFoundException("Funcionário não encontrado com o ID: " + id));
     }
     
@@ -76,9 +119,7 @@ public class FuncionarioService {
      */
     public List<FuncionarioDTO> buscarPorNome(String nome) {
         log.info("Buscando funcionários pelo nome: {}", nome);
-        return funcionarioRepository.buscarPorNome(nome).stream()
-                .map(Funcionario::toDTO)
-                .collect(Collectors.toList());
+        return funcionarioRepository.buscarDTOsPorNome(nome);
     }
     
     /**
@@ -89,9 +130,7 @@ public class FuncionarioService {
      */
     public List<FuncionarioDTO> buscarPorCargo(String cargo) {
         log.info("Buscando funcionários pelo cargo: {}", cargo);
-        return funcionarioRepository.buscarPorCargo(cargo).stream()
-                .map(Funcionario::toDTO)
-                .collect(Collectors.toList());
+        return funcionarioRepository.buscarDTOsPorCargo(cargo);
     }
     
     /**
@@ -102,8 +141,7 @@ public class FuncionarioService {
      */
     public Optional<FuncionarioDTO> buscarPorCpf(String cpf) {
         log.info("Buscando funcionário pelo CPF: {}", cpf);
-        return funcionarioRepository.buscarPorCpf(cpf)
-                .map(Funcionario::toDTO);
+        return funcionarioRepository.buscarDTOPorCpf(cpf);
     }
     
     /**
@@ -114,42 +152,20 @@ public class FuncionarioService {
      */
     public Optional<FuncionarioDTO> buscarPorLogin(String login) {
         log.info("Buscando funcionário pelo login: {}", login);
-        return funcionarioRepository.buscarPorLogin(login)
-                .map(Funcionario::toDTO);
+        return funcionarioRepository.buscarDTOPorLogin(login);
     }
     
     /**
-     * Salva um novo funcionário
+     * Salva um novo funcionário. O hash da senha é calculado antes da transação de gravação.
      * 
      * @param funcionarioDTO Dados do funcionário
      * @return FuncionarioDTO com o ID gerado
      */
-    @Transactional
     public FuncionarioDTO salvar(FuncionarioDTO funcionarioDTO) {
         log.info("Salvando funcionário: {}", funcionarioDTO);
         
-        // Verifica se já existe funcionário com o mesmo CPF
-        Optional<Funcionario> existentePorCpf = funcionarioRepository.buscarPorCpf(funcionarioDTO.getCpf());
-        if (existentePorCpf.isPresent()) {
-            throw new IllegalArgumentException("Já existe um funcionário cadastrado com o CPF: " + funcionarioDTO.getCpf());
-        }
-        
-        // Verifica se já existe funcionário com o mesmo login
-        Optional<Funcionario> existentePorLogin = funcionarioRepository.buscarPorLogin(funcionarioDTO.getLogin());
-        if (existentePorLogin.isPresent()) {
-            throw new IllegalArgumentException("Já existe um funcionário cadastrado com o login: " + funcionarioDTO.getLogin());
-        }
-        
-        // Criptografa a senha
         String senhaCriptografada = senhaService.criptografar(funcionarioDTO.getSenha());
-        
-        // Cria a entidade a partir do DTO
-        Funcionario funcionario = Funcionario.fromDTO(funcionarioDTO, senhaCriptografada);
-        
-        // Salva a entidade
-        funcionarioRepository.salvar(funcionario);
-        
-        return funcionario.toDTO();
+        return gravacaoService.inserir(funcionarioDTO, senhaCriptografada);
     }
     
     /**
@@ -159,70 +175,100 @@ public class FuncionarioService {
      * @param funcionarioDTO Novos dados do funcionário
      * @return FuncionarioDTO atualizado
      * @throws NotFoundException se o funcionário não for encontrado
+     * @throws BusinessException (409) se o funcionário for alterado por outra requisição
+     *         durante a atualização
      */
-    @Transactional
     public FuncionarioDTO atualizar(Long id, FuncionarioDTO funcionarioDTO) {
+        return atualizar(id, funcionarioDTO, null);
+    }
+    
+    /**
+     * Atualiza os dados de um funcionário somente se ele ainda estiver na versão lida pelo
+     * cliente (If-Match). A nova senha, se houver, é criptografada antes da transação de
+     * gravação.
+     * 
+     * @param id ID do funcionário a ser atualizado
+     * @param funcionarioDTO Novos dados do funcionário
+     * @param versaoEsperada Versão lida pelo cliente, ou null para atualizar sem verificação
+     * @return FuncionarioDTO atualizado
+     * @throws NotFoundException se o funcionário não for encontrado
+     * @throws BusinessException (412) se a versão do funcionário não for a esperada
+     */
+    public FuncionarioDTO atualizar(Long id, FuncionarioDTO funcionarioDTO, Long versaoEsperada) {
         log.info("Atualizando funcionário com ID {}: {}", id, funcionarioDTO);
         
-        Funcionario funcionario = funcionarioRepository.buscarPorId(id)
-                .orElseThrow(() -> new NotFoundException("Funcionário não encontrado com o ID: " + id));
-        
-        // Verifica se o CPF já está sendo usado por outro funcionário
-        if (!funcionario.getCpf().equals(funcionarioDTO.getCpf())) {
-            Optional<Funcionario> existentePorCpf = funcionarioRepository.buscarPorCpf(funcionarioDTO.getCpf());
-            if (existentePorCpf.isPresent() && !existentePorCpf.get().id.equals(id)) {
-                throw new IllegalArgumentException("Já existe um funcionário cadastrado com o CPF: " + funcionarioDTO.getCpf());
-            }
-        }
-        
-        // Verifica se o login já está sendo usado por outro funcionário
-        if (!funcionario.getLogin().equals(funcionarioDTO.getLogin())) {
-            Optional<Funcionario> existentePorLogin = funcionarioRepository.buscarPorLogin(funcionarioDTO.getLogin());
-            if (existentePorLogin.isPresent() && !existentePorLogin.get().id.equals(id)) {
-                throw new IllegalArgumentException("Já existe um funcionário cadastrado com o login: " + funcionarioDTO.getLogin());
-            }
-        }
-        
         // Se for atualizar a senha, criptografa
         if (funcionarioDTO.getSenha() != null && !funcionarioDTO.getSenha().isEmpty()) {
             funcionarioDTO.setSenha(senhaService.criptografar(funcionarioDTO.getSenha()));
         }
         
-        // Atualiza a entidade com os dados do DTO
-        funcionario.fromDTO(funcionarioDTO);
-        
-        // Salva as alterações
-        funcionarioRepository.salvar(funcionario);
-        
-        return funcionario.toDTO();
+        return gravacaoService.atualizar(id, funcionarioDTO, versaoEsperada);
     }
     
     /**
-     * Atualiza a senha de um funcionário
+     * Atualiza a senha de um funcionário. A verificação da senha atual e o novo hash são
+     * calculados fora de transação; a gravação troca o hash somente se ele ainda for o que
+     * foi verificado.
      * 
      * @param id ID do funcionário
      * @param senhaAtual Senha atual
      * @param novaSenha Nova senha
      * @throws NotFoundException se o funcionário não for encontrado
      * @throws IllegalArgumentException se a senha atual estiver incorreta
+     * @throws BusinessException (409) se a senha for alterada por outra requisição durante a troca
      */
-    @Transactional
     public void atualizarSenha(Long id, String senhaAtual, String novaSenha) {
         log.info("Atualizando senha do funcionário com ID: {}", id);
         
         Funcionario funcionario = funcionarioRepository.buscarPorId(id)
                 .orElseThrow(() -> new NotFoundException("Funcionário não encontrado com o ID: " + id));
+        String senhaArmazenada = funcionario.getSenha();
         
         // Verifica se a senha atual está correta
-        if (!senhaService.verificar(senhaAtual, funcionario.getSenha())) {
+        if (!senhaService.verificar(senhaAtual, senhaArmazenada)) {
             throw new IllegalArgumentException("Senha atual incorreta");
         }
         
-        // Criptografa e atualiza a nova senha
+        // Criptografa e grava a nova senha
         String senhaCriptografada = senhaService.criptografar(novaSenha);
-        funcionario.setSenha(senhaCriptografada);
+        if (!gravacaoService.substituirSenha(id, senhaArmazenada, senhaCriptografada)) {
+            throw new BusinessException("A senha do funcionário " + id
+                    + " foi alterada por outra requisição; tente novamente", Response.Status.CONFLICT);
+        }
+    }
+    
+    /**
+     * Verifica as credenciais de um funcionário ativo. Se a senha confere mas o hash armazenado
+     * está no formato anterior ou com parâmetros de custo diferentes dos configurados, o hash é
+     * regravado com os parâmetros atuais. Os hashes são calculados fora de transação, e a
+     * regravação é um único UPDATE condicionado ao hash verificado. Login inexistente ou
+     * inativo também passa por uma verificação de senha, contra um hash de referência.
+     * 
+     * @param login Login do funcionário
+     * @param senha Senha em texto plano
+     * @return FuncionarioDTO se as credenciais forem válidas; vazio caso contrário
+     */
+    public Optional<FuncionarioDTO> autenticar(String login, String senha) {
+        log.info("Autenticando funcionário com login: {}", login);
         
-        funcionarioRepository.salvar(funcionario);
+        Optional<Funcionario> encontrado = funcionarioRepository.buscarPorLogin(login);
+        if (encontrado.isEmpty() || !encontrado.get().isAtivo()) {
+            // Mesmo custo de uma senha incorreta, para não revelar quais logins existem
+            senhaService.simularVerificacao(senha);
+            return Optional.empty();
+        }
+        
+        Funcionario funcionario = encontrado.get();
+        if (!senhaService.verificar(senha, funcionario.getSenha())) {
+            return Optional.empty();
+        }
+        
+        if (senhaService.precisaAtualizar(funcionario.getSenha())) {
+            log.info("Atualizando o hash da senha do funcionário {} para os parâmetros atuais", funcionario.id);
+            // Se outra requisição trocou a senha nesse intervalo, prevalece o hash dela
+            gravacaoService.substituirSenha(funcionario.id, funcionario.getSenha(), senhaService.criptografar(senha));
+        }
+        return Optional.of(funcionario.toDTO());
     }
     
     /**
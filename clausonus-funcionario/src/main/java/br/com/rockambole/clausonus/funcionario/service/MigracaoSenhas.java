@@ -0,0 +1,101 @@
+package br.com.rockambole.clausonus.funcionario.service;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+
+import br.com.rockambole.clausonus.funcionario.repository.FuncionarioRepository;
+import io.quarkus.narayana.jta.QuarkusTransaction;
+import io.quarkus.scheduler.Scheduled;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Tarefa em segundo plano que converte as senhas gravadas em texto plano pela carga inicial
+ * (import.sql, com a marca senha_pendente) para o hash atual. Hashes no formato anterior não
+ * podem ser convertidos sem a senha e continuam sendo regravados no próximo login bem-sucedido
+ * ({@link FuncionarioService#autenticar(String, String)}).
+ * Os hashes de cada lote de clausonus.funcionario.senha.migracao.tamanho-lote funcionários são
+ * calculados fora de transação, e o lote é gravado em sua própria transação, cada senha
+ * somente se ainda for a lida. Como a aplicação nunca grava senhas em texto plano, a tarefa
+ * agendada deixa de consultar o banco depois de uma execução sem pendências.
+ */
+@Slf4j
+@ApplicationScoped
+public class MigracaoSenhas {
+
+    private final FuncionarioRepository funcionarioRepository;
+    private final SenhaService senhaService;
+    private final int tamanhoLote;
+    private volatile boolean concluida;
+
+    @Inject
+    public MigracaoSenhas(FuncionarioRepository funcionarioRepository, SenhaService senhaService,
+            @ConfigProperty(name = "clausonus.funcionario.senha.migracao.tamanho-lote", defaultValue = "50") int tamanhoLote) {
+        this.funcionarioRepository = funcionarioRepository;
+        this.senhaService = senhaService;
+        this.tamanhoLote = tamanhoLote;
+    }
+
+    @Scheduled(identity = "migracao-senhas", every = "${clausonus.funcionario.senha.migracao.intervalo}",
+            concurrentExecution = Scheduled.ConcurrentExecution.SKIP)
+    void agendar() {
+        if (!concluida) {
+            migrarPendentes();
+        }
+    }
+
+    /**
+     * Percorre os funcionários com a senha pendente de conversão e grava o hash atual
+     *
+     * @return Quantidade de senhas convertidas
+     */
+    public int migrarPendentes() {
+        int migradas = 0;
+        boolean restantes = false;
+        long aposId = 0;
+
+        while (true) {
+            long posicao = aposId;
+            Map<Long, String> pendentes = QuarkusTransaction.requiringNew()
+                    .call(() -> funcionarioRepository.listarSenhasPendentes(posicao, tamanhoLote));
+            if (pendentes.isEmpty()) {
+                break;
+            }
+
+            Map<Long, String> hashes = new LinkedHashMap<>();
+            for (Map.Entry<Long, String> pendente : pendentes.entrySet()) {
+                aposId = pendente.getKey();
+                try {
+                    hashes.put(pendente.getKey(), senhaService.criptografar(pendente.getValue()));
+                } catch (RuntimeException e) {
+                    // Executor de hash sobrecarregado: a senha fica para a próxima execução
+                    log.warn("Falha ao calcular o hash da senha do funcionário {}: {}", pendente.getKey(), e.getMessage());
+                    restantes = true;
+                }
+            }
+
+            // Uma senha trocada nesse intervalo deixa de estar pendente e não é sobrescrita
+            migradas += QuarkusTransaction.requiringNew().call(() -> gravarLote(pendentes, hashes));
+        }
+
+        if (migradas > 0) {
+            log.info("Senhas em texto plano convertidas para o hash atual: {}", migradas);
+        }
+        concluida = !restantes;
+        return migradas;
+    }
+
+    private int gravarLote(Map<Long, String> pendentes, Map<Long, String> hashes) {
+        int migradas = 0;
+        for (Map.Entry<Long, String> hash : hashes.entrySet()) {
+            if (funcionarioRepository.concluirMigracaoSenha(hash.getKey(), pendentes.get(hash.getKey()), hash.getValue())) {
+                migradas++;
+            }
+        }
+        return migradas;
+    }
+}
@@ -1,114 +1,202 @@
 package br.com.rockambole.clausonus.funcionario.service;
 
-import jakarta.enterprise.context.ApplicationScoped;
-import java.security.MessageDigest;
-import java.security.NoSuchAlgorithmException;
 import java.security.SecureRandom;
 import java.util.Base64;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CompletionStage;
+
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.enterprise.event.Observes;
+import jakarta.enterprise.inject.Instance;
+import jakarta.inject.Inject;
+
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+
+import br.com.rockambole.clausonus.funcionario.seguranca.AlgoritmoHashSenha;
+import br.com.rockambole.clausonus.funcionario.seguranca.ExecutorHashSenha;
+import br.com.rockambole.clausonus.funcionario.seguranca.HashSenha;
+import br.com.rockambole.clausonus.funcionario.seguranca.HashSenhaLegado;
+import io.quarkus.runtime.StartupEvent;
 
 /**
- * Serviço para operações relacionadas à segurança de senhas
+ * Serviço para operações relacionadas à segurança de senhas.
+ * As senhas novas usam o algoritmo de clausonus.funcionario.senha.algoritmo (Argon2id por
+ * padrão) e são gravadas no formato PHC, que registra o algoritmo e os parâmetros de custo.
+ * A verificação aceita qualquer algoritmo disponível e o formato anterior (SHA-256 iterado).
+ * Os cálculos de hash rodam no {@link ExecutorHashSenha}, e não na thread da requisição.
  */
 @ApplicationScoped
 public class SenhaService {
-    
-    private static final String ALGORITMO = "SHA-256";
-    private static final int TAMANHO_SALT = 16;
-    
+
+    private final Map<String, AlgoritmoHashSenha> algoritmos = new HashMap<>();
+    private final AlgoritmoHashSenha algoritmoAtual;
+    private final ExecutorHashSenha executor;
+    private volatile String hashReferencia;
+
+    @Inject
+    public SenhaService(Instance<AlgoritmoHashSenha> algoritmosDisponiveis, ExecutorHashSenha executor,
+            @ConfigProperty(name = "clausonus.funcionario.senha.algoritmo", defaultValue = "argon2id") String algoritmo) {
+        this.executor = executor;
+        for (AlgoritmoHashSenha disponivel : algoritmosDisponiveis) {
+            algoritmos.put(disponivel.identificador(), disponivel);
+        }
+        this.algoritmoAtual = algoritmos.get(algoritmo);
+        if (algoritmoAtual == null) {
+            throw new IllegalStateException("Algoritmo de hash de senha não suportado: " + algoritmo
+                    + " (disponíveis: " + algoritmos.keySet() + ")");
+        }
+    }
+
+    /**
+     * Criptografa uma senha com o algoritmo e os parâmetros configurados, no executor dedicado
+     *
+     * @param senha Senha em texto plano
+     * @return Etapa concluída com o hash no formato PHC, ou com ServicoIndisponivelException
+     *         se o executor estiver sobrecarregado
+     */
+    public CompletionStage<String> criptografarAsync(String senha) {
+        return executor.submeter("criptografar", () -> algoritmoAtual.gerar(senha).formatar());
+    }
+
     /**
-     * Criptografa uma senha utilizando PBKDF2 com SHA-256
-     * 
+     * Criptografa uma senha com o algoritmo e os parâmetros configurados. A thread chamadora
+     * (virtual, nos recursos REST) aguarda o cálculo no executor dedicado.
+     *
      * @param senha Senha em texto plano
-     * @return Senha criptografada no formato Base64
+     * @return Hash no formato PHC (ex.: $argon2id$v=19$m=19456,t=2,p=1$salt$hash)
+     * @throws br.com.rockambole.clausonus.funcionario.exception.ServicoIndisponivelException
+     *         (503) se o executor estiver sobrecarregado
      */
     public String criptografar(String senha) {
-        try {
-            // Gera um salt aleatório
-            byte[] salt = gerarSalt();
-            
-            // Criptografa a senha com o salt
-            byte[] hash = criptografarComSalt(senha, salt);
-            
-            // Combina o salt e o hash para armazenamento
-            byte[] combined = new byte[salt.length + hash.length];
-            System.arraycopy(salt, 0, combined, 0, salt.length);
-            System.arraycopy(hash, 0, combined, salt.length, hash.length);
-            
-            // Converte para Base64 para armazenamento em banco de dados
-            return Base64.getEncoder().encodeToString(combined);
-            
-        } catch (NoSuchAlgorithmException e) {
-            throw new RuntimeException("Erro ao criptografar senha", e);
-        }
+        return aguardar(criptografarAsync(senha));
+    }
+
+    /**
+     * Versão assíncrona de {@link #verificar(String, String)}, calculada no executor dedicado
+     *
+     * @param senha Senha em texto plano para verificar
+     * @param hashArmazenado Hash armazenado no banco de dados
+     * @return Etapa concluída com o resultado da verificação, ou com
+     *         ServicoIndisponivelException se o executor estiver sobrecarregado
+     */
+    public CompletionStage<Boolean> verificarAsync(String senha, String hashArmazenado) {
+        return executor.submeter("verificar", () -> calcularVerificacao(senha, hashArmazenado));
     }
-    
+
     /**
-     * Verifica se uma senha corresponde à versão criptografada
-     * 
+     * Verifica se uma senha corresponde à versão criptografada, no formato PHC ou no formato
+     * anterior. Após uma verificação bem-sucedida, use {@link #precisaAtualizar(String)} para
+     * saber se o hash deve ser regravado com os parâmetros atuais.
+     *
      * @param senha Senha em texto plano para verificar
      * @param hashArmazenado Hash armazenado no banco de dados
      * @return true se a senha está correta, false caso contrário
+     * @throws br.com.rockambole.clausonus.funcionario.exception.ServicoIndisponivelException
+     *         (503) se o executor estiver sobrecarregado
      */
     public boolean verificar(String senha, String hashArmazenado) {
+        if (senha == null || hashArmazenado == null) {
+            return false;
+        }
+        return aguardar(verificarAsync(senha, hashArmazenado));
+    }
+
+    /**
+     * Verifica a senha contra um hash de referência gerado com o algoritmo e os parâmetros atuais,
+     * descartando o resultado. Usada quando não há hash a verificar (login inexistente ou
+     * funcionário inativo), para que a resposta leve o mesmo tempo de uma senha incorreta e não
+     * revele quais logins existem.
+     *
+     * @param senha Senha em texto plano informada
+     * @throws br.com.rockambole.clausonus.funcionario.exception.ServicoIndisponivelException
+     *         (503) se o executor estiver sobrecarregado
+     */
+    public void simularVerificacao(String senha) {
+        verificar(senha, hashReferencia());
+    }
+
+    // O hash de referência é gerado na inicialização, para que o primeiro login inexistente
+    // não leve também o tempo da geração
+    void prepararHashReferencia(@Observes StartupEvent evento) {
+        hashReferencia();
+    }
+
+    private String hashReferencia() {
+        String hash = hashReferencia;
+        if (hash == null) {
+            byte[] aleatoria = new byte[16];
+            new SecureRandom().nextBytes(aleatoria);
+            hash = criptografar(Base64.getEncoder().encodeToString(aleatoria));
+            hashReferencia = hash;
+        }
+        return hash;
+    }
+
+    private boolean calcularVerificacao(String senha, String hashArmazenado) {
+        if (senha == null || hashArmazenado == null) {
+            return false;
+        }
+
+        Optional<HashSenha> hash = HashSenha.ler(hashArmazenado);
+        if (hash.isEmpty()) {
+            return HashSenhaLegado.verificar(senha, hashArmazenado);
+        }
+
+        AlgoritmoHashSenha algoritmo = algoritmos.get(hash.get().getAlgoritmo());
         try {
-            // Decodifica o hash armazenado
-            byte[] combined = Base64.getDecoder().decode(hashArmazenado);
-            
-            // Extrai o salt (primeiros TAMANHO_SALT bytes)
-            byte[] salt = new byte[TAMANHO_SALT];
-            System.arraycopy(combined, 0, salt, 0, TAMANHO_SALT);
-            
-            // Extrai o hash original
-            byte[] hashOriginal = new byte[combined.length - TAMANHO_SALT];
-            System.arraycopy(combined, TAMANHO_SALT, hashOriginal, 0, hashOriginal.length);
-            
-            // Criptografa a senha fornecida com o mesmo salt
-            byte[] hashNovo = criptografarComSalt(senha, salt);
-            
-            // Compara os hashes
-            return MessageDigest.isEqual(hashOriginal, hashNovo);
-            
-        } catch (Exception e) {
-            // Em caso de erro, retorna falso por segurança
+            return algoritmo != null && algoritmo.verificar(senha, hash.get());
+        } catch (IllegalArgumentException e) {
+            // Parâmetros ausentes ou inválidos no hash: rejeita por segurança
             return false;
         }
     }
-    
+
     /**
-     * Gera um salt aleatório para uso na criptografia
-     * 
-     * @return Array de bytes com o salt gerado
+     * Indica se o hash armazenado deve ser regravado: formato anterior, outro algoritmo ou
+     * parâmetros de custo diferentes dos configurados
+     *
+     * @param hashArmazenado Hash armazenado no banco de dados
+     * @return true se o hash não foi gerado com o algoritmo e os parâmetros atuais
      */
-    private byte[] gerarSalt() {
-        SecureRandom random = new SecureRandom();
-        byte[] salt = new byte[TAMANHO_SALT];
-        random.nextBytes(salt);
-        return salt;
+    public boolean precisaAtualizar(String hashArmazenado) {
+        Optional<HashSenha> hash = HashSenha.ler(hashArmazenado);
+        if (hash.isEmpty() || !hash.get().getAlgoritmo().equals(algoritmoAtual.identificador())) {
+            return true;
+        }
+
+        try {
+            return !algoritmoAtual.parametrosAtuais(hash.get());
+        } catch (IllegalArgumentException e) {
+            return true;
+        }
     }
-    
+
     /**
-     * Criptografa uma senha com um salt específico
-     * 
-     * @param senha Senha em texto plano
-     * @param salt Salt a ser usado na criptografia
-     * @return Hash resultante
-     * @throws NoSuchAlgorithmException se o algoritmo de hash não for suportado
+     * Indica se o valor armazenado não está em nenhum formato de hash conhecido, ou seja, é uma
+     * senha em texto plano (como as da carga inicial)
+     *
+     * @param valorArmazenado Valor da coluna de senha
+     * @return true se o valor não é um hash PHC nem um hash no formato anterior
      */
-    private byte[] criptografarComSalt(String senha, byte[] salt) throws NoSuchAlgorithmException {
-        MessageDigest digest = MessageDigest.getInstance(ALGORITMO);
-        
-        // Aplica o salt
-        digest.update(salt);
-        
-        // Criptografa a senha
-        byte[] hash = digest.digest(senha.getBytes());
-        
-        // Aplica múltiplas iterações para aumentar a segurança
-        for (int i = 0; i < 1000; i++) {
-            digest.reset();
-            hash = digest.digest(hash);
+    public boolean textoPlano(String valorArmazenado) {
+        return valorArmazenado != null
+                && HashSenha.ler(valorArmazenado).isEmpty()
+                && !HashSenhaLegado.formatoLegado(valorArmazenado);
+    }
+
+    // A espera é limitada: o executor conclui a etapa com ServicoIndisponivelException quando
+    // o resultado não fica pronto dentro de clausonus.funcionario.senha.executor.espera-maxima
+    private static <T> T aguardar(CompletionStage<T> etapa) {
+        try {
+            return etapa.toCompletableFuture().join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException causa) {
+                throw causa;
+            }
+            throw e;
         }
-        
-        return hash;
     }
-}
\ No newline at end of file
+}
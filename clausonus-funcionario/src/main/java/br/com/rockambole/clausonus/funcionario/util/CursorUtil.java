@@ -0,0 +1,84 @@
+package br.com.rockambole.clausonus.funcionario.util;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+import br.com.rockambole.clausonus.funcionario.dto.FuncionarioDTO;
+import br.com.rockambole.clausonus.funcionario.repository.FiltroFuncionarios.Ordem;
+
+/**
+ * Utilitário para codificar e decodificar os cursores opacos da listagem paginada de
+ * funcionários. O cursor registra a ordem da listagem e a posição do último item (ID e, na
+ * ordem por nome, o nome).
+ */
+public final class CursorUtil {
+
+    private static final String SEPARADOR = ":";
+
+    private CursorUtil() {
+    }
+
+    /**
+     * Posição decodificada de um cursor
+     */
+    public static final class Posicao {
+
+        private final Long id;
+        private final String nome;
+
+        private Posicao(Long id, String nome) {
+            this.id = id;
+            this.nome = nome;
+        }
+
+        public Long getId() {
+            return id;
+        }
+
+        public String getNome() {
+            return nome;
+        }
+    }
+
+    /**
+     * Codifica a posição do último funcionário de uma página
+     *
+     * @param ordem Ordem da listagem
+     * @param ultimo Último funcionário retornado
+     * @return Cursor em Base64 URL-safe
+     */
+    public static String codificar(Ordem ordem, FuncionarioDTO ultimo) {
+        String valor = ordem.getValor() + SEPARADOR + ultimo.getId();
+        if (ordem.isPorNome()) {
+            valor += SEPARADOR + ultimo.getNome();
+        }
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(valor.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Decodifica um cursor gerado por {@link #codificar(Ordem, FuncionarioDTO)}
+     *
+     * @param cursor Cursor recebido do cliente
+     * @param ordem Ordem da listagem atual, que deve ser a mesma do cursor
+     * @return Posição a partir da qual a próxima página começa, ou null se não houver cursor
+     * @throws IllegalArgumentException se o cursor for inválido ou de outra ordem
+     */
+    public static Posicao decodificar(String cursor, Ordem ordem) {
+        if (cursor == null || cursor.isBlank()) {
+            return null;
+        }
+
+        try {
+            String valor = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            // O nome pode conter o separador: divide no máximo em três partes
+            String[] partes = valor.split(SEPARADOR, 3);
+            if (!partes[0].equals(ordem.getValor()) || partes.length != (ordem.isPorNome() ? 3 : 2)) {
+                throw new IllegalArgumentException("Cursor de paginação inválido");
+            }
+            return new Posicao(Long.valueOf(partes[1]), ordem.isPorNome() ? partes[2] : null);
+        } catch (IllegalArgumentException e) {
+            // NumberFormatException também é uma IllegalArgumentException
+            throw new IllegalArgumentException("Cursor de paginação inválido", e);
+        }
+    }
+}
@@ -0,0 +1,59 @@
+package br.com.rockambole.clausonus.funcionario.util;
+
+import jakarta.ws.rs.core.Response;
+
+import br.com.rockambole.clausonus.funcionario.exception.BusinessException;
+
+/**
+ * Utilitário para gerar e interpretar os ETags dos funcionários a partir da coluna de versão
+ */
+public final class EtagUtil {
+
+    private EtagUtil() {
+    }
+
+    /**
+     * Gera o ETag de um funcionário
+     *
+     * @param id ID do funcionário
+     * @param versao Versão atual do funcionário
+     * @return Valor do ETag (sem aspas)
+     */
+    public static String doFuncionario(Long id, Long versao) {
+        return id + "-" + versao;
+    }
+
+    /**
+     * Extrai do cabeçalho If-Match a versão do funcionário que o cliente leu. Aceita um ETag ou
+     * uma lista separada por vírgula; vale o primeiro ETag forte que pertença ao funcionário.
+     *
+     * @param ifMatch Valor do cabeçalho If-Match
+     * @param id ID do funcionário a ser alterado
+     * @return Versão esperada, ou null se o cabeçalho estiver ausente ou for "*"
+     * @throws BusinessException (412) se nenhum ETag do cabeçalho pertencer ao funcionário
+     */
+    public static Long versaoEsperada(String ifMatch, Long id) {
+        if (ifMatch == null || ifMatch.isBlank() || ifMatch.trim().equals("*")) {
+            return null;
+        }
+
+        String prefixo = id + "-";
+        for (String etag : ifMatch.split(",")) {
+            String valor = etag.trim();
+            // If-Match exige comparação forte: ETags fracos (W/) nunca correspondem
+            if (valor.length() < 2 || !valor.startsWith("\"") || !valor.endsWith("\"")) {
+                continue;
+            }
+            valor = valor.substring(1, valor.length() - 1);
+            if (valor.startsWith(prefixo)) {
+                try {
+                    return Long.valueOf(valor.substring(prefixo.length()));
+                } catch (NumberFormatException e) {
+                    // ETag que não foi gerado por este serviço: segue para o próximo
+                }
+            }
+        }
+        throw new BusinessException("O ETag informado em If-Match não corresponde ao funcionário " + id,
+                Response.Status.PRECONDITION_FAILED);
+    }
+}
@@ -8,10 +8,18 @@ import static org.junit.jupiter.api.Assertions.assertNotNull;
 import java.util.List;
 import java.util.Optional;
 
+import jakarta.inject.Inject;
 import jakarta.transaction.Transactional;
 
+import org.hibernate.SessionFactory;
+
 import br.com.rockambole.clausonus.funcionario.dto.FuncionarioDTO;
+import br.com.rockambole.clausonus.funcionario.repository.FiltroFuncionarios;
+import br.com.rockambole.clausonus.funcionario.repository.FuncionarioRepository;
+import br.com.rockambole.clausonus.funcionario.service.MigracaoSenhas;
+import br.com.rockambole.clausonus.funcionario.service.SenhaService;
 
+import io.quarkus.narayana.jta.QuarkusTransaction;
 import io.quarkus.test.junit.QuarkusTest;
 import io.quarkus.test.junit.TestProfile;
 
@@ -24,6 +32,18 @@ import org.junit.jupiter.api.Test;
 @TestProfile(FuncionarioTestProfile.class)
 public class FuncionarioTest {
 
+    @Inject
+    FuncionarioRepository funcionarioRepository;
+
+    @Inject
+    SessionFactory sessionFactory;
+
+    @Inject
+    MigracaoSenhas migracaoSenhas;
+
+    @Inject
+    SenhaService senhaService;
+
     @Test
     public void testListarTodos() {
         List<Funcionario> funcionarios = Funcionario.listAll();
@@ -72,6 +92,98 @@ public class FuncionarioTest {
         assertEquals("Funcionário Teste", funcionario.get().getNome(), "O nome do funcionário deveria ser 'Funcionário Teste'");
     }
 
+    @Test
+    public void testBuscarPorLoginNaoUsaCacheDeSegundoNivel() {
+        // A autenticação precisa ver a senha e o status gravados no banco, e não uma cópia
+        // mantida no cache local da instância
+        Optional<Funcionario> funcionario = QuarkusTransaction.requiringNew()
+                .call(() -> funcionarioRepository.buscarPorLogin("inativo"));
+        assertTrue(funcionario.isPresent(), "Deveria encontrar o funcionário com login 'inativo'");
+        assertEquals("Funcionário Inativo", funcionario.get().getNome(), "O nome do funcionário deveria ser 'Funcionário Inativo'");
+        assertFalse(sessionFactory.getCache().containsEntity(Funcionario.class, funcionario.get().id),
+                "O funcionário não deveria ser armazenado no cache de segundo nível");
+    }
+
+    @Test
+    public void testMigracaoConverteSenhasEmTextoPlano() {
+        // As senhas da carga de teste estão em texto plano
+        migracaoSenhas.migrarPendentes();
+        
+        Funcionario funcionario = QuarkusTransaction.requiringNew()
+                .call(() -> funcionarioRepository.buscarPorLogin("testuser").orElseThrow());
+        assertTrue(funcionario.getSenha().startsWith("$argon2id$"), "A senha deveria estar no formato PHC do Argon2id");
+        assertTrue(senhaService.verificar("test_password_hash", funcionario.getSenha()),
+                "O hash deveria corresponder à senha original");
+        assertEquals(0, migracaoSenhas.migrarPendentes(), "Uma segunda execução não deveria encontrar senhas em texto plano");
+    }
+
+    @Test
+    public void testListarPaginaComFiltrosCombinados() {
+        List<FuncionarioDTO> ativos = funcionarioRepository.listarPaginaDTO(
+                new FiltroFuncionarios(true, "Tester", null, FiltroFuncionarios.Ordem.ID), null, null, 10);
+        assertEquals(1, ativos.size(), "Deveria encontrar 1 funcionário ativo com cargo 'Tester'");
+        assertEquals("testuser", ativos.get(0).getLogin());
+        
+        List<FuncionarioDTO> porPrefixo = funcionarioRepository.listarPaginaDTO(
+                new FiltroFuncionarios(null, "Tester", "Funcionário I", FiltroFuncionarios.Ordem.ID), null, null, 10);
+        assertEquals(1, porPrefixo.size(), "Deveria encontrar 1 funcionário com nome iniciando por 'Funcionário I'");
+        assertEquals("inativo", porPrefixo.get(0).getLogin());
+        
+        // Curingas do LIKE no prefixo são tratados como texto
+        assertTrue(funcionarioRepository.listarPaginaDTO(
+                new FiltroFuncionarios(null, null, "%", FiltroFuncionarios.Ordem.ID), null, null, 10).isEmpty(),
+                "O prefixo '%' não deveria encontrar funcionários");
+    }
+
+    @Test
+    public void testListarPaginaPorNomeComCursor() {
+        FiltroFuncionarios filtro = new FiltroFuncionarios(null, null, "Funcionário", FiltroFuncionarios.Ordem.NOME_DESC);
+        
+        List<FuncionarioDTO> primeira = funcionarioRepository.listarPaginaDTO(filtro, null, null, 1);
+        assertEquals(1, primeira.size());
+        assertEquals("Funcionário Teste", primeira.get(0).getNome(), "Na ordem decrescente por nome, 'Teste' vem primeiro");
+        
+        List<FuncionarioDTO> segunda = funcionarioRepository.listarPaginaDTO(filtro,
+                primeira.get(0).getId(), primeira.get(0).getNome(), 1);
+        assertEquals(1, segunda.size());
+        assertEquals("Funcionário Inativo", segunda.get(0).getNome(), "A segunda página deveria continuar após 'Teste'");
+    }
+
+    @Test
+    @Transactional
+    public void testListarPaginaPorNomeComCursorEntreNomesIguais() {
+        Funcionario primeiro = new Funcionario("Funcionário Repetido", "30000000001", "Tester", "repetido.um", "senha123", true);
+        Funcionario segundo = new Funcionario("Funcionário Repetido", "30000000002", "Tester", "repetido.dois", "senha123", true);
+        Funcionario terceiro = new Funcionario("Funcionário Repetido", "30000000003", "Tester", "repetido.tres", "senha123", true);
+        primeiro.persist();
+        segundo.persist();
+        terceiro.persist();
+        // As consultas de leitura não disparam flush
+        funcionarioRepository.flush();
+        
+        // O cursor cai no meio dos nomes iguais: a página seguinte continua pelo ID
+        FiltroFuncionarios crescente = new FiltroFuncionarios(null, null, "Funcionário Repetido", FiltroFuncionarios.Ordem.NOME);
+        List<FuncionarioDTO> primeira = funcionarioRepository.listarPaginaDTO(crescente, null, null, 2);
+        assertEquals(List.of(primeiro.id, segundo.id), primeira.stream().map(FuncionarioDTO::getId).toList());
+        List<FuncionarioDTO> segunda = funcionarioRepository.listarPaginaDTO(crescente,
+                segundo.id, "Funcionário Repetido", 2);
+        assertEquals(List.of(terceiro.id), segunda.stream().map(FuncionarioDTO::getId).toList(),
+                "A segunda página deveria trazer só o funcionário restante com o mesmo nome");
+        
+        FiltroFuncionarios decrescente = new FiltroFuncionarios(null, null, "Funcionário Repetido", FiltroFuncionarios.Ordem.NOME_DESC);
+        List<FuncionarioDTO> primeiraDecrescente = funcionarioRepository.listarPaginaDTO(decrescente, null, null, 2);
+        assertEquals(List.of(terceiro.id, segundo.id), primeiraDecrescente.stream().map(FuncionarioDTO::getId).toList());
+        List<FuncionarioDTO> segundaDecrescente = funcionarioRepository.listarPaginaDTO(decrescente,
+                segundo.id, "Funcionário Repetido", 2);
+        assertEquals(List.of(primeiro.id), segundaDecrescente.stream().map(FuncionarioDTO::getId).toList(),
+                "Na ordem decrescente a segunda página deveria trazer só o funcionário de menor ID");
+        
+        // Limpar depois do teste
+        Funcionario.deleteById(primeiro.id);
+        Funcionario.deleteById(segundo.id);
+        Funcionario.deleteById(terceiro.id);
+    }
+
     @Test
     public void testBuscarPorLoginInexistente() {
         Optional<Funcionario> funcionario = Funcionario.buscarPorLogin("usuarioinexistente");
@@ -0,0 +1,18 @@
+package br.com.rockambole.clausonus.funcionario.resource;
+
+import java.util.Map;
+
+import br.com.rockambole.clausonus.funcionario.entity.FuncionarioTestProfile;
+
+/**
+ * Perfil de teste com a exigência de token JWT ligada (desligada no perfil de teste padrão)
+ */
+public class AutenticacaoTestProfile extends FuncionarioTestProfile {
+    
+    @Override
+    public Map<String, String> getConfigOverrides() {
+        Map<String, String> config = super.getConfigOverrides();
+        config.put("quarkus.http.auth.permission.api.enabled", "true");
+        return config;
+    }
+}
@@ -5,9 +5,12 @@ import static io.restassured.RestAssured.given;
 import static org.hamcrest.CoreMatchers.is;
 import static org.hamcrest.CoreMatchers.notNullValue;
 import static org.hamcrest.Matchers.hasSize;
+import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyLong;
 import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
 import static org.mockito.Mockito.doNothing;
 import static org.mockito.Mockito.doThrow;
 import static org.mockito.Mockito.verify;
@@ -18,10 +21,13 @@ import java.util.Collections;
 
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
 
 import br.com.rockambole.clausonus.funcionario.config.RestTestConfig.RestAPITestProfile;
 import br.com.rockambole.clausonus.funcionario.dto.FuncionarioDTO;
+import br.com.rockambole.clausonus.funcionario.dto.PaginaDTO;
 import br.com.rockambole.clausonus.funcionario.dto.SenhaDTO;
+import br.com.rockambole.clausonus.funcionario.repository.FiltroFuncionarios;
 import br.com.rockambole.clausonus.funcionario.service.FuncionarioService;
 import io.quarkus.test.junit.QuarkusTest;
 import io.quarkus.test.junit.TestProfile;
@@ -48,7 +54,8 @@ public class FuncionarioResourceTest {
         // Configurar mocks
         FuncionarioDTO funcionario1 = new FuncionarioDTO(1L, "Funcionário Um", "12345678900", "Analista", "analista1", true);
         FuncionarioDTO funcionario2 = new FuncionarioDTO(2L, "Funcionário Dois", "98765432100", "Gerente", "gerente1", true);
-        when(funcionarioService.listarTodos()).thenReturn(Arrays.asList(funcionario1, funcionario2));
+        when(funcionarioService.listarPagina(any(FiltroFuncionarios.class), isNull(), isNull()))
+                .thenReturn(new PaginaDTO<>(Arrays.asList(funcionario1, funcionario2), 50, null));
 
         // Executar e verificar
         given()
@@ -56,30 +63,52 @@ public class FuncionarioResourceTest {
             .then()
                 .statusCode(200)
                 .contentType(ContentType.JSON)
-                .body("", hasSize(2))
-                .body("[0].id", is(1))
-                .body("[0].nome", is("Funcionário Um"))
-                .body("[1].id", is(2))
-                .body("[1].nome", is("Funcionário Dois"));
+                .body("itens", hasSize(2))
+                .body("itens[0].id", is(1))
+                .body("itens[0].nome", is("Funcionário Um"))
+                .body("itens[1].id", is(2))
+                .body("itens[1].nome", is("Funcionário Dois"))
+                .body("limite", is(50));
     }
 
     @Test
-    public void testListarTodosComFiltroAtivos() {
+    public void testListarTodosComFiltrosCombinados() {
         // Configurar mocks
         FuncionarioDTO funcionario1 = new FuncionarioDTO(1L, "Funcionário Um", "12345678900", "Analista", "analista1", true);
-        when(funcionarioService.listarAtivos()).thenReturn(Collections.singletonList(funcionario1));
+        when(funcionarioService.listarPagina(any(FiltroFuncionarios.class), eq("cursor"), eq(10)))
+                .thenReturn(new PaginaDTO<>(Collections.singletonList(funcionario1), 10, "proximo"));
 
         // Executar e verificar
         given()
             .queryParam("ativos", true)
+            .queryParam("cargo", "Analista")
+            .queryParam("nome", "Func")
+            .queryParam("ordem", "-nome")
+            .queryParam("after", "cursor")
+            .queryParam("limit", 10)
             .when().get()
             .then()
                 .statusCode(200)
                 .contentType(ContentType.JSON)
-                .body("", hasSize(1))
-                .body("[0].id", is(1))
-                .body("[0].nome", is("Funcionário Um"))
-                .body("[0].ativo", is(true));
+                .body("itens", hasSize(1))
+                .body("itens[0].ativo", is(true))
+                .body("proximoCursor", is("proximo"));
+        
+        ArgumentCaptor<FiltroFuncionarios> filtro = ArgumentCaptor.forClass(FiltroFuncionarios.class);
+        verify(funcionarioService).listarPagina(filtro.capture(), eq("cursor"), eq(10));
+        assertEquals(Boolean.TRUE, filtro.getValue().getAtivo(), "O parâmetro ativos=true deveria filtrar os ativos");
+        assertEquals("Analista", filtro.getValue().getCargo());
+        assertEquals("Func", filtro.getValue().getPrefixoNome());
+        assertEquals(FiltroFuncionarios.Ordem.NOME_DESC, filtro.getValue().getOrdem());
+    }
+
+    @Test
+    public void testListarTodosComOrdemInvalida() {
+        given()
+            .queryParam("ordem", "cpf")
+            .when().get()
+            .then()
+                .statusCode(400);
     }
 
     @Test
@@ -217,7 +246,7 @@ public class FuncionarioResourceTest {
         funcionarioDTO.setAtivo(true);
 
         FuncionarioDTO funcionarioAtualizado = new FuncionarioDTO(1L, "Funcionário Atualizado", "12345678900", "Analista Senior", "analista1", true);
-        when(funcionarioService.atualizar(anyLong(), any(FuncionarioDTO.class))).thenReturn(funcionarioAtualizado);
+        when(funcionarioService.atualizar(anyLong(), any(FuncionarioDTO.class), isNull())).thenReturn(funcionarioAtualizado);
 
         // Executar e verificar
         given()
@@ -0,0 +1,158 @@
+package br.com.rockambole.clausonus.funcionario.resource;
+
+import static io.restassured.RestAssured.given;
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.notNullValue;
+import static org.hamcrest.Matchers.hasSize;
+
+import jakarta.inject.Inject;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import br.com.rockambole.clausonus.funcionario.dto.LoginDTO;
+import br.com.rockambole.clausonus.funcionario.service.MigracaoSenhas;
+import io.quarkus.test.junit.QuarkusTest;
+import io.quarkus.test.junit.TestProfile;
+import io.restassured.RestAssured;
+import io.restassured.http.ContentType;
+
+/**
+ * Testes do login com emissão de token JWT e da exigência de token na API
+ */
+@QuarkusTest
+@TestProfile(AutenticacaoTestProfile.class)
+public class LoginResourceTest {
+
+    @Inject
+    MigracaoSenhas migracaoSenhas;
+    
+    @BeforeEach
+    public void setup() {
+        RestAssured.basePath = "/clausonus/api";
+        // As senhas da carga de teste estão em texto plano
+        migracaoSenhas.migrarPendentes();
+    }
+    
+    private String login(String login, String senha) {
+        return given()
+            .contentType(ContentType.JSON)
+            .body(new LoginDTO(login, senha))
+            .when().post("/funcionarios/login")
+            .then()
+                .statusCode(200)
+                .body("tipo", is("Bearer"))
+                .body("expiraEm", is(900))
+                .extract().path("token");
+    }
+
+    @Test
+    public void testLoginEmiteTokenAceitoPelaApi() {
+        String token = login("testuser", "test_password_hash");
+        
+        given()
+            .auth().oauth2(token)
+            .when().get("/funcionarios/1")
+            .then()
+                .statusCode(200)
+                .body("login", is("testuser"));
+    }
+    
+    @Test
+    public void testApiExigeToken() {
+        given()
+            .when().get("/funcionarios/1")
+            .then()
+                .statusCode(401);
+        
+        given()
+            .auth().oauth2("token.invalido.assinatura")
+            .when().get("/funcionarios/1")
+            .then()
+                .statusCode(401);
+    }
+    
+    @Test
+    public void testLoginComSenhaIncorreta() {
+        given()
+            .contentType(ContentType.JSON)
+            .body(new LoginDTO("testuser", "senha_errada"))
+            .when().post("/funcionarios/login")
+            .then()
+                .statusCode(401);
+    }
+    
+    @Test
+    public void testLoginDeFuncionarioInativo() {
+        given()
+            .contentType(ContentType.JSON)
+            .body(new LoginDTO("inativo", "test_password_hash"))
+            .when().post("/funcionarios/login")
+            .then()
+                .statusCode(401);
+    }
+    
+    @Test
+    public void testLoginLimitaTentativasPorConta() {
+        // Capacidade padrão: 5 tentativas por conta
+        for (int i = 0; i < 5; i++) {
+            given()
+                .contentType(ContentType.JSON)
+                .body(new LoginDTO("forcabruta", "senha_errada"))
+                .when().post("/funcionarios/login")
+                .then()
+                    .statusCode(401);
+        }
+        
+        given()
+            .contentType(ContentType.JSON)
+            .body(new LoginDTO("forcabruta", "senha_errada"))
+            .when().post("/funcionarios/login")
+            .then()
+                .statusCode(429)
+                .header("Retry-After", notNullValue());
+    }
+    
+    @Test
+    public void testLoginLimitaTentativasPorIpDoCliente() {
+        // Requisições do proxy local (confiável) com o IP do cliente no X-Forwarded-For; a
+        // capacidade padrão é de 20 tentativas por IP
+        for (int i = 0; i < 20; i++) {
+            given()
+                .header("X-Forwarded-For", "203.0.113.10")
+                .contentType(ContentType.JSON)
+                .body(new LoginDTO("porip" + i, "senha_errada"))
+                .when().post("/funcionarios/login")
+                .then()
+                    .statusCode(401);
+        }
+        
+        given()
+            .header("X-Forwarded-For", "203.0.113.10")
+            .contentType(ContentType.JSON)
+            .body(new LoginDTO("porip20", "senha_errada"))
+            .when().post("/funcionarios/login")
+            .then()
+                .statusCode(429);
+        
+        // Outro cliente atrás do mesmo proxy tem seu próprio balde
+        given()
+            .header("X-Forwarded-For", "203.0.113.11")
+            .contentType(ContentType.JSON)
+            .body(new LoginDTO("porip20", "senha_errada"))
+            .when().post("/funcionarios/login")
+            .then()
+                .statusCode(401);
+    }
+    
+    @Test
+    public void testJwksPublico() {
+        given()
+            .when().get("/.well-known/jwks.json")
+            .then()
+                .statusCode(200)
+                .body("keys", hasSize(1))
+                .body("keys[0].kty", is("RSA"))
+                .body("keys[0].kid", notNullValue());
+    }
+}
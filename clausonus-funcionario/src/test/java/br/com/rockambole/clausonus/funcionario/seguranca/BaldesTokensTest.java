@@ -0,0 +1,86 @@
+package br.com.rockambole.clausonus.funcionario.seguranca;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Testes para os baldes de tokens do limite de tentativas
+ */
+public class BaldesTokensTest {
+
+    private final AtomicLong relogio = new AtomicLong(TimeUnit.HOURS.toNanos(1));
+
+    private BaldesTokens baldes(int maximoChaves) {
+        // 3 tentativas em rajada, 1 devolvida a cada 20 segundos
+        return new BaldesTokens(3, 3, 4, maximoChaves, TimeUnit.MINUTES.toNanos(5), relogio::get);
+    }
+
+    @Test
+    public void testConsomeCapacidadeERecarrega() {
+        BaldesTokens baldes = baldes(100);
+
+        for (int i = 0; i < 3; i++) {
+            assertEquals(0, baldes.consumir("testuser"), "As tentativas da rajada deveriam ser aceitas");
+        }
+        long espera = baldes.consumir("testuser");
+        assertEquals(TimeUnit.SECONDS.toNanos(20), espera, 1_000, "Deveria aguardar a recarga de um token");
+        assertEquals(0, baldes.consumir("outro"), "Outra chave deveria ter seu próprio balde");
+
+        relogio.addAndGet(TimeUnit.SECONDS.toNanos(20));
+        assertEquals(0, baldes.consumir("testuser"), "Após a recarga, uma nova tentativa deveria ser aceita");
+        assertTrue(baldes.consumir("testuser") > 0, "Só um token deveria ter sido recarregado");
+    }
+
+    @Test
+    public void testDescartaBaldesOciosos() {
+        BaldesTokens baldes = baldes(100);
+        baldes.consumir("a");
+        baldes.consumir("b");
+
+        relogio.addAndGet(TimeUnit.MINUTES.toNanos(2));
+        baldes.consumir("c");
+        relogio.addAndGet(TimeUnit.MINUTES.toNanos(4));
+
+        assertEquals(2, baldes.removerOciosos(), "Os baldes sem uso há mais de 5 minutos deveriam ser descartados");
+        assertEquals(1, baldes.tamanho());
+    }
+
+    @Test
+    public void testMemoriaLimitada() {
+        BaldesTokens baldes = baldes(8);
+
+        for (int i = 0; i < 1000; i++) {
+            relogio.incrementAndGet();
+            baldes.consumir("ip-" + i);
+        }
+
+        assertTrue(baldes.tamanho() <= 8, "A quantidade de baldes não deveria passar do máximo: " + baldes.tamanho());
+    }
+
+    @Test
+    public void testFaixaCheiaNaoDescartaBaldeEmUso() {
+        // Uma faixa com espaço para 2 baldes
+        BaldesTokens baldes = new BaldesTokens(3, 3, 1, 2, TimeUnit.MINUTES.toNanos(5), relogio::get);
+        for (int i = 0; i < 3; i++) {
+            baldes.consumir("alvo");
+        }
+        assertTrue(baldes.consumir("alvo") > 0, "O alvo deveria estar sem tentativas");
+
+        // Chaves descartáveis não tiram o balde do alvo: com a faixa cheia, a chave nova é recusada
+        assertEquals(0, baldes.consumir("descartavel-1"));
+        assertTrue(baldes.consumir("descartavel-2") > 0, "Sem balde cheio para descartar, a chave nova deveria ser recusada");
+        assertTrue(baldes.consumir("alvo") > 0, "O alvo deveria continuar sem tentativas");
+
+        // Depois da recarga completa de um balde, ele dá lugar à chave nova; o alvo mantém o estado
+        relogio.addAndGet(TimeUnit.SECONDS.toNanos(20));
+        assertEquals(0, baldes.consumir("descartavel-2"), "O balde recarregado deveria dar lugar à chave nova");
+        assertEquals(2, baldes.tamanho());
+        assertEquals(0, baldes.consumir("alvo"), "O alvo deveria ter recarregado um único token");
+        assertTrue(baldes.consumir("alvo") > 0, "O balde do alvo não deveria ter sido recriado cheio");
+    }
+}
@@ -0,0 +1,108 @@
+package br.com.rockambole.clausonus.funcionario.seguranca;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.time.Duration;
+import java.util.Optional;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.CountDownLatch;
+
+import jakarta.ws.rs.core.HttpHeaders;
+import jakarta.ws.rs.core.Response;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import br.com.rockambole.clausonus.funcionario.exception.BusinessExceptionHandler;
+import br.com.rockambole.clausonus.funcionario.exception.ServicoIndisponivelException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+/**
+ * Testes para o executor dedicado aos hashes de senha
+ */
+public class ExecutorHashSenhaTest {
+
+    private SimpleMeterRegistry registry;
+    private ExecutorHashSenha executor;
+    private final CountDownLatch liberar = new CountDownLatch(1);
+
+    @BeforeEach
+    public void setup() {
+        // Uma thread e uma posição na fila
+        registry = new SimpleMeterRegistry();
+        executor = new ExecutorHashSenha(Optional.of(1), 1, 5, Duration.ofMinutes(1), registry);
+    }
+
+    @AfterEach
+    public void limpar() {
+        liberar.countDown();
+        executor.encerrar();
+    }
+
+    private String aguardarLiberacao() {
+        try {
+            liberar.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        return "hash";
+    }
+
+    @Test
+    public void testRecusaComFilaCheia() {
+        CompletionStage<String> emExecucao = executor.submeter("criptografar", this::aguardarLiberacao);
+        CompletionStage<String> naFila = executor.submeter("criptografar", this::aguardarLiberacao);
+        CompletionStage<String> recusada = executor.submeter("criptografar", this::aguardarLiberacao);
+
+        CompletionException erro = assertThrows(CompletionException.class, () -> recusada.toCompletableFuture().join(),
+                "A terceira tarefa deveria ser recusada com a thread ocupada e a fila cheia");
+        ServicoIndisponivelException indisponivel = assertInstanceOf(ServicoIndisponivelException.class, erro.getCause());
+        assertEquals(1.0, registry.get("funcionario.senha.hash.recusadas").counter().count(), "A recusa deveria ser contada");
+
+        Response resposta = new BusinessExceptionHandler().toResponse(indisponivel);
+        assertEquals(503, resposta.getStatus(), "A recusa deveria ser respondida com 503");
+        assertEquals(5L, resposta.getHeaders().getFirst(HttpHeaders.RETRY_AFTER), "A resposta deveria informar o Retry-After");
+
+        liberar.countDown();
+        assertEquals("hash", emExecucao.toCompletableFuture().join());
+        assertEquals("hash", naFila.toCompletableFuture().join());
+    }
+
+    @Test
+    public void testExpiraTarefaQueExcedeAEsperaMaxima() {
+        ExecutorHashSenha comEsperaCurta = new ExecutorHashSenha(Optional.of(1), 1, 5, Duration.ofMillis(100), registry);
+        try {
+            CompletionStage<String> emExecucao = comEsperaCurta.submeter("criptografar", this::aguardarLiberacao);
+            CompletionStage<String> naFila = comEsperaCurta.submeter("verificar", () -> "hash");
+
+            CompletionException erro = assertThrows(CompletionException.class, () -> naFila.toCompletableFuture().join(),
+                    "A tarefa deveria expirar com a thread ocupada além da espera máxima");
+            ServicoIndisponivelException indisponivel = assertInstanceOf(ServicoIndisponivelException.class, erro.getCause());
+            assertEquals(503, indisponivel.getStatus().getStatusCode(), "A expiração deveria ser respondida com 503");
+            assertThrows(CompletionException.class, () -> emExecucao.toCompletableFuture().join(),
+                    "Quem aguarda a tarefa em execução também deveria receber a expiração");
+            assertEquals(2.0, registry.get("funcionario.senha.hash.expiradas").counter().count(), "As expirações deveriam ser contadas");
+
+            // A tarefa que expirou na fila é descartada sem calcular o hash
+            liberar.countDown();
+            comEsperaCurta.submeter("verificar", () -> "hash").toCompletableFuture().join();
+            assertEquals(1, registry.get("funcionario.senha.hash.duracao").tag("operacao", "verificar").timer().count(),
+                    "Somente a tarefa submetida depois deveria ser calculada");
+        } finally {
+            comEsperaCurta.encerrar();
+        }
+    }
+
+    @Test
+    public void testRegistraDuracaoPorOperacao() {
+        executor.submeter("verificar", () -> true).toCompletableFuture().join();
+
+        assertEquals(1, registry.get("funcionario.senha.hash.duracao").tag("operacao", "verificar").timer().count(),
+                "A duração do cálculo deveria ser registrada com a operação");
+        assertEquals(0.0, registry.get("funcionario.senha.hash.fila").gauge().value(), "A fila deveria estar vazia");
+    }
+}
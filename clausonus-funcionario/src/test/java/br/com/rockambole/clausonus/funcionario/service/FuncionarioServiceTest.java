@@ -3,12 +3,15 @@ package br.com.rockambole.clausonus.funcionario.service;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
 import static org.mockito.ArgumentMatchers.anyLong;
 import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.Mockito.doNothing;
+import static org.mockito.Mockito.doThrow;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
@@ -18,16 +21,20 @@ import java.util.Arrays;
 import java.util.List;
 import java.util.Optional;
 
+import jakarta.persistence.OptimisticLockException;
 import jakarta.ws.rs.NotFoundException;
+import jakarta.ws.rs.core.Response;
 
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
-import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
 
 import br.com.rockambole.clausonus.funcionario.dto.FuncionarioDTO;
+import br.com.rockambole.clausonus.funcionario.dto.PaginaDTO;
 import br.com.rockambole.clausonus.funcionario.entity.Funcionario;
+import br.com.rockambole.clausonus.funcionario.exception.BusinessException;
+import br.com.rockambole.clausonus.funcionario.repository.FiltroFuncionarios;
 import br.com.rockambole.clausonus.funcionario.repository.FuncionarioRepository;
 
 public class FuncionarioServiceTest {
@@ -38,7 +45,6 @@ public class FuncionarioServiceTest {
     @Mock
     private SenhaService senhaService;
     
-    @InjectMocks
     private FuncionarioService funcionarioService;
     
     private Funcionario funcionario1;
@@ -47,6 +53,8 @@ public class FuncionarioServiceTest {
     @BeforeEach
     public void setup() {
         MockitoAnnotations.openMocks(this);
+        funcionarioService = new FuncionarioService(funcionarioRepository, senhaService,
+                new FuncionarioGravacaoService(funcionarioRepository), 50, 500);
         
         // Configurar funcionários de teste
         funcionario1 = new Funcionario("Funcionário Um", "12345678900", "Analista", "analista1", "senha123", true);
@@ -59,7 +67,7 @@ public class FuncionarioServiceTest {
     @Test
     public void testListarTodos() {
         // Configurar mock
-        when(funcionarioRepository.listarTodos()).thenReturn(Arrays.asList(funcionario1, funcionario2));
+        when(funcionarioRepository.listarTodosDTO()).thenReturn(Arrays.asList(funcionario1.toDTO(), funcionario2.toDTO()));
         
         // Executar
         List<FuncionarioDTO> resultado = funcionarioService.listarTodos();
@@ -68,13 +76,51 @@ public class FuncionarioServiceTest {
         assertEquals(2, resultado.size(), "Deveria retornar 2 funcionários");
         assertEquals("Funcionário Um", resultado.get(0).getNome(), "O nome do primeiro funcionário está incorreto");
         assertEquals("Funcionário Dois", resultado.get(1).getNome(), "O nome do segundo funcionário está incorreto");
-        verify(funcionarioRepository, times(1)).listarTodos();
+        verify(funcionarioRepository, times(1)).listarTodosDTO();
+    }
+    
+    @Test
+    public void testListarPagina_CursorDaProximaPagina() {
+        FiltroFuncionarios filtro = new FiltroFuncionarios(null, null, null, FiltroFuncionarios.Ordem.NOME);
+        
+        // O repositório retorna um item a mais que o limite: existe próxima página
+        when(funcionarioRepository.listarPaginaDTO(filtro, null, null, 2))
+                .thenReturn(Arrays.asList(funcionario1.toDTO(), funcionario2.toDTO()));
+        PaginaDTO<FuncionarioDTO> primeira = funcionarioService.listarPagina(filtro, null, 1);
+        
+        assertEquals(1, primeira.getItens().size(), "A página deveria respeitar o limite");
+        assertNotNull(primeira.getProximoCursor(), "Deveria haver cursor para a próxima página");
+        
+        // O cursor leva a posição (nome e ID) do último item para o repositório
+        when(funcionarioRepository.listarPaginaDTO(filtro, 1L, "Funcionário Um", 2))
+                .thenReturn(Arrays.asList(funcionario2.toDTO()));
+        PaginaDTO<FuncionarioDTO> segunda = funcionarioService.listarPagina(filtro, primeira.getProximoCursor(), 1);
+        
+        assertEquals("Funcionário Dois", segunda.getItens().get(0).getNome());
+        assertNull(segunda.getProximoCursor(), "A última página não deveria ter cursor");
+    }
+    
+    @Test
+    public void testListarPagina_LimiteMaximoECursorDeOutraOrdem() {
+        FiltroFuncionarios porId = new FiltroFuncionarios(null, null, null, FiltroFuncionarios.Ordem.ID);
+        when(funcionarioRepository.listarPaginaDTO(porId, null, null, 501)).thenReturn(List.of());
+        
+        assertEquals(500, funcionarioService.listarPagina(porId, null, 10000).getLimite(),
+                "O limite deveria ser reduzido ao máximo configurado");
+        assertThrows(IllegalArgumentException.class, () -> funcionarioService.listarPagina(porId, null, 0));
+        
+        when(funcionarioRepository.listarPaginaDTO(any(FiltroFuncionarios.class), any(), any(), anyInt()))
+                .thenReturn(Arrays.asList(funcionario1.toDTO(), funcionario2.toDTO()));
+        String cursorPorId = funcionarioService.listarPagina(porId, null, 1).getProximoCursor();
+        FiltroFuncionarios porNome = new FiltroFuncionarios(null, null, null, FiltroFuncionarios.Ordem.NOME);
+        assertThrows(IllegalArgumentException.class, () -> funcionarioService.listarPagina(porNome, cursorPorId, 1),
+                "Um cursor de outra ordem deveria ser recusado");
     }
     
     @Test
     public void testListarAtivos() {
         // Configurar mock
-        when(funcionarioRepository.listarAtivos()).thenReturn(Arrays.asList(funcionario1));
+        when(funcionarioRepository.listarAtivosDTO()).thenReturn(Arrays.asList(funcionario1.toDTO()));
         
         // Executar
         List<FuncionarioDTO> resultado = funcionarioService.listarAtivos();
@@ -82,13 +128,13 @@ public class FuncionarioServiceTest {
         // Verificar
         assertEquals(1, resultado.size(), "Deveria retornar 1 funcionário ativo");
         assertEquals("Funcionário Um", resultado.get(0).getNome(), "O nome do funcionário ativo está incorreto");
-        verify(funcionarioRepository, times(1)).listarAtivos();
+        verify(funcionarioRepository, times(1)).listarAtivosDTO();
     }
     
     @Test
     public void testBuscarPorId_Existente() {
         // Configurar mock
-        when(funcionarioRepository.buscarPorId(1L)).thenReturn(Optional.of(funcionario1));
+        when(funcionarioRepository.buscarDTOPorId(1L)).thenReturn(Optional.of(funcionario1.toDTO()));
         
         // Executar
         FuncionarioDTO resultado = funcionarioService.buscarPorId(1L);
@@ -96,39 +142,39 @@ public class FuncionarioServiceTest {
         // Verificar
         assertNotNull(resultado, "O resultado não deveria ser nulo");
         assertEquals("Funcionário Um", resultado.getNome(), "O nome do funcionário está incorreto");
-        verify(funcionarioRepository, times(1)).buscarPorId(1L);
+        verify(funcionarioRepository, times(1)).buscarDTOPorId(1L);
     }
     
     @Test
     public void testBuscarPorId_NaoExistente() {
         // Configurar mock
-        when(funcionarioRepository.buscarPorId(999L)).thenReturn(Optional.empty());
+        when(funcionarioRepository.buscarDTOPorId(999L)).thenReturn(Optional.empty());
         
         // Executar e verificar
         assertThrows(NotFoundException.class, () -> {
             funcionarioService.buscarPorId(999L);
         }, "Deveria lançar NotFoundException para ID inexistente");
         
-        verify(funcionarioRepository, times(1)).buscarPorId(999L);
+        verify(funcionarioRepository, times(1)).buscarDTOPorId(999L);
     }
     
     @Test
     public void testBuscarPorNome() {
         // Configurar mock
-        when(funcionarioRepository.buscarPorNome("Funcionário")).thenReturn(Arrays.asList(funcionario1, funcionario2));
+        when(funcionarioRepository.buscarDTOsPorNome("Funcionário")).thenReturn(Arrays.asList(funcionario1.toDTO(), funcionario2.toDTO()));
         
         // Executar
         List<FuncionarioDTO> resultado = funcionarioService.buscarPorNome("Funcionário");
         
         // Verificar
         assertEquals(2, resultado.size(), "Deveria retornar 2 funcionários");
-        verify(funcionarioRepository, times(1)).buscarPorNome("Funcionário");
+        verify(funcionarioRepository, times(1)).buscarDTOsPorNome("Funcionário");
     }
     
     @Test
     public void testBuscarPorCargo() {
         // Configurar mock
-        when(funcionarioRepository.buscarPorCargo("Analista")).thenReturn(Arrays.asList(funcionario1));
+        when(funcionarioRepository.buscarDTOsPorCargo("Analista")).thenReturn(Arrays.asList(funcionario1.toDTO()));
         
         // Executar
         List<FuncionarioDTO> resultado = funcionarioService.buscarPorCargo("Analista");
@@ -136,7 +182,7 @@ public class FuncionarioServiceTest {
         // Verificar
         assertEquals(1, resultado.size(), "Deveria retornar 1 funcionário");
         assertEquals("Funcionário Um", resultado.get(0).getNome(), "O nome do funcionário está incorreto");
-        verify(funcionarioRepository, times(1)).buscarPorCargo("Analista");
+        verify(funcionarioRepository, times(1)).buscarDTOsPorCargo("Analista");
     }
     
     @Test
@@ -266,22 +312,124 @@ public class FuncionarioServiceTest {
         verify(funcionarioRepository, times(0)).salvar(any(Funcionario.class));
     }
     
+    @Test
+    public void testAtualizar_VersaoDesatualizada() {
+        FuncionarioDTO dto = new FuncionarioDTO(1L, "Funcionário Um", "12345678900", "Analista", "analista1", true);
+        when(funcionarioRepository.buscarPorId(1L)).thenReturn(Optional.of(funcionario1));
+        
+        // If-Match com versão diferente da atual: 412 sem gravar
+        BusinessException excecao = assertThrows(BusinessException.class, () -> {
+            funcionarioService.atualizar(1L, dto, 5L);
+        }, "Deveria recusar a atualização de uma versão desatualizada");
+        assertEquals(Response.Status.PRECONDITION_FAILED, excecao.getStatus());
+        verify(funcionarioRepository, times(0)).salvar(any(Funcionario.class));
+    }
+    
+    @Test
+    public void testAtualizar_AlteracaoConcorrente() {
+        FuncionarioDTO dto = new FuncionarioDTO(1L, "Funcionário Um", "12345678900", "Analista", "analista1", true);
+        when(funcionarioRepository.buscarPorId(1L)).thenReturn(Optional.of(funcionario1));
+        doThrow(new OptimisticLockException()).when(funcionarioRepository).flush();
+        
+        // O UPDATE versionado não encontrou a versão lida: sem If-Match, é um conflito
+        BusinessException excecao = assertThrows(BusinessException.class, () -> {
+            funcionarioService.atualizar(1L, dto);
+        }, "Deveria recusar a atualização quando outra requisição gravou antes");
+        assertEquals(Response.Status.CONFLICT, excecao.getStatus());
+    }
+    
     @Test
     public void testAtualizarSenha_Sucesso() {
         // Configurar mocks
         when(funcionarioRepository.buscarPorId(1L)).thenReturn(Optional.of(funcionario1));
         when(senhaService.verificar(anyString(), anyString())).thenReturn(true);
         when(senhaService.criptografar("nova_senha")).thenReturn("nova_senha_criptografada");
-        doNothing().when(funcionarioRepository).salvar(funcionario1);
+        when(funcionarioRepository.substituirSenha(1L, "senha123", "nova_senha_criptografada")).thenReturn(true);
         
         // Executar
         funcionarioService.atualizarSenha(1L, "senha_atual", "nova_senha");
         
-        // Verificar
+        // Verificar: o novo hash substitui somente o hash que foi verificado
         verify(funcionarioRepository, times(1)).buscarPorId(1L);
         verify(senhaService, times(1)).verificar(anyString(), anyString());
         verify(senhaService, times(1)).criptografar("nova_senha");
-        verify(funcionarioRepository, times(1)).salvar(funcionario1);
+        verify(funcionarioRepository, times(1)).substituirSenha(1L, "senha123", "nova_senha_criptografada");
+    }
+    
+    @Test
+    public void testAtualizarSenha_AlteradaPorOutraRequisicao() {
+        // A senha gravada mudou entre a verificação e a gravação do novo hash
+        when(funcionarioRepository.buscarPorId(1L)).thenReturn(Optional.of(funcionario1));
+        when(senhaService.verificar(anyString(), anyString())).thenReturn(true);
+        when(senhaService.criptografar("nova_senha")).thenReturn("nova_senha_criptografada");
+        when(funcionarioRepository.substituirSenha(1L, "senha123", "nova_senha_criptografada")).thenReturn(false);
+        
+        BusinessException excecao = assertThrows(BusinessException.class, () -> {
+            funcionarioService.atualizarSenha(1L, "senha_atual", "nova_senha");
+        }, "Deveria recusar a troca quando a senha foi alterada por outra requisição");
+        assertEquals(Response.Status.CONFLICT, excecao.getStatus());
+    }
+    
+    @Test
+    public void testAutenticar_RegravaHashDesatualizado() {
+        // Configurar mocks: senha confere, mas o hash está no formato anterior
+        when(funcionarioRepository.buscarPorLogin("analista1")).thenReturn(Optional.of(funcionario1));
+        when(senhaService.verificar("senha_digitada", "senha123")).thenReturn(true);
+        when(senhaService.precisaAtualizar("senha123")).thenReturn(true);
+        when(senhaService.criptografar("senha_digitada")).thenReturn("$argon2id$novo_hash");
+        when(funcionarioRepository.substituirSenha(1L, "senha123", "$argon2id$novo_hash")).thenReturn(true);
+        
+        // Executar
+        Optional<FuncionarioDTO> resultado = funcionarioService.autenticar("analista1", "senha_digitada");
+        
+        // Verificar
+        assertTrue(resultado.isPresent(), "Deveria autenticar o funcionário");
+        verify(senhaService, times(1)).criptografar("senha_digitada");
+        verify(funcionarioRepository, times(1)).substituirSenha(1L, "senha123", "$argon2id$novo_hash");
+    }
+    
+    @Test
+    public void testAutenticar_SenhaIncorreta() {
+        // Configurar mocks
+        when(funcionarioRepository.buscarPorLogin("analista1")).thenReturn(Optional.of(funcionario1));
+        when(senhaService.verificar("senha_errada", "senha123")).thenReturn(false);
+        
+        // Executar
+        Optional<FuncionarioDTO> resultado = funcionarioService.autenticar("analista1", "senha_errada");
+        
+        // Verificar
+        assertFalse(resultado.isPresent(), "Não deveria autenticar com a senha incorreta");
+        verify(senhaService, times(0)).criptografar(anyString());
+        verify(funcionarioRepository, times(0)).substituirSenha(anyLong(), anyString(), anyString());
+    }
+    
+    @Test
+    public void testAutenticar_LoginInexistenteVerificaHashDeReferencia() {
+        // Configurar mock
+        when(funcionarioRepository.buscarPorLogin("desconhecido")).thenReturn(Optional.empty());
+        
+        // Executar
+        Optional<FuncionarioDTO> resultado = funcionarioService.autenticar("desconhecido", "qualquer_senha");
+        
+        // Verificar: o login inexistente custa a mesma verificação de uma senha incorreta
+        assertFalse(resultado.isPresent(), "Não deveria autenticar um login inexistente");
+        verify(senhaService, times(1)).simularVerificacao("qualquer_senha");
+        verify(senhaService, times(0)).verificar(anyString(), anyString());
+    }
+    
+    @Test
+    public void testAutenticar_FuncionarioInativoVerificaHashDeReferencia() {
+        // Configurar mock
+        funcionario1.setAtivo(false);
+        when(funcionarioRepository.buscarPorLogin("analista1")).thenReturn(Optional.of(funcionario1));
+        
+        // Executar
+        Optional<FuncionarioDTO> resultado = funcionarioService.autenticar("analista1", "senha123");
+        
+        // Verificar
+        assertFalse(resultado.isPresent(), "Não deveria autenticar um funcionário inativo");
+        verify(senhaService, times(1)).simularVerificacao("senha123");
+        verify(senhaService, times(0)).verificar(anyString(), anyString());
     }
     
     @Test
@@ -5,8 +5,13 @@ import static org.junit.jupiter.api.Assertions.assertNotEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.util.Base64;
+
 import org.junit.jupiter.api.Test;
 
+import br.com.rockambole.clausonus.funcionario.seguranca.Pbkdf2HashSenha;
 import io.quarkus.test.junit.QuarkusTest;
 import jakarta.inject.Inject;
 
@@ -19,6 +24,30 @@ public class SenhaServiceTest {
     @Inject
     SenhaService senhaService;
     
+    @Inject
+    Pbkdf2HashSenha pbkdf2;
+    
+    /**
+     * Gera um hash no formato anterior (16 bytes de salt + SHA-256 iterado 1.000 vezes)
+     */
+    private static String hashFormatoAnterior(String senha) throws Exception {
+        byte[] salt = new byte[16];
+        for (int i = 0; i < salt.length; i++) {
+            salt[i] = (byte) i;
+        }
+        MessageDigest digest = MessageDigest.getInstance("SHA-256");
+        digest.update(salt);
+        byte[] hash = digest.digest(senha.getBytes(StandardCharsets.UTF_8));
+        for (int i = 0; i < 1000; i++) {
+            digest.reset();
+            hash = digest.digest(hash);
+        }
+        byte[] combinado = new byte[salt.length + hash.length];
+        System.arraycopy(salt, 0, combinado, 0, salt.length);
+        System.arraycopy(hash, 0, combinado, salt.length, hash.length);
+        return Base64.getEncoder().encodeToString(combinado);
+    }
+    
     @Test
     public void testCriptografar() {
         // Senha em texto plano
@@ -79,4 +108,48 @@ public class SenhaServiceTest {
         
         assertFalse(resultado, "Um hash inválido deveria ser rejeitado");
     }
+    
+    @Test
+    public void testCriptografar_FormatoPhcArgon2id() {
+        String hash = senhaService.criptografar("senha123");
+        
+        assertTrue(hash.startsWith("$argon2id$v=19$m=1024,t=1,p=1$"),
+                "O hash deveria registrar o algoritmo e os parâmetros de custo configurados: " + hash);
+        assertFalse(senhaService.precisaAtualizar(hash), "Um hash com os parâmetros atuais não precisa ser regravado");
+        assertFalse(senhaService.textoPlano(hash), "Um hash PHC não é texto plano");
+    }
+    
+    @Test
+    public void testVerificarSenha_FormatoAnterior() throws Exception {
+        String hash = hashFormatoAnterior("senhaAntiga");
+        
+        assertTrue(senhaService.verificar("senhaAntiga", hash), "O formato anterior deveria continuar sendo aceito");
+        assertFalse(senhaService.verificar("outraSenha", hash), "A senha incorreta deveria ser rejeitada no formato anterior");
+        assertTrue(senhaService.precisaAtualizar(hash), "Um hash no formato anterior deveria ser regravado");
+        assertFalse(senhaService.textoPlano(hash), "Um hash no formato anterior não é texto plano");
+    }
+    
+    @Test
+    public void testVerificarSenha_OutroAlgoritmo() {
+        // Hashes PBKDF2 continuam válidos, mas são regravados com o algoritmo configurado
+        String hash = pbkdf2.gerar("senhaPbkdf2").formatar();
+        
+        assertTrue(hash.startsWith("$pbkdf2-sha256$i=1000,"), "O hash deveria registrar as iterações: " + hash);
+        assertTrue(senhaService.verificar("senhaPbkdf2", hash), "Um hash PBKDF2 deveria ser aceito");
+        assertTrue(senhaService.precisaAtualizar(hash), "Um hash de outro algoritmo deveria ser regravado");
+    }
+    
+    @Test
+    public void testVerificarSenha_ParametrosAntigos() {
+        // Mesmo algoritmo com custo menor que o configurado
+        String hash = senhaService.criptografar("senha123").replace("m=1024,t=1,p=1", "m=512,t=1,p=1");
+        
+        assertFalse(senhaService.verificar("senha123", hash), "O hash alterado não deveria conferir");
+        assertTrue(senhaService.precisaAtualizar(hash), "Um hash com custo diferente deveria ser regravado");
+    }
+    
+    @Test
+    public void testTextoPlano() {
+        assertTrue(senhaService.textoPlano("hashed_password_123"), "Valores da carga inicial são texto plano");
+    }
 }
@@ -0,0 +1,54 @@
+#!/bin/bash
+
+# Compara as consultas de loja no modo bloqueante (/lojas) e no modo reativo (/lojas/reativo)
+# sob alta concorrência, usando o hey (https://github.com/rakyll/hey).
+#
+# INSTRUÇÕES DE USO:
+#
+# 1. Suba o módulo no perfil de produção (PostgreSQL), onde o modo reativo é habilitado:
+#    ./gradlew :clausonus-loja:quarkusBuild && java -jar clausonus-loja/build/quarkus-app/quarkus-run.jar
+#
+# 2. Execute o script:
+#    ./benchmark-reativo.sh
+#
+# 3. Para alterar o alvo ou a carga:
+#    API_HOST=outro.servidor API_PORT=9090 CONCORRENCIA=1000 DURACAO=60s ./benchmark-reativo.sh
+#
+# REQUISITOS:
+# - hey: gerador de carga HTTP
+#
+# Para cada cenário são exibidos as requisições por segundo e os percentis de latência (p50/p99).
+# Observe também o uso do pool de workers (métrica worker_pool_active) e as conexões com o banco.
+# O GET /lojas/{id} bloqueante é servido pelo cache em memória; a comparação das páginas
+# (que sempre acessam o banco) é a que isola o custo do acesso bloqueante.
+
+API_HOST="${API_HOST:-localhost}"
+API_PORT="${API_PORT:-8080}"
+API_BASE_URL="http://${API_HOST}:${API_PORT}/clausonus/api"
+CONCORRENCIA="${CONCORRENCIA:-500}"
+DURACAO="${DURACAO:-30s}"
+ID_LOJA="${ID_LOJA:-1}"
+
+if ! command -v hey > /dev/null; then
+  echo "O hey não foi encontrado no PATH"
+  exit 1
+fi
+
+executar() {
+  local descricao=$1
+  local url=$2
+
+  echo "=== ${descricao} (${CONCORRENCIA} clientes, ${DURACAO}) ==="
+  hey -z "${DURACAO}" -c "${CONCORRENCIA}" "${url}" \
+    | grep -E "Requests/sec|Total:|50%|99%|Status code|\[[0-9]{3}\]"
+  echo
+}
+
+# Aquecimento, para que JIT e pools estejam estáveis antes da medição
+hey -z 10s -c 50 "${API_BASE_URL}/lojas/${ID_LOJA}" > /dev/null
+hey -z 10s -c 50 "${API_BASE_URL}/lojas/reativo/${ID_LOJA}" > /dev/null
+
+executar "Bloqueante - GET /lojas/{id}" "${API_BASE_URL}/lojas/${ID_LOJA}"
+executar "Reativo    - GET /lojas/reativo/{id}" "${API_BASE_URL}/lojas/reativo/${ID_LOJA}"
+executar "Bloqueante - GET /lojas?limit=50" "${API_BASE_URL}/lojas?limit=50"
+executar "Reativo    - GET /lojas/reativo?limit=50" "${API_BASE_URL}/lojas/reativo?limit=50"
@@ -0,0 +1,105 @@
+package br.com.rockambole.clausonus.loja.entity;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.hibernate.FlushMode;
+import org.hibernate.Session;
+import org.hibernate.SessionFactory;
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.cfg.Configuration;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+import br.com.rockambole.clausonus.loja.dto.LojaDTO;
+import br.com.rockambole.clausonus.loja.util.LojaConverter;
+
+/**
+ * Vazão (operações/s) e alocação por operação (profiler gc, gc.alloc.rate.norm) da leitura de
+ * uma página de lojas: entidades gerenciadas convertidas pelo LojaConverter (leitura anterior)
+ * contra a projeção em LojaDTO usada por {@link Loja#listarPaginaDto(Long, int)}. Cada operação
+ * abre uma sessão, lê a página em uma transação e fecha a sessão, como uma requisição.
+ * O Hibernate é iniciado sem o Quarkus, sobre um H2 em memória.
+ * Executar com ./gradlew :clausonus-loja:jmh
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class LeituraLojaBenchmark {
+
+    private static final int QUANTIDADE_LOJAS = 200;
+
+    private SessionFactory sessionFactory;
+    private LojaConverter lojaConverter;
+
+    @Setup
+    public void preparar() {
+        sessionFactory = new Configuration()
+                .addAnnotatedClass(Loja.class)
+                .setProperty(AvailableSettings.URL, "jdbc:h2:mem:leitura-loja;DB_CLOSE_DELAY=-1")
+                .setProperty(AvailableSettings.USER, "sa")
+                .setProperty(AvailableSettings.PASS, "")
+                .setProperty(AvailableSettings.HBM2DDL_AUTO, "create-drop")
+                .setProperty(AvailableSettings.STATEMENT_BATCH_SIZE, "50")
+                .buildSessionFactory();
+        lojaConverter = new LojaConverter();
+
+        sessionFactory.inTransaction(session -> {
+            NumeroAlteracao alteracao = new NumeroAlteracao(0, Instant.now());
+            for (int i = 0; i < QUANTIDADE_LOJAS; i++) {
+                Loja loja = new Loja("Loja Benchmark " + i, "Rua da Leitura, " + i,
+                        String.format("77%012d", i), "(11) 5555-0000");
+                loja.registrarAlteracao(alteracao);
+                session.persist(loja);
+            }
+        });
+    }
+
+    @TearDown
+    public void encerrar() {
+        sessionFactory.close();
+    }
+
+    @Benchmark
+    public List<LojaDTO> lerPorEntidade() {
+        return sessionFactory.fromTransaction(this::lerEntidades);
+    }
+
+    /**
+     * Leitura anterior com a sessão em modo somente leitura: o Hibernate deixa de guardar a cópia
+     * de cada entidade para a verificação de alterações, mas ainda hidrata as entidades e as
+     * registra no contexto de persistência
+     */
+    @Benchmark
+    public List<LojaDTO> lerPorEntidadeSomenteLeitura() {
+        return sessionFactory.fromTransaction(session -> {
+            session.setDefaultReadOnly(true);
+            return lerEntidades(session);
+        });
+    }
+
+    @Benchmark
+    public List<LojaDTO> lerPorProjecao() {
+        return sessionFactory.fromTransaction(session -> session
+                .createQuery(Loja.PROJECAO_DTO + "order by l.id", LojaDTO.class)
+                .setHibernateFlushMode(FlushMode.MANUAL)
+                .setMaxResults(QUANTIDADE_LOJAS)
+                .getResultList());
+    }
+
+    private List<LojaDTO> lerEntidades(Session session) {
+        return session.createQuery("from Loja l order by l.id", Loja.class)
+                .setMaxResults(QUANTIDADE_LOJAS)
+                .getResultList()
+                .stream()
+                .map(lojaConverter::toDto)
+                .toList();
+    }
+}
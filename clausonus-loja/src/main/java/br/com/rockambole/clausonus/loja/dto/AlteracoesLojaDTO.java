@@ -0,0 +1,64 @@
+package br.com.rockambole.clausonus.loja.dto;
+
+import java.util.List;
+
+/**
+ * DTO de uma página do feed de alterações de lojas. O cliente guarda proximoToken e o envia
+ * em since na próxima sincronização; enquanto temMais for true há alterações a buscar.
+ */
+public class AlteracoesLojaDTO {
+
+    // Lojas criadas ou atualizadas, com o estado atual
+    private List<LojaDTO> alteradas;
+
+    // IDs das lojas excluídas
+    private List<Long> excluidas;
+
+    private String proximoToken;
+
+    private boolean temMais;
+
+    // Construtores
+    public AlteracoesLojaDTO() {
+    }
+
+    public AlteracoesLojaDTO(List<LojaDTO> alteradas, List<Long> excluidas, String proximoToken, boolean temMais) {
+        this.alteradas = alteradas;
+        this.excluidas = excluidas;
+        this.proximoToken = proximoToken;
+        this.temMais = temMais;
+    }
+
+    // Getters e Setters
+    public List<LojaDTO> getAlteradas() {
+        return alteradas;
+    }
+
+    public void setAlteradas(List<LojaDTO> alteradas) {
+        this.alteradas = alteradas;
+    }
+
+    public List<Long> getExcluidas() {
+        return excluidas;
+    }
+
+    public void setExcluidas(List<Long> excluidas) {
+        this.excluidas = excluidas;
+    }
+
+    public String getProximoToken() {
+        return proximoToken;
+    }
+
+    public void setProximoToken(String proximoToken) {
+        this.proximoToken = proximoToken;
+    }
+
+    public boolean isTemMais() {
+        return temMais;
+    }
+
+    public void setTemMais(boolean temMais) {
+        this.temMais = temMais;
+    }
+}
@@ -0,0 +1,76 @@
+package br.com.rockambole.clausonus.loja.dto;
+
+import java.time.Instant;
+
+/**
+ * Evento de alteração de loja publicado para os demais microsserviços.
+ * A entrega é "ao menos uma vez": consumidores devem ignorar eventos repetidos (pelo ID)
+ * e eventos de uma versão de loja anterior à que já conhecem.
+ */
+public class EventoLojaDTO {
+    
+    private Long id;
+    
+    // CRIACAO, ATUALIZACAO ou EXCLUSAO
+    private String tipo;
+    
+    private Long idLoja;
+    
+    // Estado da loja após a alteração, ou null em exclusões
+    private LojaDTO loja;
+    
+    private Instant ocorridoEm;
+    
+    // Construtores
+    public EventoLojaDTO() {
+    }
+    
+    public EventoLojaDTO(Long id, String tipo, Long idLoja, LojaDTO loja, Instant ocorridoEm) {
+        this.id = id;
+        this.tipo = tipo;
+        this.idLoja = idLoja;
+        this.loja = loja;
+        this.ocorridoEm = ocorridoEm;
+    }
+    
+    // Getters e Setters
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public String getTipo() {
+        return tipo;
+    }
+
+    public void setTipo(String tipo) {
+        this.tipo = tipo;
+    }
+
+    public Long getIdLoja() {
+        return idLoja;
+    }
+
+    public void setIdLoja(Long idLoja) {
+        this.idLoja = idLoja;
+    }
+
+    public LojaDTO getLoja() {
+        return loja;
+    }
+
+    public void setLoja(LojaDTO loja) {
+        this.loja = loja;
+    }
+
+    public Instant getOcorridoEm() {
+        return ocorridoEm;
+    }
+
+    public void setOcorridoEm(Instant ocorridoEm) {
+        this.ocorridoEm = ocorridoEm;
+    }
+}
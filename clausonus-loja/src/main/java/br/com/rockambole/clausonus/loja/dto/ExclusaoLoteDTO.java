@@ -0,0 +1,37 @@
+package br.com.rockambole.clausonus.loja.dto;
+
+/**
+ * DTO com o resultado da exclusão de lojas em lote
+ */
+public class ExclusaoLoteDTO {
+    
+    private int solicitadas;
+    
+    private long excluidas;
+    
+    // Construtores
+    public ExclusaoLoteDTO() {
+    }
+    
+    public ExclusaoLoteDTO(int solicitadas, long excluidas) {
+        this.solicitadas = solicitadas;
+        this.excluidas = excluidas;
+    }
+    
+    // Getters e Setters
+    public int getSolicitadas() {
+        return solicitadas;
+    }
+
+    public void setSolicitadas(int solicitadas) {
+        this.solicitadas = solicitadas;
+    }
+
+    public long getExcluidas() {
+        return excluidas;
+    }
+
+    public void setExcluidas(long excluidas) {
+        this.excluidas = excluidas;
+    }
+}
@@ -0,0 +1,64 @@
+package br.com.rockambole.clausonus.loja.dto;
+
+/**
+ * DTO com o resultado de uma chave (ID ou CNPJ) da busca de lojas em lote
+ */
+public class ItemBuscaLojaDTO {
+    
+    /**
+     * Situação da chave após a busca
+     */
+    public enum Status {
+        ENCONTRADA,
+        NAO_ENCONTRADA
+    }
+    
+    private String chave;
+    
+    private Status status;
+    
+    private LojaDTO loja;
+    
+    // Construtores
+    public ItemBuscaLojaDTO() {
+    }
+    
+    public ItemBuscaLojaDTO(String chave, Status status, LojaDTO loja) {
+        this.chave = chave;
+        this.status = status;
+        this.loja = loja;
+    }
+    
+    public static ItemBuscaLojaDTO encontrada(String chave, LojaDTO loja) {
+        return new ItemBuscaLojaDTO(chave, Status.ENCONTRADA, loja);
+    }
+    
+    public static ItemBuscaLojaDTO naoEncontrada(String chave) {
+        return new ItemBuscaLojaDTO(chave, Status.NAO_ENCONTRADA, null);
+    }
+    
+    // Getters e Setters
+    public String getChave() {
+        return chave;
+    }
+
+    public void setChave(String chave) {
+        this.chave = chave;
+    }
+
+    public Status getStatus() {
+        return status;
+    }
+
+    public void setStatus(Status status) {
+        this.status = status;
+    }
+
+    public LojaDTO getLoja() {
+        return loja;
+    }
+
+    public void setLoja(LojaDTO loja) {
+        this.loja = loja;
+    }
+}
@@ -0,0 +1,88 @@
+package br.com.rockambole.clausonus.loja.dto;
+
+import java.util.List;
+
+/**
+ * DTO com o resultado de uma linha da importação de lojas em lote
+ */
+public class ItemLoteDTO {
+    
+    /**
+     * Situação da linha após a importação
+     */
+    public enum Status {
+        CRIADA,
+        REJEITADA
+    }
+    
+    private int indice;
+    
+    private Status status;
+    
+    private Long id;
+    
+    private String cnpj;
+    
+    private List<String> erros;
+    
+    // Construtores
+    public ItemLoteDTO() {
+    }
+    
+    public ItemLoteDTO(int indice, Status status, Long id, String cnpj, List<String> erros) {
+        this.indice = indice;
+        this.status = status;
+        this.id = id;
+        this.cnpj = cnpj;
+        this.erros = erros;
+    }
+    
+    public static ItemLoteDTO criada(int indice, LojaDTO loja) {
+        return new ItemLoteDTO(indice, Status.CRIADA, loja.getId(), loja.getCnpj(), List.of());
+    }
+    
+    public static ItemLoteDTO rejeitada(int indice, String cnpj, List<String> erros) {
+        return new ItemLoteDTO(indice, Status.REJEITADA, null, cnpj, erros);
+    }
+    
+    // Getters e Setters
+    public int getIndice() {
+        return indice;
+    }
+
+    public void setIndice(int indice) {
+        this.indice = indice;
+    }
+
+    public Status getStatus() {
+        return status;
+    }
+
+    public void setStatus(Status status) {
+        this.status = status;
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public String getCnpj() {
+        return cnpj;
+    }
+
+    public void setCnpj(String cnpj) {
+        this.cnpj = cnpj;
+    }
+
+    public List<String> getErros() {
+        return erros;
+    }
+
+    public void setErros(List<String> erros) {
+        this.erros = erros;
+    }
+}
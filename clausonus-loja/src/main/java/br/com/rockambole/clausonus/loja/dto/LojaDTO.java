@@ -22,6 +22,8 @@ public class LojaDTO {
     @Size(max = 20, message = "O telefone deve ter no máximo 20 caracteres")
     private String telefone;
     
+    private Long versao;
+    
     // Construtores
     public LojaDTO() {
     }
@@ -34,6 +36,11 @@ public class LojaDTO {
         this.telefone = telefone;
     }
     
+    public LojaDTO(Long id, String nome, String endereco, String cnpj, String telefone, Long versao) {
+        this(id, nome, endereco, cnpj, telefone);
+        this.versao = versao;
+    }
+    
     // Getters e Setters
     public Long getId() {
         return id;
@@ -75,6 +82,14 @@ public class LojaDTO {
         this.telefone = telefone;
     }
     
+    public Long getVersao() {
+        return versao;
+    }
+
+    public void setVersao(Long versao) {
+        this.versao = versao;
+    }
+
     @Override
     public String toString() {
         return "LojaDTO{" +
@@ -83,6 +98,7 @@ public class LojaDTO {
                 ", endereco='" + endereco + '\'' +
                 ", cnpj='" + cnpj + '\'' +
                 ", telefone='" + telefone + '\'' +
+                ", versao=" + versao +
                 '}';
     }
 }
\ No newline at end of file
@@ -0,0 +1,37 @@
+package br.com.rockambole.clausonus.loja.dto;
+
+/**
+ * DTO com os dados mínimos de uma loja para sugestões de autocompletar
+ */
+public class LojaSugestaoDTO {
+    
+    private Long id;
+    
+    private String nome;
+    
+    // Construtores
+    public LojaSugestaoDTO() {
+    }
+    
+    public LojaSugestaoDTO(Long id, String nome) {
+        this.id = id;
+        this.nome = nome;
+    }
+    
+    // Getters e Setters
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public String getNome() {
+        return nome;
+    }
+
+    public void setNome(String nome) {
+        this.nome = nome;
+    }
+}
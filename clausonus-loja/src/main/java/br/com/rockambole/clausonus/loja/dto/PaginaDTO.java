@@ -0,0 +1,52 @@
+package br.com.rockambole.clausonus.loja.dto;
+
+import java.util.List;
+
+/**
+ * DTO para respostas paginadas por cursor (keyset)
+ *
+ * @param <T> Tipo dos itens da página
+ */
+public class PaginaDTO<T> {
+
+    private List<T> itens;
+
+    private int limite;
+
+    private String proximoCursor;
+
+    // Construtores
+    public PaginaDTO() {
+    }
+
+    public PaginaDTO(List<T> itens, int limite, String proximoCursor) {
+        this.itens = itens;
+        this.limite = limite;
+        this.proximoCursor = proximoCursor;
+    }
+
+    // Getters e Setters
+    public List<T> getItens() {
+        return itens;
+    }
+
+    public void setItens(List<T> itens) {
+        this.itens = itens;
+    }
+
+    public int getLimite() {
+        return limite;
+    }
+
+    public void setLimite(int limite) {
+        this.limite = limite;
+    }
+
+    public String getProximoCursor() {
+        return proximoCursor;
+    }
+
+    public void setProximoCursor(String proximoCursor) {
+        this.proximoCursor = proximoCursor;
+    }
+}
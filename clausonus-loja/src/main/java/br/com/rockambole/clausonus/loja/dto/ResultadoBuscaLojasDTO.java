@@ -0,0 +1,71 @@
+package br.com.rockambole.clausonus.loja.dto;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * DTO com o resultado da busca de lojas em lote, um item por chave informada e na
+ * mesma ordem da requisição
+ */
+public class ResultadoBuscaLojasDTO {
+    
+    private int total;
+    
+    private int encontradas;
+    
+    private int naoEncontradas;
+    
+    private List<ItemBuscaLojaDTO> itens = new ArrayList<>();
+    
+    // Construtores
+    public ResultadoBuscaLojasDTO() {
+    }
+    
+    /**
+     * Registra o resultado de uma chave e atualiza os totais
+     * 
+     * @param item Resultado da chave
+     */
+    public void adicionar(ItemBuscaLojaDTO item) {
+        itens.add(item);
+        total++;
+        if (item.getStatus() == ItemBuscaLojaDTO.Status.ENCONTRADA) {
+            encontradas++;
+        } else {
+            naoEncontradas++;
+        }
+    }
+    
+    // Getters e Setters
+    public int getTotal() {
+        return total;
+    }
+
+    public void setTotal(int total) {
+        this.total = total;
+    }
+
+    public int getEncontradas() {
+        return encontradas;
+    }
+
+    public void setEncontradas(int encontradas) {
+        this.encontradas = encontradas;
+    }
+
+    public int getNaoEncontradas() {
+        return naoEncontradas;
+    }
+
+    public void setNaoEncontradas(int naoEncontradas) {
+        this.naoEncontradas = naoEncontradas;
+    }
+
+    public List<ItemBuscaLojaDTO> getItens() {
+        return itens;
+    }
+
+    public void setItens(List<ItemBuscaLojaDTO> itens) {
+        this.itens = itens;
+    }
+}
@@ -0,0 +1,70 @@
+package br.com.rockambole.clausonus.loja.dto;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * DTO com o resultado da importação de lojas em lote, linha a linha
+ */
+public class ResultadoLoteDTO {
+    
+    private int total;
+    
+    private int criadas;
+    
+    private int rejeitadas;
+    
+    private List<ItemLoteDTO> itens = new ArrayList<>();
+    
+    // Construtores
+    public ResultadoLoteDTO() {
+    }
+    
+    /**
+     * Registra o resultado de uma linha e atualiza os totais
+     * 
+     * @param item Resultado da linha
+     */
+    public void adicionar(ItemLoteDTO item) {
+        itens.add(item);
+        total++;
+        if (item.getStatus() == ItemLoteDTO.Status.CRIADA) {
+            criadas++;
+        } else {
+            rejeitadas++;
+        }
+    }
+    
+    // Getters e Setters
+    public int getTotal() {
+        return total;
+    }
+
+    public void setTotal(int total) {
+        this.total = total;
+    }
+
+    public int getCriadas() {
+        return criadas;
+    }
+
+    public void setCriadas(int criadas) {
+        this.criadas = criadas;
+    }
+
+    public int getRejeitadas() {
+        return rejeitadas;
+    }
+
+    public void setRejeitadas(int rejeitadas) {
+        this.rejeitadas = rejeitadas;
+    }
+
+    public List<ItemLoteDTO> getItens() {
+        return itens;
+    }
+
+    public void setItens(List<ItemLoteDTO> itens) {
+        this.itens = itens;
+    }
+}
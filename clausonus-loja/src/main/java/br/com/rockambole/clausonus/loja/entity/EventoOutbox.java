@@ -0,0 +1,121 @@
+package br.com.rockambole.clausonus.loja.entity;
+
+import io.quarkus.hibernate.orm.panache.PanacheEntityBase;
+
+import org.hibernate.LockOptions;
+import org.hibernate.annotations.GenericGenerator;
+import org.hibernate.annotations.Parameter;
+import org.hibernate.id.enhanced.SequenceStyleGenerator;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.Table;
+
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Evento de alteração de loja aguardando publicação (padrão transactional outbox).
+ * É gravado na mesma transação da alteração e excluído pelo relay após ser publicado.
+ */
+@Entity
+@Table(name = "loja_outbox")
+public class EventoOutbox extends PanacheEntityBase {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "loja_outbox_seq")
+    @GenericGenerator(name = "loja_outbox_seq", type = SequenceStyleGenerator.class, parameters = {
+            @Parameter(name = SequenceStyleGenerator.SEQUENCE_PARAM, value = "loja_outbox_seq"),
+            @Parameter(name = SequenceStyleGenerator.INCREMENT_PARAM, value = "50"),
+            @Parameter(name = SequenceStyleGenerator.OPT_PARAM, value = "pooled-lo")
+    })
+    @Column(name = "id_evento")
+    public Long id;
+
+    @Column(name = "tipo", length = 20, nullable = false)
+    private String tipo;
+
+    @Column(name = "id_loja", nullable = false)
+    private Long idLoja;
+
+    // Estado da loja após a alteração em JSON, ou null em exclusões
+    @Column(name = "payload", length = 4000)
+    private String payload;
+
+    @Column(name = "criado_em", nullable = false)
+    private Instant criadoEm;
+
+    // Construtores
+    public EventoOutbox() {
+    }
+
+    public EventoOutbox(String tipo, Long idLoja, String payload, Instant criadoEm) {
+        this.tipo = tipo;
+        this.idLoja = idLoja;
+        this.payload = payload;
+        this.criadoEm = criadoEm;
+    }
+
+    /**
+     * Bloqueia os eventos pendentes mais antigos para publicação. Usa SELECT ... FOR UPDATE
+     * SKIP LOCKED onde o banco suporta, de forma que várias instâncias do serviço possam
+     * publicar em paralelo sem disputar as mesmas linhas. Deve ser usado dentro de uma transação.
+     *
+     * @param limite Quantidade máxima de eventos
+     * @return Eventos em ordem de criação
+     */
+    public static List<EventoOutbox> bloquearPendentes(int limite) {
+        return getEntityManager()
+                .createQuery("from EventoOutbox order by id", EventoOutbox.class)
+                .setLockMode(LockModeType.PESSIMISTIC_WRITE)
+                .setHint("jakarta.persistence.lock.timeout", LockOptions.SKIP_LOCKED)
+                .setMaxResults(limite)
+                .getResultList();
+    }
+
+    /**
+     * Exclui os eventos já publicados com um único DELETE
+     *
+     * @param ids IDs dos eventos
+     * @return Quantidade de eventos excluídos
+     */
+    public static long excluirPorIds(Collection<Long> ids) {
+        if (ids.isEmpty()) {
+            return 0;
+        }
+        return delete("id in ?1", ids);
+    }
+
+    /**
+     * Resume a fila de eventos pendentes em uma única consulta
+     *
+     * @return [quantidade de eventos pendentes, criadoEm do evento mais antigo ou null]
+     */
+    public static Object[] resumirPendentes() {
+        return getEntityManager()
+                .createQuery("select count(e), min(e.criadoEm) from EventoOutbox e", Object[].class)
+                .getSingleResult();
+    }
+
+    // Getters
+    public String getTipo() {
+        return tipo;
+    }
+
+    public Long getIdLoja() {
+        return idLoja;
+    }
+
+    public String getPayload() {
+        return payload;
+    }
+
+    public Instant getCriadoEm() {
+        return criadoEm;
+    }
+}
@@ -1,24 +1,67 @@
 package br.com.rockambole.clausonus.loja.entity;
 
 import io.quarkus.hibernate.orm.panache.PanacheEntityBase;
+
+import org.hibernate.FlushMode;
+import org.hibernate.ScrollMode;
+import org.hibernate.ScrollableResults;
+import org.hibernate.Session;
+import org.hibernate.annotations.DynamicUpdate;
+import org.hibernate.annotations.GenericGenerator;
+import org.hibernate.annotations.Parameter;
+import org.hibernate.id.enhanced.SequenceStyleGenerator;
+import org.hibernate.jpa.HibernateHints;
+
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.LockModeType;
 import jakarta.persistence.Table;
+import jakarta.persistence.TypedQuery;
+import jakarta.persistence.UniqueConstraint;
+import jakarta.persistence.Version;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.Size;
 
+import java.time.Instant;
+import java.util.Collection;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Collectors;
 
+import br.com.rockambole.clausonus.loja.dto.LojaDTO;
+import br.com.rockambole.clausonus.loja.dto.LojaSugestaoDTO;
+import br.com.rockambole.clausonus.loja.util.CnpjUtil;
+
+/**
+ * Entidade Loja implementada com Panache.
+ * Fica fora do cache de segundo nível: o cache é local a cada instância e só expira entradas
+ * ociosas, e as gravações precisam comparar a versão gravada no banco, não uma cópia antiga
+ * mantida em outra instância. As leituras por ID e por CNPJ passam pelo {@code LojaCache}.
+ */
 @Entity
-@Table(name = "loja")
+@DynamicUpdate
+@Table(name = "loja", uniqueConstraints = {
+        @UniqueConstraint(name = "uk_loja_cnpj_numerico", columnNames = "cnpj_numerico")
+}, indexes = {
+        @Index(name = "idx_loja_seq_alteracao", columnList = "seq_alteracao, id_loja")
+})
 public class Loja extends PanacheEntityBase {
 
+    // Sequência com otimizador pooled-lo: reserva 50 IDs por ida ao banco e permite
+    // que o Hibernate agrupe os INSERTs em lotes JDBC (IDENTITY desabilita o batching)
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "loja_seq")
+    @GenericGenerator(name = "loja_seq", type = SequenceStyleGenerator.class, parameters = {
+            @Parameter(name = SequenceStyleGenerator.SEQUENCE_PARAM, value = "loja_seq"),
+            @Parameter(name = SequenceStyleGenerator.INCREMENT_PARAM, value = "50"),
+            @Parameter(name = SequenceStyleGenerator.OPT_PARAM, value = "pooled-lo")
+    })
     @Column(name = "id_loja")  // Nome da coluna no banco de dados
     public Long id;           // Nome do campo na classe Java
 
@@ -34,13 +77,35 @@ public class Loja extends PanacheEntityBase {
     
     @NotBlank(message = "O CNPJ é obrigatório")
     @Size(min = 14, max = 18, message = "CNPJ inválido")
-    @Column(name = "cnpj", length = 18, nullable = false, unique = true)
+    @Column(name = "cnpj", length = 18, nullable = false)
     private String cnpj;
     
+    // Chave canônica do CNPJ (somente dígitos, como número): usada nas consultas e na unicidade
+    @Column(name = "cnpj_numerico", nullable = false)
+    private Long cnpjNumerico;
+    
     @Size(max = 20, message = "O telefone deve ter no máximo 20 caracteres")
     @Column(name = "telefone", length = 20)
     private String telefone;
     
+    // Incrementada pelo Hibernate a cada alteração; base do ETag da loja
+    @Version
+    @Column(name = "versao", nullable = false)
+    private Long versao;
+    
+    // Número da última alteração (sequência loja_alteracao_seq), base do feed de alterações
+    @Column(name = "seq_alteracao", nullable = false)
+    private long seqAlteracao;
+    
+    // Instante em que o número da última alteração foi obtido (horizonte de visibilidade do feed)
+    @Column(name = "alterada_em", nullable = false)
+    private Instant alteradaEm;
+    
+    // Projeção das consultas de leitura: monta o LojaDTO direto do resultado, sem entidade gerenciada
+    // (visível no pacote para o benchmark de leitura, que a executa fora do Quarkus)
+    static final String PROJECAO_DTO = "select new br.com.rockambole.clausonus.loja.dto.LojaDTO("
+            + "l.id, l.nome, l.endereco, l.cnpj, l.telefone, l.versao) from Loja l ";
+    
     // Construtores
     public Loja() {
     }
@@ -48,7 +113,7 @@ public class Loja extends PanacheEntityBase {
     public Loja(String nome, String endereco, String cnpj, String telefone) {
         this.nome = nome;
         this.endereco = endereco;
-        this.cnpj = cnpj;
+        setCnpj(cnpj);
         this.telefone = telefone;
     }
     
@@ -57,16 +122,293 @@ public class Loja extends PanacheEntityBase {
         return listAll();
     }
     
+    /**
+     * Lista uma página de lojas ordenada por ID usando paginação por chave (keyset), de forma
+     * que páginas profundas custem o mesmo que a primeira. A página é projetada direto em
+     * LojaDTO: nenhuma entidade entra no contexto de persistência e a consulta não dispara flush
+     *
+     * @param aposId ID da última loja da página anterior, ou null para a primeira página
+     * @param limite Quantidade máxima de lojas retornadas
+     */
+    public static List<LojaDTO> listarPaginaDto(Long aposId, int limite) {
+        TypedQuery<LojaDTO> consulta = aposId == null
+                ? consultaLeitura(PROJECAO_DTO + "order by l.id")
+                : consultaLeitura(PROJECAO_DTO + "where l.id > :aposId order by l.id").setParameter("aposId", aposId);
+        return consulta.setMaxResults(limite).getResultList();
+    }
+    
+    /**
+     * Lista todas as lojas projetadas em LojaDTO, ordenadas por ID
+     */
+    public static List<LojaDTO> listarTodasDto() {
+        return consultaLeitura(PROJECAO_DTO + "order by l.id").getResultList();
+    }
+    
+    /**
+     * Lista apenas ID e versão das lojas de uma página, na mesma ordem de
+     * {@link #listarPaginaDto(Long, int)}, para o cálculo do ETag sem carregar as entidades
+     *
+     * @param aposId ID da última loja da página anterior, ou null para a primeira página
+     * @param limite Quantidade máxima de lojas retornadas
+     * @return Pares [id, versao]
+     */
+    public static List<long[]> listarVersoesPagina(Long aposId, int limite) {
+        TypedQuery<Object[]> consulta = aposId == null
+                ? getEntityManager().createQuery("select l.id, l.versao from Loja l order by l.id", Object[].class)
+                : getEntityManager().createQuery("select l.id, l.versao from Loja l where l.id > :aposId order by l.id",
+                        Object[].class).setParameter("aposId", aposId);
+        return consulta.setMaxResults(limite)
+                .getResultStream()
+                .map(linha -> new long[] { (Long) linha[0], (Long) linha[1] })
+                .collect(Collectors.toList());
+    }
+    
+    /**
+     * Lista as lojas alteradas depois de uma posição do feed, na ordem (seqAlteracao, id).
+     * A comparação de tuplas permite que o índice idx_loja_seq_alteracao comece a leitura
+     * na posição, de forma que o custo depende das alterações e não do tamanho do cadastro.
+     *
+     * @param aposSeq Número de alteração da posição
+     * @param aposId ID da loja da posição
+     * @param limite Quantidade máxima de lojas retornadas
+     */
+    public static List<Loja> listarAlteradas(long aposSeq, long aposId, int limite) {
+        return getEntityManager()
+                .createQuery("from Loja l where (l.seqAlteracao, l.id) > (:seq, :id) "
+                        + "order by l.seqAlteracao, l.id", Loja.class)
+                .setHint(HibernateHints.HINT_READ_ONLY, true)
+                .setHint(HibernateHints.HINT_FLUSH_MODE, FlushMode.MANUAL)
+                .setParameter("seq", aposSeq)
+                .setParameter("id", aposId)
+                .setMaxResults(limite)
+                .getResultList();
+    }
+    
+    /**
+     * Lista as lojas com os IDs informados, projetadas em LojaDTO, em uma única consulta
+     *
+     * @param ids IDs das lojas
+     * @return Lojas encontradas, em ordem de ID (IDs inexistentes não aparecem)
+     */
+    public static List<LojaDTO> listarDtosPorIds(Collection<Long> ids) {
+        if (ids.isEmpty()) {
+            return List.of();
+        }
+        
+        return consultaLeitura(PROJECAO_DTO + "where l.id in :ids order by l.id")
+                .setParameter("ids", ids)
+                .getResultList();
+    }
+    
+    /**
+     * Lista as lojas com as chaves numéricas de CNPJ informadas, projetadas em LojaDTO, em uma
+     * única consulta sobre o índice uk_loja_cnpj_numerico
+     *
+     * @param cnpjsNumericos CNPJs convertidos por {@link CnpjUtil#paraNumero(String)}
+     * @return Lojas encontradas, em ordem de ID (CNPJs não cadastrados não aparecem)
+     */
+    public static List<LojaDTO> listarDtosPorCnpjs(Collection<Long> cnpjsNumericos) {
+        if (cnpjsNumericos.isEmpty()) {
+            return List.of();
+        }
+        
+        return consultaLeitura(PROJECAO_DTO + "where l.cnpjNumerico in :cnpjs order by l.id")
+                .setParameter("cnpjs", cnpjsNumericos)
+                .getResultList();
+    }
+    
+    /**
+     * Lista, entre os IDs informados, os que pertencem a lojas cadastradas, bloqueando as
+     * linhas até o fim da transação: uma exclusão concorrente das mesmas lojas espera o commit
+     * desta e não as encontra mais
+     *
+     * @param ids IDs das lojas
+     * @return IDs existentes
+     */
+    public static List<Long> listarIdsExistentes(Collection<Long> ids) {
+        if (ids.isEmpty()) {
+            return List.of();
+        }
+        
+        return getEntityManager()
+                .createQuery("select l.id from Loja l where l.id in :ids order by l.id", Long.class)
+                .setParameter("ids", ids)
+                .setLockMode(LockModeType.PESSIMISTIC_WRITE)
+                .getResultList();
+    }
+    
+    /**
+     * Abre um cursor no servidor sobre todas as lojas projetadas em LojaDTO, ordenadas por ID.
+     * Como nenhuma entidade é carregada, não há nada a desanexar durante a leitura. Deve ser
+     * usado dentro de uma transação e fechado pelo chamador.
+     *
+     * @param tamanhoLote Quantidade de linhas buscadas do banco por ida e volta
+     */
+    public static ScrollableResults<LojaDTO> rolarTodasDto(int tamanhoLote) {
+        return getEntityManager().unwrap(Session.class)
+                .createQuery(PROJECAO_DTO + "order by l.id", LojaDTO.class)
+                .setHibernateFlushMode(FlushMode.MANUAL)
+                .setFetchSize(tamanhoLote)
+                .scroll(ScrollMode.FORWARD_ONLY);
+    }
+    
+    /**
+     * Lista apenas ID e nome de todas as lojas, sem carregar as entidades,
+     * para a montagem do índice de autocompletar
+     */
+    public static List<LojaSugestaoDTO> listarSugestoes() {
+        return getEntityManager()
+                .createQuery("select new br.com.rockambole.clausonus.loja.dto.LojaSugestaoDTO(l.id, l.nome) "
+                        + "from Loja l order by l.id", LojaSugestaoDTO.class)
+                .getResultList();
+    }
+    
     public static Optional<Loja> buscarPorId(Long id) {
         return findByIdOptional(id);
     }
     
-    public static Optional<Loja> buscarPorCnpj(String cnpj) {
-        return find("cnpj", cnpj).firstResultOptional();
+    /**
+     * Busca uma loja pelo ID projetada em LojaDTO, sem carregar a entidade
+     *
+     * @param id ID da loja
+     */
+    public static Optional<LojaDTO> buscarDtoPorId(Long id) {
+        return consultaLeitura(PROJECAO_DTO + "where l.id = :id")
+                .setParameter("id", id)
+                .getResultStream()
+                .findFirst();
     }
     
-    public static List<Loja> buscarPorNome(String nome) {
-        return list("nome LIKE ?1", "%" + nome + "%");
+    /**
+     * Busca uma loja pela chave numérica do CNPJ projetada em LojaDTO, sem carregar a entidade
+     *
+     * @param cnpjNumerico CNPJ convertido por {@link CnpjUtil#paraNumero(String)}
+     */
+    public static Optional<LojaDTO> buscarDtoPorCnpj(Long cnpjNumerico) {
+        return consultaLeitura(PROJECAO_DTO + "where l.cnpjNumerico = :cnpj")
+                .setParameter("cnpj", cnpjNumerico)
+                .getResultStream()
+                .findFirst();
+    }
+    
+    /**
+     * Atualiza todos os campos de uma loja com um único UPDATE versionado, sem carregá-la no
+     * contexto de persistência: a alteração só é aplicada se a versão no banco ainda for a
+     * esperada, e a versão é incrementada no mesmo comando
+     *
+     * @param id ID da loja
+     * @param versaoEsperada Versão lida pelo cliente
+     * @param dados Novos valores da loja, incluindo o número da alteração
+     * @return true se a loja existia na versão esperada e foi atualizada
+     */
+    public static boolean atualizarSeVersao(Long id, Long versaoEsperada, Loja dados) {
+        return update("nome = ?1, endereco = ?2, cnpj = ?3, cnpjNumerico = ?4, telefone = ?5, seqAlteracao = ?6, "
+                + "alteradaEm = ?7, versao = versao + 1 where id = ?8 and versao = ?9",
+                dados.nome, dados.endereco, dados.cnpj, dados.cnpjNumerico, dados.telefone, dados.seqAlteracao,
+                dados.alteradaEm, id, versaoEsperada) > 0;
+    }
+    
+    /**
+     * Exclui uma loja com um único DELETE, sem carregá-la no contexto de persistência
+     *
+     * @param id ID da loja
+     * @return true se a loja existia e foi excluída
+     */
+    public static boolean excluirPorId(Long id) {
+        return delete("id", id) > 0;
+    }
+    
+    /**
+     * Exclui várias lojas com um único DELETE ... WHERE id IN (...)
+     *
+     * @param ids IDs das lojas
+     * @return Quantidade de lojas excluídas
+     */
+    public static long excluirPorIds(Collection<Long> ids) {
+        if (ids.isEmpty()) {
+            return 0;
+        }
+        return delete("id in ?1", ids);
+    }
+    
+    /**
+     * Verifica em uma única consulta quais CNPJs já estão cadastrados
+     *
+     * @param cnpjsNumericos Chaves numéricas dos CNPJs a verificar
+     * @return Chaves numéricas já cadastradas
+     */
+    public static Set<Long> listarCnpjsCadastrados(Collection<Long> cnpjsNumericos) {
+        if (cnpjsNumericos.isEmpty()) {
+            return Set.of();
+        }
+        
+        return new HashSet<>(getEntityManager()
+                .createQuery("select l.cnpjNumerico from Loja l where l.cnpjNumerico in :cnpjs", Long.class)
+                .setParameter("cnpjs", cnpjsNumericos)
+                .getResultList());
+    }
+    
+    /**
+     * Busca lojas cujo nome contenha o termo, ordenadas por relevância (nomes que começam
+     * com o termo primeiro, depois os mais curtos) e limitadas aos primeiros resultados,
+     * projetadas em LojaDTO. Consulta portável usada nos perfis H2; em PostgreSQL prefira
+     * {@link #buscarDtosPorNomeTrigrama}.
+     *
+     * @param nome Termo a ser buscado
+     * @param limite Quantidade máxima de lojas retornadas
+     */
+    public static List<LojaDTO> buscarDtosPorNome(String nome, int limite) {
+        String termo = escaparLike(nome.toLowerCase());
+        return consultaLeitura(PROJECAO_DTO + "where lower(l.nome) like :contem escape '\\' "
+                + "order by case when lower(l.nome) like :inicio escape '\\' then 0 else 1 end, "
+                + "length(l.nome), l.id")
+                .setParameter("contem", "%" + termo + "%")
+                .setParameter("inicio", termo + "%")
+                .setMaxResults(limite)
+                .getResultList();
+    }
+    
+    /**
+     * Busca lojas por parte do nome usando o índice GIN pg_trgm (somente PostgreSQL),
+     * ordenadas pela similaridade com o termo e limitadas aos primeiros resultados, lendo
+     * apenas as colunas do LojaDTO
+     *
+     * @param nome Termo a ser buscado
+     * @param limite Quantidade máxima de lojas retornadas
+     */
+    @SuppressWarnings("unchecked")
+    public static List<LojaDTO> buscarDtosPorNomeTrigrama(String nome, int limite) {
+        List<Object[]> linhas = getEntityManager()
+                .createNativeQuery("SELECT id_loja, nome, endereco, cnpj, telefone, versao FROM loja "
+                        + "WHERE nome ILIKE :padrao OR nome % :termo "
+                        + "ORDER BY similarity(nome, :termo) DESC, id_loja "
+                        + "LIMIT :limite")
+                .setParameter("padrao", "%" + escaparLike(nome) + "%")
+                .setParameter("termo", nome)
+                .setParameter("limite", limite)
+                .setHint(HibernateHints.HINT_FLUSH_MODE, FlushMode.MANUAL)
+                .getResultList();
+        return linhas.stream()
+                .map(linha -> new LojaDTO(((Number) linha[0]).longValue(), (String) linha[1], (String) linha[2],
+                        (String) linha[3], (String) linha[4], ((Number) linha[5]).longValue()))
+                .collect(Collectors.toList());
+    }
+    
+    /**
+     * Cria uma consulta de leitura projetada em LojaDTO que não dispara o flush automático
+     * do contexto de persistência (não há verificação de entidades sujas antes da consulta).
+     * A sessão não é colocada em modo somente leitura (Session#setDefaultReadOnly): o modo só
+     * afeta entidades gerenciadas, e a projeção não carrega nenhuma. A única leitura que ainda
+     * carrega entidades, {@link #listarAlteradas(long, long, int)}, usa a dica equivalente por
+     * consulta (HINT_READ_ONLY).
+     */
+    private static TypedQuery<LojaDTO> consultaLeitura(String jpql) {
+        return getEntityManager().createQuery(jpql, LojaDTO.class)
+                .setHint(HibernateHints.HINT_FLUSH_MODE, FlushMode.MANUAL);
+    }
+    
+    private static String escaparLike(String termo) {
+        return termo.replace("\\", "\\\\").replace("%", "\\%").replace("_", "\\_");
     }
     
     // Getters e Setters
@@ -90,8 +432,35 @@ public class Loja extends PanacheEntityBase {
         return cnpj;
     }
 
+    /**
+     * Define o CNPJ normalizado (somente dígitos) e sua chave numérica
+     * 
+     * @throws IllegalArgumentException se o CNPJ não tiver 14 dígitos
+     */
     public void setCnpj(String cnpj) {
-        this.cnpj = cnpj;
+        this.cnpjNumerico = CnpjUtil.paraNumero(cnpj);
+        this.cnpj = CnpjUtil.deNumero(cnpjNumerico);
+    }
+
+    public Long getCnpjNumerico() {
+        return cnpjNumerico;
+    }
+
+    public Long getVersao() {
+        return versao;
+    }
+
+    public long getSeqAlteracao() {
+        return seqAlteracao;
+    }
+
+    public Instant getAlteradaEm() {
+        return alteradaEm;
+    }
+
+    public void registrarAlteracao(NumeroAlteracao alteracao) {
+        this.seqAlteracao = alteracao.getSeq();
+        this.alteradaEm = alteracao.getObtidoEm();
     }
 
     public String getTelefone() {
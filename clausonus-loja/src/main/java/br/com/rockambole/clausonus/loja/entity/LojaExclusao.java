@@ -0,0 +1,70 @@
+package br.com.rockambole.clausonus.loja.entity;
+
+import io.quarkus.hibernate.orm.panache.PanacheEntityBase;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
+
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * Registro de exclusão de loja (tombstone), para que o feed de alterações informe as lojas
+ * removidas a quem sincroniza o cadastro de forma incremental
+ */
+@Entity
+@Table(name = "loja_exclusao", indexes = {
+        @Index(name = "idx_loja_exclusao_seq_alteracao", columnList = "seq_alteracao, id_loja")
+})
+public class LojaExclusao extends PanacheEntityBase {
+
+    @Id
+    @Column(name = "id_loja")
+    public Long idLoja;
+
+    @Column(name = "seq_alteracao", nullable = false)
+    private Long seqAlteracao;
+
+    // Instante em que o número da alteração foi obtido (horizonte de visibilidade do feed)
+    @Column(name = "excluida_em", nullable = false)
+    private Instant excluidaEm;
+
+    // Construtores
+    public LojaExclusao() {
+    }
+
+    public LojaExclusao(Long idLoja, NumeroAlteracao alteracao) {
+        this.idLoja = idLoja;
+        this.seqAlteracao = alteracao.getSeq();
+        this.excluidaEm = alteracao.getObtidoEm();
+    }
+
+    /**
+     * Lista as exclusões posteriores a uma posição do feed, na ordem (seqAlteracao, idLoja)
+     *
+     * @param aposSeq Número de alteração da posição
+     * @param aposId ID da loja da posição
+     * @param limite Quantidade máxima de exclusões retornadas
+     */
+    public static List<LojaExclusao> listarApos(long aposSeq, long aposId, int limite) {
+        return getEntityManager()
+                .createQuery("from LojaExclusao e where (e.seqAlteracao, e.idLoja) > (:seq, :id) "
+                        + "order by e.seqAlteracao, e.idLoja", LojaExclusao.class)
+                .setParameter("seq", aposSeq)
+                .setParameter("id", aposId)
+                .setMaxResults(limite)
+                .getResultList();
+    }
+
+    // Getters
+    public Long getSeqAlteracao() {
+        return seqAlteracao;
+    }
+
+    public Instant getExcluidaEm() {
+        return excluidaEm;
+    }
+}
@@ -0,0 +1,26 @@
+package br.com.rockambole.clausonus.loja.entity;
+
+import java.time.Instant;
+
+/**
+ * Número de uma alteração de loja no feed de alterações, com o instante em que foi obtido.
+ * O instante é gravado junto com o número e define o horizonte de visibilidade do feed.
+ */
+public final class NumeroAlteracao {
+
+    private final long seq;
+    private final Instant obtidoEm;
+
+    public NumeroAlteracao(long seq, Instant obtidoEm) {
+        this.seq = seq;
+        this.obtidoEm = obtidoEm;
+    }
+
+    public long getSeq() {
+        return seq;
+    }
+
+    public Instant getObtidoEm() {
+        return obtidoEm;
+    }
+}
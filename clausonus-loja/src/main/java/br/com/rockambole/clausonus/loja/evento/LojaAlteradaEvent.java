@@ -0,0 +1,75 @@
+package br.com.rockambole.clausonus.loja.evento;
+
+import br.com.rockambole.clausonus.loja.dto.LojaDTO;
+
+/**
+ * Evento CDI disparado pelo LojaService sempre que uma loja é criada, atualizada ou excluída.
+ * Observadores que precisam enxergar apenas dados confirmados devem usar
+ * {@code @Observes(during = TransactionPhase.AFTER_SUCCESS)}.
+ */
+public class LojaAlteradaEvent {
+
+    /**
+     * Tipo de alteração sofrida pela loja
+     */
+    public enum Tipo {
+        CRIACAO,
+        ATUALIZACAO,
+        EXCLUSAO
+    }
+
+    private final Tipo tipo;
+    private final Long idLoja;
+    private final LojaDTO loja;
+    private final String cnpjAnterior;
+
+    public LojaAlteradaEvent(Tipo tipo, Long idLoja, LojaDTO loja, String cnpjAnterior) {
+        this.tipo = tipo;
+        this.idLoja = idLoja;
+        this.loja = loja;
+        this.cnpjAnterior = cnpjAnterior;
+    }
+
+    public static LojaAlteradaEvent criacao(LojaDTO loja) {
+        return new LojaAlteradaEvent(Tipo.CRIACAO, loja.getId(), loja, null);
+    }
+
+    /**
+     * @param cnpjAnterior CNPJ da loja antes da alteração, ou null quando a atualização foi
+     *        feita diretamente no banco sem carregar a loja
+     */
+    public static LojaAlteradaEvent atualizacao(LojaDTO loja, String cnpjAnterior) {
+        return new LojaAlteradaEvent(Tipo.ATUALIZACAO, loja.getId(), loja, cnpjAnterior);
+    }
+
+    /**
+     * @param cnpjAnterior CNPJ da loja excluída, ou null quando a exclusão foi feita
+     *        diretamente no banco sem carregar a loja
+     */
+    public static LojaAlteradaEvent exclusao(Long idLoja, String cnpjAnterior) {
+        return new LojaAlteradaEvent(Tipo.EXCLUSAO, idLoja, null, cnpjAnterior);
+    }
+
+    public Tipo getTipo() {
+        return tipo;
+    }
+
+    public Long getIdLoja() {
+        return idLoja;
+    }
+
+    /**
+     * @return Estado da loja após a alteração, ou null em exclusões
+     */
+    public LojaDTO getLoja() {
+        return loja;
+    }
+
+    /**
+     * @return CNPJ que a loja possuía antes da alteração, ou null em criações e em
+     *         alterações feitas diretamente no banco
+     */
+    public String getCnpjAnterior() {
+        return cnpjAnterior;
+    }
+}
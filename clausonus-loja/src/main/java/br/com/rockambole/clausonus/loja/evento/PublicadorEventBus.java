@@ -0,0 +1,50 @@
+package br.com.rockambole.clausonus.loja.evento;
+
+import java.util.List;
+
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import br.com.rockambole.clausonus.loja.dto.EventoLojaDTO;
+import io.quarkus.arc.DefaultBean;
+import io.vertx.core.eventbus.DeliveryOptions;
+import io.vertx.mutiny.core.eventbus.EventBus;
+
+/**
+ * Publicador padrão: envia cada evento em JSON ao event bus do Vert.x, no endereço
+ * clausonus.loja.outbox.endereco, com o tipo do evento no cabeçalho "tipo". Serve como
+ * barramento local (consumidores com {@code @ConsumeEvent}) até a adoção de um broker.
+ */
+@DefaultBean
+@ApplicationScoped
+public class PublicadorEventBus implements PublicadorEventosLoja {
+
+    private final EventBus eventBus;
+    private final ObjectMapper objectMapper;
+    private final String endereco;
+
+    @Inject
+    public PublicadorEventBus(EventBus eventBus, ObjectMapper objectMapper,
+            @ConfigProperty(name = "clausonus.loja.outbox.endereco", defaultValue = "loja.alterada") String endereco) {
+        this.eventBus = eventBus;
+        this.objectMapper = objectMapper;
+        this.endereco = endereco;
+    }
+
+    @Override
+    public void publicar(List<EventoLojaDTO> eventos) {
+        for (EventoLojaDTO evento : eventos) {
+            try {
+                eventBus.publish(endereco, objectMapper.writeValueAsString(evento),
+                        new DeliveryOptions().addHeader("tipo", evento.getTipo()));
+            } catch (JsonProcessingException e) {
+                throw new IllegalStateException("Não foi possível serializar o evento " + evento.getId(), e);
+            }
+        }
+    }
+}
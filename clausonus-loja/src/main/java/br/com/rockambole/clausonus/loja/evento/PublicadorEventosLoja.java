@@ -0,0 +1,22 @@
+package br.com.rockambole.clausonus.loja.evento;
+
+import java.util.List;
+
+import br.com.rockambole.clausonus.loja.dto.EventoLojaDTO;
+
+/**
+ * Destino dos eventos de loja lidos do outbox pelo relay. A implementação padrão publica no
+ * event bus do Vert.x; um adaptador para um broker (ex.: Kafka) pode substituí-la declarando
+ * outro bean desta interface.
+ */
+public interface PublicadorEventosLoja {
+
+    /**
+     * Publica um lote de eventos, retornando somente depois que o destino os aceitou.
+     * O relay não envia o próximo lote antes do retorno, e uma exceção mantém o lote no
+     * outbox para uma nova tentativa.
+     *
+     * @param eventos Eventos em ordem de criação
+     */
+    void publicar(List<EventoLojaDTO> eventos);
+}
@@ -63,6 +63,14 @@ public class LojaExceptionHandler implements ExceptionMapper<Exception> {
                     .build();
         }
         
+        // Exceção de negócio lançada no commit (por uma sincronização da transação) chega
+        // encapsulada na exceção do gerenciador de transações
+        for (Throwable causa = exception.getCause(); causa != null; causa = causa.getCause()) {
+            if (causa instanceof BusinessException) {
+                return new BusinessExceptionHandler().toResponse((BusinessException) causa);
+            }
+        }
+        
         // Para exceções não mapeadas
         return Response.status(Response.Status.INTERNAL_SERVER_ERROR)
                 .entity(new ErrorMessage(
@@ -0,0 +1,101 @@
+package br.com.rockambole.clausonus.loja.repository;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+
+import br.com.rockambole.clausonus.loja.dto.LojaDTO;
+import io.quarkus.arc.properties.IfBuildProperty;
+import io.smallrye.mutiny.Uni;
+import io.vertx.mutiny.pgclient.PgPool;
+import io.vertx.mutiny.sqlclient.Row;
+import io.vertx.mutiny.sqlclient.RowSet;
+import io.vertx.mutiny.sqlclient.Tuple;
+
+/**
+ * Repositório de consultas de loja não bloqueantes, usando o cliente reativo do PostgreSQL.
+ * Disponível apenas quando clausonus.loja.reativo.habilitado=true no build.
+ */
+@ApplicationScoped
+@IfBuildProperty(name = "clausonus.loja.reativo.habilitado", stringValue = "true")
+public class LojaReativaRepository {
+
+    private static final String COLUNAS = "SELECT id_loja, nome, endereco, cnpj, telefone, versao FROM loja ";
+
+    private final PgPool client;
+
+    @Inject
+    public LojaReativaRepository(PgPool client) {
+        this.client = client;
+    }
+
+    /**
+     * Busca uma loja pelo seu ID
+     *
+     * @param id ID da loja
+     * @return Uni com a loja, ou com null se não encontrada
+     */
+    public Uni<LojaDTO> buscarPorId(Long id) {
+        return client.preparedQuery(COLUNAS + "WHERE id_loja = $1")
+                .execute(Tuple.of(id))
+                .map(linhas -> linhas.size() == 0 ? null : toDto(linhas.iterator().next()));
+    }
+
+    /**
+     * Lista uma página de lojas ordenada por ID (paginação por chave)
+     *
+     * @param aposId ID da última loja da página anterior, ou null para a primeira página
+     * @param limite Quantidade máxima de lojas retornadas
+     * @return Uni com a lista de lojas
+     */
+    public Uni<List<LojaDTO>> listarPagina(Long aposId, int limite) {
+        Uni<RowSet<Row>> linhas = aposId == null
+                ? client.preparedQuery(COLUNAS + "ORDER BY id_loja LIMIT $1").execute(Tuple.of(limite))
+                : client.preparedQuery(COLUNAS + "WHERE id_loja > $1 ORDER BY id_loja LIMIT $2")
+                        .execute(Tuple.of(aposId, limite));
+
+        return linhas.map(resultado -> {
+            List<LojaDTO> lojas = new ArrayList<>(resultado.size());
+            for (Row linha : resultado) {
+                lojas.add(toDto(linha));
+            }
+            return lojas;
+        });
+    }
+
+    /**
+     * Lista apenas ID e versão das lojas de uma página, na mesma ordem de
+     * {@link #listarPagina(Long, int)}, para o cálculo do ETag sem ler as demais colunas
+     *
+     * @param aposId ID da última loja da página anterior, ou null para a primeira página
+     * @param limite Quantidade máxima de lojas retornadas
+     * @return Uni com os pares [id, versao]
+     */
+    public Uni<List<long[]>> listarVersoesPagina(Long aposId, int limite) {
+        Uni<RowSet<Row>> linhas = aposId == null
+                ? client.preparedQuery("SELECT id_loja, versao FROM loja ORDER BY id_loja LIMIT $1")
+                        .execute(Tuple.of(limite))
+                : client.preparedQuery("SELECT id_loja, versao FROM loja WHERE id_loja > $1 ORDER BY id_loja LIMIT $2")
+                        .execute(Tuple.of(aposId, limite));
+
+        return linhas.map(resultado -> {
+            List<long[]> versoes = new ArrayList<>(resultado.size());
+            for (Row linha : resultado) {
+                versoes.add(new long[] { linha.getLong("id_loja"), linha.getLong("versao") });
+            }
+            return versoes;
+        });
+    }
+
+    private LojaDTO toDto(Row linha) {
+        return new LojaDTO(
+                linha.getLong("id_loja"),
+                linha.getString("nome"),
+                linha.getString("endereco"),
+                linha.getString("cnpj"),
+                linha.getString("telefone"),
+                linha.getLong("versao"));
+    }
+}
@@ -1,14 +1,19 @@
 package br.com.rockambole.clausonus.loja.repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 
 import br.com.rockambole.clausonus.loja.entity.Loja;
+import br.com.rockambole.clausonus.loja.util.CnpjUtil;
 import io.quarkus.hibernate.orm.panache.PanacheRepository;
 import jakarta.enterprise.context.ApplicationScoped;
 
 /**
- * Repositório para operações de persistência da entidade Loja
+ * Repositório de consultas da entidade Loja. As gravações passam pelo {@code LojaService},
+ * que numera cada alteração para o feed, registra as exclusões e grava o evento no outbox
+ * na mesma transação.
  */
 @ApplicationScoped
 public class LojaRepository implements PanacheRepository<Loja> {
@@ -33,41 +38,22 @@ public class LojaRepository implements PanacheRepository<Loja> {
     }
     
     /**
-     * Busca uma loja pelo CNPJ
+     * Busca uma loja pelo CNPJ, pela sua chave numérica
      * 
-     * @param cnpj CNPJ da loja
+     * @param cnpj CNPJ da loja, com ou sem máscara
      * @return Optional contendo a loja, se encontrada
      */
     public Optional<Loja> buscarPorCnpj(String cnpj) {
-        return find("cnpj", cnpj).firstResultOptional();
+        return find("cnpjNumerico", CnpjUtil.paraNumero(cnpj)).firstResultOptional();
     }
     
     /**
-     * Busca lojas cujo nome contenha o texto informado
+     * Verifica em uma única consulta quais CNPJs já estão cadastrados
      * 
-     * @param nome Texto a ser buscado no nome das lojas
-     * @return Lista de lojas que contêm o nome informado
+     * @param cnpjsNumericos Chaves numéricas dos CNPJs a verificar
+     * @return Chaves numéricas já cadastradas
      */
-    public List<Loja> buscarPorNome(String nome) {
-        return list("nome LIKE ?1", "%" + nome + "%");
-    }
-    
-    /**
-     * Salva ou atualiza uma loja
-     * 
-     * @param loja Loja a ser salva ou atualizada
-     */
-    public void salvar(Loja loja) {
-        persist(loja);
-    }
-    
-    /**
-     * Exclui uma loja pelo seu ID
-     * 
-     * @param id ID da loja a ser excluída
-     * @return true se a loja foi excluída, false caso contrário
-     */
-    public boolean deletar(Long id) {
-        return deleteById(id);
+    public Set<Long> listarCnpjsCadastrados(Collection<Long> cnpjsNumericos) {
+        return Loja.listarCnpjsCadastrados(cnpjsNumericos);
     }
 }
\ No newline at end of file
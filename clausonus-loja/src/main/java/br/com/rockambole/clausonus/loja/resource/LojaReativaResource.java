@@ -0,0 +1,101 @@
+package br.com.rockambole.clausonus.loja.resource;
+
+import jakarta.inject.Inject;
+import jakarta.ws.rs.GET;
+import jakarta.ws.rs.HeaderParam;
+import jakarta.ws.rs.Path;
+import jakarta.ws.rs.PathParam;
+import jakarta.ws.rs.Produces;
+import jakarta.ws.rs.QueryParam;
+import jakarta.ws.rs.core.Context;
+import jakarta.ws.rs.core.EntityTag;
+import jakarta.ws.rs.core.HttpHeaders;
+import jakarta.ws.rs.core.MediaType;
+import jakarta.ws.rs.core.Request;
+import jakarta.ws.rs.core.Response;
+
+import org.eclipse.microprofile.openapi.annotations.Operation;
+import org.eclipse.microprofile.openapi.annotations.media.Content;
+import org.eclipse.microprofile.openapi.annotations.media.Schema;
+import org.eclipse.microprofile.openapi.annotations.parameters.Parameter;
+import org.eclipse.microprofile.openapi.annotations.responses.APIResponse;
+import org.eclipse.microprofile.openapi.annotations.tags.Tag;
+
+import br.com.rockambole.clausonus.loja.dto.LojaDTO;
+import br.com.rockambole.clausonus.loja.dto.PaginaDTO;
+import br.com.rockambole.clausonus.loja.service.LojaReativaService;
+import br.com.rockambole.clausonus.loja.util.EtagUtil;
+import io.quarkus.arc.properties.IfBuildProperty;
+import io.smallrye.mutiny.Uni;
+
+/**
+ * Consultas de loja no modo reativo: os métodos retornam Uni e rodam no event loop,
+ * sem ocupar threads do pool de workers enquanto aguardam o banco. Os ETags e o GET
+ * condicional (If-None-Match) são os mesmos de {@link LojaResource}.
+ */
+@Path("/lojas/reativo")
+@Produces(MediaType.APPLICATION_JSON)
+@Tag(name = "Lojas (reativo)", description = "Consultas de lojas não bloqueantes")
+@IfBuildProperty(name = "clausonus.loja.reativo.habilitado", stringValue = "true")
+public class LojaReativaResource {
+    
+    private final LojaReativaService lojaReativaService;
+    
+    @Inject
+    public LojaReativaResource(LojaReativaService lojaReativaService) {
+        this.lojaReativaService = lojaReativaService;
+    }
+    
+    @GET
+    @Operation(summary = "Listar lojas (reativo)", description = "Retorna uma página de lojas ordenadas por ID, com o cursor da próxima página")
+    @APIResponse(responseCode = "200", description = "Página de lojas",
+                content = @Content(mediaType = "application/json", schema = @Schema(implementation = PaginaDTO.class)))
+    @APIResponse(responseCode = "304", description = "Página não modificada desde o ETag informado em If-None-Match")
+    @APIResponse(responseCode = "400", description = "Cursor ou limite inválido")
+    public Uni<Response> listarTodas(
+            @Parameter(description = "Cursor retornado em proximoCursor pela página anterior") @QueryParam("after") String after,
+            @Parameter(description = "Quantidade máxima de lojas na página") @QueryParam("limit") Integer limit,
+            @HeaderParam(HttpHeaders.IF_NONE_MATCH) String ifNoneMatch,
+            @Context Request request) {
+        if (ifNoneMatch == null) {
+            return listarPagina(after, limit);
+        }
+        
+        // Com If-None-Match, compara o ETag lendo apenas ID e versão das lojas da página
+        return lojaReativaService.versaoPagina(after, limit)
+                .flatMap(versao -> {
+                    Response.ResponseBuilder naoModificado = request.evaluatePreconditions(new EntityTag(versao));
+                    return naoModificado != null
+                            ? Uni.createFrom().item(naoModificado.build())
+                            : listarPagina(after, limit);
+                });
+    }
+    
+    private Uni<Response> listarPagina(String after, Integer limit) {
+        return lojaReativaService.listarPagina(after, limit)
+                .map(pagina -> Response.ok(pagina)
+                        .tag(new EntityTag(EtagUtil.daPagina(pagina)))
+                        .build());
+    }
+    
+    @GET
+    @Path("/{id}")
+    @Operation(summary = "Buscar loja por ID (reativo)", description = "Retorna uma loja específica pelo seu ID")
+    @APIResponse(responseCode = "200", description = "Loja encontrada",
+                content = @Content(mediaType = "application/json", schema = @Schema(implementation = LojaDTO.class)))
+    @APIResponse(responseCode = "304", description = "Loja não modificada desde o ETag informado em If-None-Match")
+    @APIResponse(responseCode = "404", description = "Loja não encontrada")
+    public Uni<Response> buscarPorId(
+            @Parameter(description = "ID da loja", required = true) @PathParam("id") Long id,
+            @Context Request request) {
+        return lojaReativaService.buscarPorId(id)
+                .map(loja -> {
+                    EntityTag etag = new EntityTag(EtagUtil.daLoja(loja.getId(), loja.getVersao()));
+                    Response.ResponseBuilder naoModificado = request.evaluatePreconditions(etag);
+                    if (naoModificado != null) {
+                        return naoModificado.build();
+                    }
+                    return Response.ok(loja).tag(etag).build();
+                });
+    }
+}
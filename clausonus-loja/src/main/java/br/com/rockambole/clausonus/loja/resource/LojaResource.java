@@ -1,6 +1,10 @@
 package br.com.rockambole.clausonus.loja.resource;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
 import java.net.URI;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
 
@@ -9,15 +13,25 @@ import jakarta.validation.Valid;
 import jakarta.ws.rs.Consumes;
 import jakarta.ws.rs.DELETE;
 import jakarta.ws.rs.GET;
+import jakarta.ws.rs.HeaderParam;
 import jakarta.ws.rs.NotFoundException;
+import jakarta.ws.rs.PATCH;
 import jakarta.ws.rs.POST;
 import jakarta.ws.rs.PUT;
 import jakarta.ws.rs.Path;
 import jakarta.ws.rs.PathParam;
 import jakarta.ws.rs.Produces;
 import jakarta.ws.rs.QueryParam;
+import jakarta.ws.rs.core.Context;
+import jakarta.ws.rs.core.EntityTag;
+import jakarta.ws.rs.core.HttpHeaders;
 import jakarta.ws.rs.core.MediaType;
+import jakarta.ws.rs.core.Request;
 import jakarta.ws.rs.core.Response;
+import jakarta.ws.rs.core.StreamingOutput;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
 
 import org.eclipse.microprofile.openapi.annotations.Operation;
 import org.eclipse.microprofile.openapi.annotations.media.Content;
@@ -26,28 +40,86 @@ import org.eclipse.microprofile.openapi.annotations.parameters.Parameter;
 import org.eclipse.microprofile.openapi.annotations.responses.APIResponse;
 import org.eclipse.microprofile.openapi.annotations.tags.Tag;
 
+import br.com.rockambole.clausonus.loja.dto.AlteracoesLojaDTO;
+import br.com.rockambole.clausonus.loja.dto.ExclusaoLoteDTO;
 import br.com.rockambole.clausonus.loja.dto.LojaDTO;
+import br.com.rockambole.clausonus.loja.dto.LojaSugestaoDTO;
+import br.com.rockambole.clausonus.loja.dto.PaginaDTO;
+import br.com.rockambole.clausonus.loja.dto.ResultadoBuscaLojasDTO;
+import br.com.rockambole.clausonus.loja.dto.ResultadoLoteDTO;
+import br.com.rockambole.clausonus.loja.service.LojaImportacaoService;
 import br.com.rockambole.clausonus.loja.service.LojaService;
+import br.com.rockambole.clausonus.loja.util.EtagUtil;
+import io.smallrye.common.annotation.RunOnVirtualThread;
 
 @Path("/lojas")
 @Produces(MediaType.APPLICATION_JSON)
 @Consumes(MediaType.APPLICATION_JSON)
 @Tag(name = "Lojas", description = "Operações relacionadas a Lojas")
+@RunOnVirtualThread
 public class LojaResource {
     
+    private static final String APPLICATION_NDJSON = "application/x-ndjson";
+    private static final String APPLICATION_MERGE_PATCH_JSON = "application/merge-patch+json";
+    
     private final LojaService lojaService;
+    private final LojaImportacaoService lojaImportacaoService;
+    private final ObjectMapper objectMapper;
     
     @Inject
-    public LojaResource(LojaService lojaService) {
+    public LojaResource(LojaService lojaService, LojaImportacaoService lojaImportacaoService, ObjectMapper objectMapper) {
         this.lojaService = lojaService;
+        this.lojaImportacaoService = lojaImportacaoService;
+        this.objectMapper = objectMapper;
     }
     
     @GET
-    @Operation(summary = "Listar todas as lojas", description = "Retorna todas as lojas cadastradas no sistema")
-    @APIResponse(responseCode = "200", description = "Lista de lojas",
-                content = @Content(mediaType = "application/json", schema = @Schema(implementation = LojaDTO.class)))
-    public List<LojaDTO> listarTodas() {
-        return lojaService.listarTodas();
+    @Operation(summary = "Listar lojas", description = "Retorna uma página de lojas ordenadas por ID, com o cursor da próxima página. Com ids, busca as lojas informadas em uma única consulta e retorna um item por ID, marcando os não encontrados")
+    @APIResponse(responseCode = "200", description = "Página de lojas, ou resultado da busca por IDs (ResultadoBuscaLojasDTO)",
+                content = @Content(mediaType = "application/json", schema = @Schema(implementation = PaginaDTO.class)))
+    @APIResponse(responseCode = "304", description = "Página não modificada desde o ETag informado em If-None-Match")
+    @APIResponse(responseCode = "400", description = "Cursor, limite ou IDs inválidos")
+    public Response listarTodas(
+            @Parameter(description = "Cursor retornado em proximoCursor pela página anterior") @QueryParam("after") String after,
+            @Parameter(description = "Quantidade máxima de lojas na página") @QueryParam("limit") Integer limit,
+            @Parameter(description = "IDs das lojas a buscar em lote, separados por vírgula ou repetindo o parâmetro") @QueryParam("ids") List<String> ids,
+            @HeaderParam(HttpHeaders.IF_NONE_MATCH) String ifNoneMatch,
+            @Context Request request) {
+        if (!ids.isEmpty()) {
+            return Response.ok(lojaService.buscarPorIds(converterIds(ids))).build();
+        }
+        
+        // Com If-None-Match, compara o ETag lendo apenas ID e versão das lojas da página
+        if (ifNoneMatch != null) {
+            EntityTag etag = new EntityTag(lojaService.versaoPagina(after, limit));
+            Response.ResponseBuilder naoModificado = request.evaluatePreconditions(etag);
+            if (naoModificado != null) {
+                return naoModificado.build();
+            }
+        }
+        
+        PaginaDTO<LojaDTO> pagina = lojaService.listarPagina(after, limit);
+        return Response.ok(pagina)
+                .tag(new EntityTag(EtagUtil.daPagina(pagina)))
+                .build();
+    }
+    
+    @GET
+    @Path("/exportacao")
+    @Produces(APPLICATION_NDJSON)
+    @Operation(summary = "Exportar todas as lojas", description = "Exporta o cadastro completo de lojas em JSON delimitado por linhas (NDJSON), lido do banco com cursor e escrito conforme é lido")
+    @APIResponse(responseCode = "200", description = "Uma loja por linha",
+                content = @Content(mediaType = APPLICATION_NDJSON, schema = @Schema(implementation = LojaDTO.class)))
+    public Response exportar() {
+        StreamingOutput saida = output -> lojaService.exportar(loja -> {
+            try {
+                output.write(objectMapper.writeValueAsBytes(loja));
+                output.write('\n');
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        });
+        return Response.ok(saida, APPLICATION_NDJSON).build();
     }
     
     @GET
@@ -55,15 +127,38 @@ public class LojaResource {
     @Operation(summary = "Buscar loja por ID", description = "Retorna uma loja específica pelo seu ID")
     @APIResponse(responseCode = "200", description = "Loja encontrada",
                 content = @Content(mediaType = "application/json", schema = @Schema(implementation = LojaDTO.class)))
+    @APIResponse(responseCode = "304", description = "Loja não modificada desde o ETag informado em If-None-Match")
     @APIResponse(responseCode = "404", description = "Loja não encontrada")
-    public LojaDTO buscarPorId(
-            @Parameter(description = "ID da loja", required = true) @PathParam("id") Long id) {
-        return lojaService.buscarPorId(id);
+    public Response buscarPorId(
+            @Parameter(description = "ID da loja", required = true) @PathParam("id") Long id,
+            @Context Request request) {
+        // A loja vem do cache (invalidado a cada alteração), então a comparação do ETag
+        // normalmente não acessa o banco; com 304 o corpo não é serializado
+        LojaDTO loja = lojaService.buscarPorId(id);
+        EntityTag etag = new EntityTag(EtagUtil.daLoja(loja.getId(), loja.getVersao()));
+        
+        Response.ResponseBuilder naoModificado = request.evaluatePreconditions(etag);
+        if (naoModificado != null) {
+            return naoModificado.build();
+        }
+        return Response.ok(loja).tag(etag).build();
+    }
+    
+    @GET
+    @Path("/changes")
+    @Operation(summary = "Listar alterações de lojas", description = "Retorna as lojas criadas, atualizadas ou excluídas desde o token informado, em páginas, para sincronização incremental")
+    @APIResponse(responseCode = "200", description = "Página de alterações com o token da próxima leitura",
+                content = @Content(mediaType = "application/json", schema = @Schema(implementation = AlteracoesLojaDTO.class)))
+    @APIResponse(responseCode = "400", description = "Token ou limite inválido")
+    public AlteracoesLojaDTO listarAlteracoes(
+            @Parameter(description = "Token retornado em proximoToken pela leitura anterior; ausente para ler desde o início") @QueryParam("since") String since,
+            @Parameter(description = "Quantidade máxima de alterações na página") @QueryParam("limit") Integer limit) {
+        return lojaService.listarAlteracoes(since, limit);
     }
     
     @GET
     @Path("/busca")
-    @Operation(summary = "Buscar lojas por nome", description = "Retorna lojas que contenham o nome informado")
+    @Operation(summary = "Buscar lojas por nome", description = "Retorna as lojas mais relevantes que contenham o nome informado, limitadas a clausonus.loja.busca.limite resultados")
     @APIResponse(responseCode = "200", description = "Lista de lojas que correspondem ao nome",
                 content = @Content(mediaType = "application/json", schema = @Schema(implementation = LojaDTO.class)))
     public List<LojaDTO> buscarPorNome(
@@ -71,6 +166,18 @@ public class LojaResource {
         return lojaService.buscarPorNome(nome);
     }
     
+    @GET
+    @Path("/autocomplete")
+    @Operation(summary = "Sugerir nomes de lojas", description = "Retorna sugestões de lojas cujo nome tenha palavras começando com cada termo informado, a partir de um índice em memória")
+    @APIResponse(responseCode = "200", description = "Sugestões ordenadas por relevância",
+                content = @Content(mediaType = "application/json", schema = @Schema(implementation = LojaSugestaoDTO.class)))
+    @APIResponse(responseCode = "400", description = "Texto ou limite inválido")
+    public List<LojaSugestaoDTO> sugerirNomes(
+            @Parameter(description = "Texto digitado pelo usuário", required = true) @QueryParam("q") String q,
+            @Parameter(description = "Quantidade máxima de sugestões") @QueryParam("limite") Integer limite) {
+        return lojaService.sugerirNomes(q, limite);
+    }
+    
     @GET
     @Path("/cnpj/{cnpj}")
     @Operation(summary = "Buscar loja por CNPJ", description = "Retorna uma loja pelo seu CNPJ")
@@ -85,6 +192,19 @@ public class LojaResource {
                 .build();
     }
     
+    @POST
+    @Path("/cnpjs")
+    @Operation(summary = "Buscar lojas por lista de CNPJs", description = "Busca as lojas dos CNPJs informados (com ou sem máscara) em uma única consulta; retorna um item por CNPJ, na ordem enviada, marcando os não encontrados")
+    @APIResponse(responseCode = "200", description = "Resultado da busca, CNPJ a CNPJ",
+                content = @Content(mediaType = "application/json", schema = @Schema(implementation = ResultadoBuscaLojasDTO.class)))
+    @APIResponse(responseCode = "400", description = "Lista vazia, CNPJ inválido ou acima do máximo permitido")
+    public ResultadoBuscaLojasDTO buscarPorCnpjs(List<String> cnpjs) {
+        if (cnpjs == null) {
+            throw new IllegalArgumentException("Informe a lista de CNPJs");
+        }
+        return lojaService.buscarPorCnpjs(cnpjs);
+    }
+    
     @POST
     @Operation(summary = "Criar nova loja", description = "Cria uma nova loja com os dados informados")
     @APIResponse(responseCode = "201", description = "Loja criada com sucesso",
@@ -103,19 +223,35 @@ public class LojaResource {
         }
     }
     
+    @POST
+    @Path("/lote")
+    @Consumes({MediaType.APPLICATION_JSON, APPLICATION_NDJSON})
+    @Operation(summary = "Importar lojas em lote", description = "Cria várias lojas a partir de um array JSON ou de NDJSON, lido como fluxo e inserido em lotes; retorna o resultado de cada linha")
+    @APIResponse(responseCode = "200", description = "Resultado da importação, linha a linha",
+                content = @Content(mediaType = "application/json", schema = @Schema(implementation = ResultadoLoteDTO.class)))
+    @APIResponse(responseCode = "400", description = "Conteúdo inválido ou lote acima do tamanho máximo")
+    public ResultadoLoteDTO importarLote(InputStream corpo) {
+        return lojaImportacaoService.importar(corpo);
+    }
+    
     @PUT
     @Path("/{id}")
-    @Operation(summary = "Atualizar loja", description = "Atualiza os dados de uma loja existente")
+    @Operation(summary = "Atualizar loja", description = "Atualiza os dados de uma loja existente; com If-Match, somente se o ETag ainda for o atual")
     @APIResponse(responseCode = "200", description = "Loja atualizada com sucesso",
                 content = @Content(mediaType = "application/json", schema = @Schema(implementation = LojaDTO.class)))
     @APIResponse(responseCode = "404", description = "Loja não encontrada")
     @APIResponse(responseCode = "400", description = "Dados inválidos")
+    @APIResponse(responseCode = "409", description = "CNPJ já cadastrado em outra loja")
+    @APIResponse(responseCode = "412", description = "A loja foi alterada desde o ETag informado em If-Match")
     public Response atualizar(
             @Parameter(description = "ID da loja", required = true) @PathParam("id") Long id,
+            @HeaderParam(HttpHeaders.IF_MATCH) String ifMatch,
             @Valid LojaDTO lojaDTO) {
         try {
-            LojaDTO lojaAtualizada = lojaService.atualizar(id, lojaDTO);
-            return Response.ok(lojaAtualizada).build();
+            LojaDTO lojaAtualizada = lojaService.atualizar(id, lojaDTO, EtagUtil.versaoEsperada(ifMatch, id));
+            return Response.ok(lojaAtualizada)
+                    .tag(new EntityTag(EtagUtil.daLoja(lojaAtualizada.getId(), lojaAtualizada.getVersao())))
+                    .build();
         } catch (NotFoundException e) {
             return Response.status(Response.Status.NOT_FOUND)
                     .entity(e.getMessage())
@@ -127,6 +263,44 @@ public class LojaResource {
         }
     }
     
+    @PATCH
+    @Path("/{id}")
+    @Consumes({APPLICATION_MERGE_PATCH_JSON, MediaType.APPLICATION_JSON})
+    @Operation(summary = "Atualizar loja parcialmente", description = "Altera somente os campos informados (JSON Merge Patch, RFC 7396); null remove o valor de um campo opcional. Com If-Match, somente se o ETag ainda for o atual")
+    @APIResponse(responseCode = "200", description = "Loja atualizada com sucesso",
+                content = @Content(mediaType = "application/json", schema = @Schema(implementation = LojaDTO.class)))
+    @APIResponse(responseCode = "404", description = "Loja não encontrada")
+    @APIResponse(responseCode = "400", description = "Documento ou dados resultantes inválidos")
+    @APIResponse(responseCode = "409", description = "CNPJ já cadastrado em outra loja")
+    @APIResponse(responseCode = "412", description = "A loja foi alterada desde o ETag informado em If-Match")
+    public Response atualizarParcialmente(
+            @Parameter(description = "ID da loja", required = true) @PathParam("id") Long id,
+            @HeaderParam(HttpHeaders.IF_MATCH) String ifMatch,
+            InputStream corpo) {
+        JsonNode patch;
+        try {
+            patch = objectMapper.readTree(corpo);
+        } catch (IOException e) {
+            throw new IllegalArgumentException("JSON Merge Patch inválido: " + e.getMessage(), e);
+        }
+        LojaDTO lojaAtualizada = lojaService.atualizarParcialmente(id, patch, EtagUtil.versaoEsperada(ifMatch, id));
+        return Response.ok(lojaAtualizada)
+                .tag(new EntityTag(EtagUtil.daLoja(lojaAtualizada.getId(), lojaAtualizada.getVersao())))
+                .build();
+    }
+    
+    @DELETE
+    @Operation(summary = "Excluir lojas em lote", description = "Exclui várias lojas em um único comando e uma única transação; IDs inexistentes são ignorados")
+    @APIResponse(responseCode = "200", description = "Quantidade de lojas excluídas",
+                content = @Content(mediaType = "application/json", schema = @Schema(implementation = ExclusaoLoteDTO.class)))
+    @APIResponse(responseCode = "400", description = "IDs ausentes, inválidos ou acima do máximo permitido")
+    public ExclusaoLoteDTO excluirEmLote(
+            @Parameter(description = "IDs das lojas, separados por vírgula ou repetindo o parâmetro", required = true) @QueryParam("ids") List<String> ids) {
+        List<Long> idsLojas = converterIds(ids);
+        long excluidas = lojaService.excluirEmLote(idsLojas);
+        return new ExclusaoLoteDTO(idsLojas.size(), excluidas);
+    }
+    
     @DELETE
     @Path("/{id}")
     @Operation(summary = "Excluir loja", description = "Exclui uma loja pelo seu ID")
@@ -143,4 +317,23 @@ public class LojaResource {
                     .build();
         }
     }
+    
+    /**
+     * Converte os valores do parâmetro ids (separados por vírgula ou repetidos) em IDs de loja
+     */
+    private static List<Long> converterIds(List<String> ids) {
+        List<Long> idsLojas = new ArrayList<>();
+        for (String valor : ids) {
+            for (String id : valor.split(",")) {
+                if (!id.isBlank()) {
+                    try {
+                        idsLojas.add(Long.valueOf(id.trim()));
+                    } catch (NumberFormatException e) {
+                        throw new IllegalArgumentException("ID de loja inválido: " + id);
+                    }
+                }
+            }
+        }
+        return idsLojas;
+    }
 }
\ No newline at end of file
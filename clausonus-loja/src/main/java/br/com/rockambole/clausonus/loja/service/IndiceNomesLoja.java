@@ -0,0 +1,250 @@
+package br.com.rockambole.clausonus.loja.service;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Pattern;
+
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.enterprise.event.Observes;
+import jakarta.enterprise.event.TransactionPhase;
+import jakarta.inject.Inject;
+import jakarta.transaction.Transactional;
+
+import br.com.rockambole.clausonus.loja.dto.LojaSugestaoDTO;
+import br.com.rockambole.clausonus.loja.entity.Loja;
+import br.com.rockambole.clausonus.loja.evento.LojaAlteradaEvent;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.quarkus.runtime.StartupEvent;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Índice em memória dos nomes de loja para o autocompletar.
+ * Cada nome é quebrado em palavras normalizadas (minúsculas, sem acentos) guardadas em um
+ * mapa ordenado, de forma que a busca por prefixo é uma faixa do mapa e não toca o banco.
+ * O índice é carregado na inicialização e atualizado a cada alteração confirmada de loja.
+ */
+@Slf4j
+@ApplicationScoped
+public class IndiceNomesLoja {
+
+    private static final Pattern ACENTOS = Pattern.compile("\\p{M}+");
+    private static final Pattern SEPARADORES = Pattern.compile("[^\\p{Alnum}]+");
+
+    // Estimativas de ocupação usadas na métrica de memória (cabeçalhos, nós dos mapas e referências)
+    private static final long BYTES_POR_NOME = 96;
+    private static final long BYTES_POR_TOKEN = 112;
+    private static final long BYTES_POR_REFERENCIA = 32;
+
+    private final ConcurrentSkipListMap<String, Set<Long>> idsPorPalavra = new ConcurrentSkipListMap<>();
+    private final Map<Long, Entrada> entradas = new ConcurrentHashMap<>();
+    private final Timer latencia;
+
+    /**
+     * Nome indexado de uma loja
+     */
+    private static final class Entrada {
+        private final Long id;
+        private final String nome;
+        private final String nomeNormalizado;
+        private final String[] palavras;
+
+        private Entrada(Long id, String nome) {
+            this.id = id;
+            this.nome = nome;
+            this.nomeNormalizado = normalizar(nome);
+            this.palavras = Arrays.stream(SEPARADORES.split(nomeNormalizado))
+                    .filter(palavra -> !palavra.isEmpty())
+                    .distinct()
+                    .toArray(String[]::new);
+        }
+
+        /**
+         * Verifica se todos os termos da consulta são prefixo de alguma palavra do nome
+         */
+        private boolean contemPrefixos(String[] termos) {
+            for (String termo : termos) {
+                boolean encontrado = false;
+                for (String palavra : palavras) {
+                    if (palavra.startsWith(termo)) {
+                        encontrado = true;
+                        break;
+                    }
+                }
+                if (!encontrado) {
+                    return false;
+                }
+            }
+            return true;
+        }
+    }
+
+    @Inject
+    public IndiceNomesLoja(MeterRegistry registry) {
+        this.latencia = Timer.builder("loja.autocomplete.latencia")
+                .description("Tempo de resposta das consultas ao índice de autocompletar")
+                .publishPercentiles(0.5, 0.99)
+                .register(registry);
+        Gauge.builder("loja.autocomplete.nomes", entradas, Map::size)
+                .description("Quantidade de nomes de loja no índice de autocompletar")
+                .register(registry);
+        Gauge.builder("loja.autocomplete.memoria.estimada", this, IndiceNomesLoja::memoriaEstimadaBytes)
+                .description("Memória estimada ocupada pelo índice de autocompletar")
+                .baseUnit("bytes")
+                .register(registry);
+    }
+
+    /**
+     * Carrega todos os nomes de loja na inicialização da aplicação
+     */
+    @Transactional
+    void carregar(@Observes StartupEvent evento) {
+        List<LojaSugestaoDTO> lojas = Loja.listarSugestoes();
+        lojas.forEach(loja -> atualizar(loja.getId(), loja.getNome()));
+        log.info("Índice de autocompletar carregado com {} lojas (~{} bytes)", entradas.size(), memoriaEstimadaBytes());
+    }
+
+    /**
+     * Mantém o índice em dia com as alterações confirmadas pelo LojaService
+     */
+    void aoAlterarLoja(@Observes(during = TransactionPhase.AFTER_SUCCESS) LojaAlteradaEvent evento) {
+        if (evento.getTipo() == LojaAlteradaEvent.Tipo.EXCLUSAO) {
+            remover(evento.getIdLoja());
+        } else {
+            atualizar(evento.getIdLoja(), evento.getLoja().getNome());
+        }
+    }
+
+    /**
+     * Inclui ou substitui o nome de uma loja no índice
+     *
+     * @param id ID da loja
+     * @param nome Nome atual da loja
+     */
+    public synchronized void atualizar(Long id, String nome) {
+        remover(id);
+
+        Entrada entrada = new Entrada(id, nome);
+        entradas.put(id, entrada);
+        for (String palavra : entrada.palavras) {
+            idsPorPalavra.computeIfAbsent(palavra, chave -> ConcurrentHashMap.newKeySet()).add(id);
+        }
+    }
+
+    /**
+     * Remove uma loja do índice
+     *
+     * @param id ID da loja
+     */
+    public synchronized void remover(Long id) {
+        Entrada entrada = entradas.remove(id);
+        if (entrada == null) {
+            return;
+        }
+
+        for (String palavra : entrada.palavras) {
+            idsPorPalavra.computeIfPresent(palavra, (chave, ids) -> {
+                ids.remove(id);
+                return ids.isEmpty() ? null : ids;
+            });
+        }
+    }
+
+    /**
+     * Sugere lojas cujo nome tenha palavras começando com cada termo da consulta.
+     * Nomes que começam com a consulta inteira vêm primeiro, seguidos dos mais curtos.
+     *
+     * @param consulta Texto digitado pelo usuário
+     * @param limite Quantidade máxima de sugestões
+     * @return Sugestões ordenadas por relevância
+     */
+    public List<LojaSugestaoDTO> sugerir(String consulta, int limite) {
+        long inicio = System.nanoTime();
+        try {
+            String consultaNormalizada = normalizar(consulta == null ? "" : consulta).trim();
+            String[] termos = Arrays.stream(SEPARADORES.split(consultaNormalizada))
+                    .filter(termo -> !termo.isEmpty())
+                    .toArray(String[]::new);
+            if (termos.length == 0 || limite < 1) {
+                return List.of();
+            }
+
+            // O termo mais longo é o mais seletivo: usa sua faixa de prefixo como candidatos
+            String guia = termos[0];
+            for (String termo : termos) {
+                if (termo.length() > guia.length()) {
+                    guia = termo;
+                }
+            }
+
+            Comparator<Entrada> relevancia = Comparator
+                    .comparing((Entrada entrada) -> !entrada.nomeNormalizado.startsWith(consultaNormalizada))
+                    .thenComparingInt(entrada -> entrada.nome.length())
+                    .thenComparing(entrada -> entrada.nome);
+
+            // Mantém apenas os melhores "limite" resultados (heap invertido)
+            PriorityQueue<Entrada> melhores = new PriorityQueue<>(limite + 1, relevancia.reversed());
+            Set<Long> vistos = new HashSet<>();
+            for (Set<Long> ids : idsPorPalavra.subMap(guia, true, guia + Character.MAX_VALUE, true).values()) {
+                for (Long id : ids) {
+                    if (!vistos.add(id)) {
+                        continue;
+                    }
+                    Entrada entrada = entradas.get(id);
+                    if (entrada != null && entrada.contemPrefixos(termos)) {
+                        melhores.offer(entrada);
+                        if (melhores.size() > limite) {
+                            melhores.poll();
+                        }
+                    }
+                }
+            }
+
+            List<Entrada> ordenadas = new ArrayList<>(melhores);
+            ordenadas.sort(relevancia);
+
+            List<LojaSugestaoDTO> sugestoes = new ArrayList<>(ordenadas.size());
+            for (Entrada entrada : ordenadas) {
+                sugestoes.add(new LojaSugestaoDTO(entrada.id, entrada.nome));
+            }
+            return sugestoes;
+        } finally {
+            latencia.record(System.nanoTime() - inicio, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    /**
+     * Estima a memória ocupada pelo índice a partir da quantidade de nomes, palavras e referências
+     *
+     * @return Estimativa em bytes
+     */
+    public long memoriaEstimadaBytes() {
+        long total = 0;
+        for (Entrada entrada : entradas.values()) {
+            total += BYTES_POR_NOME + 2L * (entrada.nome.length() + entrada.nomeNormalizado.length())
+                    + BYTES_POR_REFERENCIA * entrada.palavras.length;
+        }
+        for (Map.Entry<String, Set<Long>> palavra : idsPorPalavra.entrySet()) {
+            total += BYTES_POR_TOKEN + 2L * palavra.getKey().length()
+                    + BYTES_POR_REFERENCIA * palavra.getValue().size();
+        }
+        return total;
+    }
+
+    private static String normalizar(String texto) {
+        String semAcentos = ACENTOS.matcher(Normalizer.normalize(texto, Normalizer.Form.NFD)).replaceAll("");
+        return semAcentos.toLowerCase(Locale.ROOT);
+    }
+}
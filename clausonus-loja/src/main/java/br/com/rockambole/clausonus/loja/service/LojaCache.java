@@ -0,0 +1,86 @@
+package br.com.rockambole.clausonus.loja.service;
+
+import java.util.Optional;
+import java.util.function.Function;
+
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.enterprise.event.Observes;
+import jakarta.enterprise.event.TransactionPhase;
+import jakarta.inject.Inject;
+
+import br.com.rockambole.clausonus.loja.dto.LojaDTO;
+import br.com.rockambole.clausonus.loja.evento.LojaAlteradaEvent;
+import br.com.rockambole.clausonus.loja.util.CnpjUtil;
+import io.quarkus.cache.Cache;
+import io.quarkus.cache.CacheName;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Cache em memória (read-through) para as consultas de loja por ID e por CNPJ.
+ * Tamanho, expiração e métricas são configurados em quarkus.cache.caffeine.* e as
+ * entradas são invalidadas assim que uma alteração de loja é confirmada no banco.
+ * Os DTOs armazenados são compartilhados entre as requisições e não devem ser alterados.
+ */
+@Slf4j
+@ApplicationScoped
+public class LojaCache {
+
+    static final String CACHE_POR_ID = "loja-por-id";
+    static final String CACHE_POR_CNPJ = "loja-por-cnpj";
+
+    private final Cache porId;
+    private final Cache porCnpj;
+
+    @Inject
+    public LojaCache(@CacheName(CACHE_POR_ID) Cache porId, @CacheName(CACHE_POR_CNPJ) Cache porCnpj) {
+        this.porId = porId;
+        this.porCnpj = porCnpj;
+    }
+
+    /**
+     * Busca uma loja pelo ID, carregando do banco em caso de ausência no cache.
+     * Falhas do carregador (ex.: NotFoundException) não são armazenadas.
+     *
+     * @param id ID da loja
+     * @param carregador Função que busca a loja no banco
+     * @return LojaDTO em cache ou recém carregado
+     */
+    public LojaDTO buscarPorId(Long id, Function<Long, LojaDTO> carregador) {
+        return porId.get(id, carregador).await().indefinitely();
+    }
+
+    /**
+     * Busca uma loja pela chave numérica do CNPJ, carregando do banco em caso de ausência
+     * no cache. Resultados vazios também são armazenados e são invalidados quando uma loja
+     * com o mesmo CNPJ é criada.
+     *
+     * @param cnpjNumerico Chave numérica do CNPJ
+     * @param carregador Função que busca a loja no banco
+     * @return Optional com o LojaDTO, se existir
+     */
+    public Optional<LojaDTO> buscarPorCnpj(Long cnpjNumerico, Function<Long, Optional<LojaDTO>> carregador) {
+        return porCnpj.get(cnpjNumerico, carregador).await().indefinitely();
+    }
+
+    /**
+     * Invalida as entradas da loja alterada após a confirmação da transação, para que
+     * nenhuma leitura concorrente repopule o cache com o estado anterior ao commit
+     *
+     * @param evento Evento de alteração da loja
+     */
+    void aoAlterarLoja(@Observes(during = TransactionPhase.AFTER_SUCCESS) LojaAlteradaEvent evento) {
+        log.debug("Invalidando cache da loja {}", evento.getIdLoja());
+
+        porId.invalidate(evento.getIdLoja()).await().indefinitely();
+
+        if (evento.getCnpjAnterior() != null) {
+            porCnpj.invalidate(CnpjUtil.paraNumero(evento.getCnpjAnterior())).await().indefinitely();
+        } else if (evento.getTipo() != LojaAlteradaEvent.Tipo.CRIACAO) {
+            // Alterações diretas no banco não informam o CNPJ anterior: descarta o cache por CNPJ inteiro
+            porCnpj.invalidateAll().await().indefinitely();
+        }
+        if (evento.getLoja() != null) {
+            porCnpj.invalidate(CnpjUtil.paraNumero(evento.getLoja().getCnpj())).await().indefinitely();
+        }
+    }
+}
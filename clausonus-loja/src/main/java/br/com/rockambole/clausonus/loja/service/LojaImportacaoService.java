@@ -0,0 +1,183 @@
+package br.com.rockambole.clausonus.loja.service;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import jakarta.ws.rs.core.Response;
+
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import br.com.rockambole.clausonus.loja.dto.ItemLoteDTO;
+import br.com.rockambole.clausonus.loja.dto.LojaDTO;
+import br.com.rockambole.clausonus.loja.dto.ResultadoLoteDTO;
+import br.com.rockambole.clausonus.loja.exception.BusinessException;
+import br.com.rockambole.clausonus.loja.util.CnpjUtil;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Serviço para importação de lojas em lote.
+ * O corpo é lido como fluxo (array JSON ou NDJSON), uma loja por vez, e as lojas válidas
+ * são inseridas em blocos de clausonus.loja.lote.tamanho-bloco, cada bloco em sua própria
+ * transação. Blocos já confirmados permanecem gravados se uma linha posterior for ilegível.
+ * Se outra requisição cadastrar um CNPJ do bloco durante a importação, o bloco é refeito linha
+ * a linha e somente as linhas em conflito são rejeitadas.
+ */
+@Slf4j
+@ApplicationScoped
+public class LojaImportacaoService {
+
+    private final LojaService lojaService;
+    private final ObjectMapper objectMapper;
+    private final Validator validator;
+    private final int tamanhoBloco;
+    private final int maximoItens;
+
+    @Inject
+    public LojaImportacaoService(LojaService lojaService, ObjectMapper objectMapper, Validator validator,
+            @ConfigProperty(name = "clausonus.loja.lote.tamanho-bloco", defaultValue = "500") int tamanhoBloco,
+            @ConfigProperty(name = "clausonus.loja.lote.maximo-itens", defaultValue = "10000") int maximoItens) {
+        this.lojaService = lojaService;
+        this.objectMapper = objectMapper;
+        this.validator = validator;
+        this.tamanhoBloco = tamanhoBloco;
+        this.maximoItens = maximoItens;
+    }
+
+    /**
+     * Importa as lojas lidas do fluxo, validando cada linha e rejeitando CNPJs repetidos
+     * no próprio lote ou já cadastrados
+     *
+     * @param entrada Corpo da requisição (array JSON de lojas ou uma loja por linha)
+     * @return Resultado de cada linha, na ordem de leitura
+     * @throws IllegalArgumentException se o conteúdo não for JSON válido ou exceder
+     *         clausonus.loja.lote.maximo-itens
+     */
+    public ResultadoLoteDTO importar(InputStream entrada) {
+        log.info("Iniciando importação de lojas em lote");
+
+        ResultadoLoteDTO resultado = new ResultadoLoteDTO();
+        Set<Long> cnpjsDoLote = new HashSet<>();
+        List<Integer> indicesBloco = new ArrayList<>(tamanhoBloco);
+        List<LojaDTO> bloco = new ArrayList<>(tamanhoBloco);
+
+        try (MappingIterator<LojaDTO> lojas = objectMapper.readerFor(LojaDTO.class).readValues(entrada)) {
+            int indice = 0;
+            while (lojas.hasNextValue()) {
+                if (indice >= maximoItens) {
+                    throw new IllegalArgumentException("O lote deve ter no máximo " + maximoItens + " lojas");
+                }
+
+                LojaDTO loja = lojas.nextValue();
+                List<String> erros = validar(loja);
+                if (!erros.isEmpty()) {
+                    resultado.adicionar(ItemLoteDTO.rejeitada(indice, loja == null ? null : loja.getCnpj(), erros));
+                } else if (!cnpjsDoLote.add(CnpjUtil.paraNumero(loja.getCnpj()))) {
+                    resultado.adicionar(ItemLoteDTO.rejeitada(indice, loja.getCnpj(),
+                            List.of("CNPJ repetido no lote: " + loja.getCnpj())));
+                } else {
+                    indicesBloco.add(indice);
+                    bloco.add(loja);
+                    if (bloco.size() == tamanhoBloco) {
+                        processarBloco(indicesBloco, bloco, resultado);
+                    }
+                }
+                indice++;
+            }
+            processarBloco(indicesBloco, bloco, resultado);
+        } catch (JsonProcessingException e) {
+            throw new IllegalArgumentException("Conteúdo do lote inválido: " + e.getOriginalMessage(), e);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+
+        // As linhas rejeitadas na validação são registradas antes do bloco a que pertencem
+        resultado.getItens().sort((a, b) -> Integer.compare(a.getIndice(), b.getIndice()));
+
+        log.info("Importação em lote concluída: {} criadas, {} rejeitadas",
+                resultado.getCriadas(), resultado.getRejeitadas());
+        return resultado;
+    }
+
+    private List<String> validar(LojaDTO loja) {
+        if (loja == null) {
+            return List.of("Loja não informada");
+        }
+
+        Set<ConstraintViolation<LojaDTO>> violacoes = validator.validate(loja);
+        List<String> erros = violacoes.stream()
+                .map(ConstraintViolation::getMessage)
+                .sorted()
+                .collect(Collectors.toList());
+
+        // O CNPJ precisa ter 14 dígitos para gerar a chave numérica
+        if (erros.isEmpty()) {
+            try {
+                CnpjUtil.paraNumero(loja.getCnpj());
+            } catch (IllegalArgumentException e) {
+                erros.add(e.getMessage());
+            }
+        }
+        return erros;
+    }
+
+    private void processarBloco(List<Integer> indices, List<LojaDTO> bloco, ResultadoLoteDTO resultado) {
+        if (bloco.isEmpty()) {
+            return;
+        }
+
+        try {
+            List<LojaDTO> inseridas = lojaService.importarBloco(bloco);
+            for (int i = 0; i < bloco.size(); i++) {
+                registrar(indices.get(i), bloco.get(i), inseridas.get(i), resultado);
+            }
+        } catch (BusinessException e) {
+            if (e.getStatus() != Response.Status.CONFLICT) {
+                throw e;
+            }
+            // Outra requisição cadastrou um CNPJ do bloco depois da verificação: o bloco foi
+            // desfeito, e as linhas são gravadas uma a uma para isolar as que conflitam
+            log.warn("Conflito de CNPJ no bloco de {} lojas; gravando as linhas individualmente", bloco.size());
+            for (int i = 0; i < bloco.size(); i++) {
+                processarLinha(indices.get(i), bloco.get(i), resultado);
+            }
+        }
+
+        indices.clear();
+        bloco.clear();
+    }
+
+    private void processarLinha(int indice, LojaDTO loja, ResultadoLoteDTO resultado) {
+        try {
+            registrar(indice, loja, lojaService.importarBloco(List.of(loja)).get(0), resultado);
+        } catch (BusinessException e) {
+            if (e.getStatus() != Response.Status.CONFLICT) {
+                throw e;
+            }
+            resultado.adicionar(ItemLoteDTO.rejeitada(indice, loja.getCnpj(),
+                    List.of("CNPJ cadastrado por outra requisição durante a importação: " + loja.getCnpj())));
+        }
+    }
+
+    private static void registrar(int indice, LojaDTO loja, LojaDTO inserida, ResultadoLoteDTO resultado) {
+        if (inserida != null) {
+            resultado.adicionar(ItemLoteDTO.criada(indice, inserida));
+        } else {
+            resultado.adicionar(ItemLoteDTO.rejeitada(indice, loja.getCnpj(),
+                    List.of("Já existe uma loja cadastrada com o CNPJ: " + loja.getCnpj())));
+        }
+    }
+}
@@ -0,0 +1,120 @@
+package br.com.rockambole.clausonus.loja.service;
+
+import java.util.List;
+
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+import jakarta.ws.rs.NotFoundException;
+
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+
+import br.com.rockambole.clausonus.loja.dto.LojaDTO;
+import br.com.rockambole.clausonus.loja.dto.PaginaDTO;
+import br.com.rockambole.clausonus.loja.repository.LojaReativaRepository;
+import br.com.rockambole.clausonus.loja.util.CursorUtil;
+import br.com.rockambole.clausonus.loja.util.EtagUtil;
+import io.quarkus.arc.properties.IfBuildProperty;
+import io.smallrye.mutiny.Uni;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Serviço de consultas de loja não bloqueantes (modo reativo), executado no event loop.
+ * Mantém o mesmo contrato de {@link LojaService#buscarPorId(Long)},
+ * {@link LojaService#listarPagina(String, Integer)} e {@link LojaService#versaoPagina(String, Integer)}.
+ */
+@Slf4j
+@ApplicationScoped
+@IfBuildProperty(name = "clausonus.loja.reativo.habilitado", stringValue = "true")
+public class LojaReativaService {
+
+    private final LojaReativaRepository lojaReativaRepository;
+    private final int limitePadrao;
+    private final int limiteMaximo;
+
+    @Inject
+    public LojaReativaService(LojaReativaRepository lojaReativaRepository,
+            @ConfigProperty(name = "clausonus.loja.paginacao.limite-padrao", defaultValue = "50") int limitePadrao,
+            @ConfigProperty(name = "clausonus.loja.paginacao.limite-maximo", defaultValue = "500") int limiteMaximo) {
+        this.lojaReativaRepository = lojaReativaRepository;
+        this.limitePadrao = limitePadrao;
+        this.limiteMaximo = limiteMaximo;
+    }
+
+    /**
+     * Busca uma loja pelo seu ID
+     *
+     * @param id ID da loja
+     * @return Uni com o LojaDTO, ou falha com NotFoundException se a loja não existir
+     */
+    public Uni<LojaDTO> buscarPorId(Long id) {
+        log.debug("Buscando loja pelo ID (reativo): {}", id);
+        return lojaReativaRepository.buscarPorId(id)
+                .onItem().ifNull().failWith(() -> new NotFoundException("Loja não encontrada com o ID: " + id));
+    }
+
+    /**
+     * Lista uma página de lojas ordenada por ID, a partir de um cursor opaco
+     *
+     * @param cursor Cursor retornado pela página anterior, ou null para a primeira página
+     * @param limite Tamanho da página (limitado a clausonus.loja.paginacao.limite-maximo)
+     * @return Uni com a página de LojaDTO e o cursor da próxima página, se houver
+     */
+    public Uni<PaginaDTO<LojaDTO>> listarPagina(String cursor, Integer limite) {
+        log.debug("Listando página de lojas após o cursor (reativo): {}", cursor);
+
+        int tamanhoPagina;
+        Long aposId;
+        try {
+            tamanhoPagina = tamanhoPagina(limite);
+            aposId = CursorUtil.decodificar(cursor);
+        } catch (IllegalArgumentException e) {
+            return Uni.createFrom().failure(e);
+        }
+
+        // Busca um registro a mais para saber se existe próxima página
+        return lojaReativaRepository.listarPagina(aposId, tamanhoPagina + 1)
+                .map(lojas -> {
+                    String proximoCursor = null;
+                    if (lojas.size() > tamanhoPagina) {
+                        lojas = lojas.subList(0, tamanhoPagina);
+                        proximoCursor = CursorUtil.codificar(lojas.get(tamanhoPagina - 1).getId());
+                    }
+                    return new PaginaDTO<>(lojas, tamanhoPagina, proximoCursor);
+                });
+    }
+
+    /**
+     * Calcula o ETag da página que seria retornada por {@link #listarPagina(String, Integer)},
+     * lendo apenas ID e versão das lojas
+     *
+     * @param cursor Cursor retornado pela página anterior, ou null para a primeira página
+     * @param limite Tamanho da página
+     * @return Uni com o valor do ETag da página, ou falha com IllegalArgumentException se o
+     *         cursor ou o limite forem inválidos
+     */
+    public Uni<String> versaoPagina(String cursor, Integer limite) {
+        int tamanhoPagina;
+        Long aposId;
+        try {
+            tamanhoPagina = tamanhoPagina(limite);
+            aposId = CursorUtil.decodificar(cursor);
+        } catch (IllegalArgumentException e) {
+            return Uni.createFrom().failure(e);
+        }
+
+        return lojaReativaRepository.listarVersoesPagina(aposId, tamanhoPagina + 1)
+                .map(versoes -> {
+                    boolean temProxima = versoes.size() > tamanhoPagina;
+                    List<long[]> itens = temProxima ? versoes.subList(0, tamanhoPagina) : versoes;
+                    return EtagUtil.daPagina(tamanhoPagina, temProxima, itens);
+                });
+    }
+
+    private int tamanhoPagina(Integer limite) {
+        int tamanho = limite == null ? limitePadrao : limite;
+        if (tamanho < 1) {
+            throw new IllegalArgumentException("O limite da página deve ser maior que zero");
+        }
+        return Math.min(tamanho, limiteMaximo);
+    }
+}
@@ -1,16 +1,53 @@
 package br.com.rockambole.clausonus.loja.service;
 
+import java.io.IOException;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Locale;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
+import java.util.function.Consumer;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.enterprise.event.Event;
 import jakarta.inject.Inject;
+import jakarta.persistence.OptimisticLockException;
+import jakarta.persistence.PersistenceException;
 import jakarta.transaction.Transactional;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
 import jakarta.ws.rs.NotFoundException;
+import jakarta.ws.rs.core.Response;
 
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+
+import org.hibernate.ScrollableResults;
+import org.hibernate.exception.ConstraintViolationException;
+
+import br.com.rockambole.clausonus.loja.dto.AlteracoesLojaDTO;
+import br.com.rockambole.clausonus.loja.dto.ItemBuscaLojaDTO;
 import br.com.rockambole.clausonus.loja.dto.LojaDTO;
+import br.com.rockambole.clausonus.loja.dto.LojaSugestaoDTO;
+import br.com.rockambole.clausonus.loja.dto.PaginaDTO;
+import br.com.rockambole.clausonus.loja.dto.ResultadoBuscaLojasDTO;
 import br.com.rockambole.clausonus.loja.entity.Loja;
+import br.com.rockambole.clausonus.loja.entity.LojaExclusao;
+import br.com.rockambole.clausonus.loja.entity.NumeroAlteracao;
+import br.com.rockambole.clausonus.loja.evento.LojaAlteradaEvent;
+import br.com.rockambole.clausonus.loja.exception.BusinessException;
+import br.com.rockambole.clausonus.loja.util.CnpjUtil;
+import br.com.rockambole.clausonus.loja.util.CursorUtil;
+import br.com.rockambole.clausonus.loja.util.EtagUtil;
 import br.com.rockambole.clausonus.loja.util.LojaConverter;
 import lombok.extern.slf4j.Slf4j;
 
@@ -21,11 +58,54 @@ import lombok.extern.slf4j.Slf4j;
 @ApplicationScoped
 public class LojaService {
     
+    private static final String RESTRICAO_CNPJ_UNICO = "uk_loja_cnpj_numerico";
+    
     private final LojaConverter lojaConverter;
+    private final ObjectMapper objectMapper;
+    private final Validator validator;
+    private final LojaCache lojaCache;
+    private final IndiceNomesLoja indiceNomes;
+    private final Event<LojaAlteradaEvent> lojaAlterada;
+    private final SequenciaAlteracao sequenciaAlteracao;
+    private final int limitePadrao;
+    private final int limiteMaximo;
+    private final int tamanhoLoteExportacao;
+    private final int limiteBusca;
+    private final boolean buscaTrigrama;
+    private final int limiteSugestoes;
+    private final int limiteMaximoSugestoes;
+    private final int maximoIdsExclusao;
+    private final int maximoChavesBusca;
     
     @Inject
-    public LojaService(LojaConverter lojaConverter) {
+    public LojaService(LojaConverter lojaConverter, ObjectMapper objectMapper, Validator validator,
+            LojaCache lojaCache, IndiceNomesLoja indiceNomes, Event<LojaAlteradaEvent> lojaAlterada,
+            SequenciaAlteracao sequenciaAlteracao,
+            @ConfigProperty(name = "clausonus.loja.paginacao.limite-padrao", defaultValue = "50") int limitePadrao,
+            @ConfigProperty(name = "clausonus.loja.paginacao.limite-maximo", defaultValue = "500") int limiteMaximo,
+            @ConfigProperty(name = "clausonus.loja.exportacao.tamanho-lote", defaultValue = "500") int tamanhoLoteExportacao,
+            @ConfigProperty(name = "clausonus.loja.busca.limite", defaultValue = "20") int limiteBusca,
+            @ConfigProperty(name = "clausonus.loja.busca.trigrama", defaultValue = "false") boolean buscaTrigrama,
+            @ConfigProperty(name = "clausonus.loja.autocomplete.limite-padrao", defaultValue = "10") int limiteSugestoes,
+            @ConfigProperty(name = "clausonus.loja.autocomplete.limite-maximo", defaultValue = "50") int limiteMaximoSugestoes,
+            @ConfigProperty(name = "clausonus.loja.exclusao.maximo-ids", defaultValue = "1000") int maximoIdsExclusao,
+            @ConfigProperty(name = "clausonus.loja.busca-lote.maximo-chaves", defaultValue = "500") int maximoChavesBusca) {
         this.lojaConverter = lojaConverter;
+        this.objectMapper = objectMapper;
+        this.validator = validator;
+        this.lojaCache = lojaCache;
+        this.indiceNomes = indiceNomes;
+        this.lojaAlterada = lojaAlterada;
+        this.sequenciaAlteracao = sequenciaAlteracao;
+        this.limitePadrao = limitePadrao;
+        this.limiteMaximo = limiteMaximo;
+        this.tamanhoLoteExportacao = tamanhoLoteExportacao;
+        this.limiteBusca = limiteBusca;
+        this.buscaTrigrama = buscaTrigrama;
+        this.limiteSugestoes = limiteSugestoes;
+        this.limiteMaximoSugestoes = limiteMaximoSugestoes;
+        this.maximoIdsExclusao = maximoIdsExclusao;
+        this.maximoChavesBusca = maximoChavesBusca;
     }
     
     /**
@@ -35,13 +115,85 @@ public class LojaService {
      */
     public List<LojaDTO> listarTodas() {
         log.info("Listando todas as lojas");
-        return Loja.listarTodas().stream()
-                .map(lojaConverter::toDto)
-                .collect(Collectors.toList());
+        return Loja.listarTodasDto();
+    }
+    
+    /**
+     * Lista uma página de lojas ordenada por ID, a partir de um cursor opaco
+     * 
+     * @param cursor Cursor retornado pela página anterior, ou null para a primeira página
+     * @param limite Tamanho da página (limitado a clausonus.loja.paginacao.limite-maximo)
+     * @return Página de LojaDTO com o cursor da próxima página, se houver
+     * @throws IllegalArgumentException se o cursor ou o limite forem inválidos
+     */
+    public PaginaDTO<LojaDTO> listarPagina(String cursor, Integer limite) {
+        log.info("Listando página de lojas após o cursor: {}", cursor);
+        
+        int tamanho = tamanhoPagina(limite);
+        
+        // Busca um registro a mais para saber se existe próxima página
+        List<LojaDTO> itens = Loja.listarPaginaDto(CursorUtil.decodificar(cursor), tamanho + 1);
+        
+        String proximoCursor = null;
+        if (itens.size() > tamanho) {
+            itens = itens.subList(0, tamanho);
+            proximoCursor = CursorUtil.codificar(itens.get(tamanho - 1).getId());
+        }
+        
+        return new PaginaDTO<>(itens, tamanho, proximoCursor);
+    }
+    
+    /**
+     * Calcula o ETag da página que seria retornada por {@link #listarPagina(String, Integer)},
+     * lendo apenas ID e versão das lojas
+     * 
+     * @param cursor Cursor retornado pela página anterior, ou null para a primeira página
+     * @param limite Tamanho da página
+     * @return Valor do ETag da página
+     * @throws IllegalArgumentException se o cursor ou o limite forem inválidos
+     */
+    public String versaoPagina(String cursor, Integer limite) {
+        int tamanho = tamanhoPagina(limite);
+        
+        List<long[]> versoes = Loja.listarVersoesPagina(CursorUtil.decodificar(cursor), tamanho + 1);
+        boolean temProxima = versoes.size() > tamanho;
+        return EtagUtil.daPagina(tamanho, temProxima, temProxima ? versoes.subList(0, tamanho) : versoes);
+    }
+    
+    private int tamanhoPagina(Integer limite) {
+        int tamanho = limite == null ? limitePadrao : limite;
+        if (tamanho < 1) {
+            throw new IllegalArgumentException("O limite da página deve ser maior que zero");
+        }
+        return Math.min(tamanho, limiteMaximo);
     }
     
     /**
-     * Busca uma loja pelo seu ID
+     * Percorre todas as lojas com um cursor no servidor, entregando cada uma ao consumidor
+     * assim que é lida. As linhas são projetadas direto em LojaDTO, sem entidades no contexto
+     * de persistência, de modo que o uso de memória não cresce com o tamanho do cadastro.
+     * 
+     * @param consumidor Recebe cada LojaDTO na ordem de ID
+     * @return Quantidade de lojas exportadas
+     */
+    @Transactional
+    public long exportar(Consumer<LojaDTO> consumidor) {
+        log.info("Exportando todas as lojas");
+        
+        long total = 0;
+        try (ScrollableResults<LojaDTO> resultados = Loja.rolarTodasDto(tamanhoLoteExportacao)) {
+            while (resultados.next()) {
+                consumidor.accept(resultados.get());
+                total++;
+            }
+        }
+        
+        log.info("Exportação concluída: {} lojas", total);
+        return total;
+    }
+    
+    /**
+     * Busca uma loja pelo seu ID, consultando primeiro o cache
      * 
      * @param id ID da loja
      * @return LojaDTO
@@ -49,56 +201,204 @@ public class LojaService {
      */
     public LojaDTO buscarPorId(Long id) {
         log.info("Buscando loja pelo ID: {}", id);
-        return Loja.buscarPorId(id)
-                .map(lojaConverter::toDto)
-                .orElseThrow(() -> new NotFoundException("Loja não encontrada com o ID: " + id));
+        return lojaCache.buscarPorId(id, chave -> Loja.buscarDtoPorId(chave)
+                .orElseThrow(() -> new NotFoundException("Loja não encontrada com o ID: " + chave)));
     }
     
     /**
-     * Busca lojas pelo nome (busca parcial)
+     * Busca várias lojas pelo ID com uma única consulta (IN), para que os consumidores resolvam
+     * um conjunto de lojas em uma só requisição
+     * 
+     * @param ids IDs das lojas (repetições são aceitas e resolvidas uma única vez)
+     * @return Um item por ID informado, na mesma ordem, marcado como encontrada ou não encontrada
+     * @throws IllegalArgumentException se nenhum ID for informado ou se exceder
+     *         clausonus.loja.busca-lote.maximo-chaves
+     */
+    public ResultadoBuscaLojasDTO buscarPorIds(List<Long> ids) {
+        log.info("Buscando {} lojas por ID em lote", ids.size());
+        
+        Set<Long> unicos = new LinkedHashSet<>(ids);
+        validarQuantidadeChaves(unicos.size());
+        
+        Map<Long, LojaDTO> porId = Loja.listarDtosPorIds(unicos).stream()
+                .collect(Collectors.toMap(LojaDTO::getId, Function.identity()));
+        
+        ResultadoBuscaLojasDTO resultado = new ResultadoBuscaLojasDTO();
+        for (Long id : ids) {
+            LojaDTO loja = porId.get(id);
+            String chave = String.valueOf(id);
+            resultado.adicionar(loja != null
+                    ? ItemBuscaLojaDTO.encontrada(chave, loja)
+                    : ItemBuscaLojaDTO.naoEncontrada(chave));
+        }
+        return resultado;
+    }
+    
+    /**
+     * Busca várias lojas pelo CNPJ (com ou sem máscara) com uma única consulta (IN)
+     * 
+     * @param cnpjs CNPJs das lojas; cada item do resultado traz o CNPJ como foi informado
+     * @return Um item por CNPJ informado, na mesma ordem, marcado como encontrada ou não encontrada
+     * @throws IllegalArgumentException se nenhum CNPJ for informado, se algum não tiver 14 dígitos
+     *         ou se exceder clausonus.loja.busca-lote.maximo-chaves
+     */
+    public ResultadoBuscaLojasDTO buscarPorCnpjs(List<String> cnpjs) {
+        log.info("Buscando {} lojas por CNPJ em lote", cnpjs.size());
+        
+        List<Long> numericos = new ArrayList<>(cnpjs.size());
+        for (String cnpj : cnpjs) {
+            numericos.add(CnpjUtil.paraNumero(cnpj));
+        }
+        Set<Long> unicos = new LinkedHashSet<>(numericos);
+        validarQuantidadeChaves(unicos.size());
+        
+        Map<Long, LojaDTO> porCnpj = Loja.listarDtosPorCnpjs(unicos).stream()
+                .collect(Collectors.toMap(loja -> CnpjUtil.paraNumero(loja.getCnpj()), Function.identity()));
+        
+        ResultadoBuscaLojasDTO resultado = new ResultadoBuscaLojasDTO();
+        for (int i = 0; i < cnpjs.size(); i++) {
+            LojaDTO loja = porCnpj.get(numericos.get(i));
+            String chave = cnpjs.get(i);
+            resultado.adicionar(loja != null
+                    ? ItemBuscaLojaDTO.encontrada(chave, loja)
+                    : ItemBuscaLojaDTO.naoEncontrada(chave));
+        }
+        return resultado;
+    }
+    
+    private void validarQuantidadeChaves(int quantidade) {
+        if (quantidade == 0) {
+            throw new IllegalArgumentException("Informe ao menos uma loja para a busca em lote");
+        }
+        if (quantidade > maximoChavesBusca) {
+            throw new IllegalArgumentException("A busca em lote aceita no máximo " + maximoChavesBusca + " lojas");
+        }
+    }
+    
+    /**
+     * Busca lojas pelo nome (busca parcial), ordenadas por relevância e limitadas a
+     * clausonus.loja.busca.limite resultados. Em PostgreSQL usa o índice de trigramas.
      * 
      * @param nome Nome ou parte do nome da loja
      * @return Lista de LojaDTO
+     * @throws IllegalArgumentException se o nome não for informado
      */
     public List<LojaDTO> buscarPorNome(String nome) {
         log.info("Buscando lojas pelo nome: {}", nome);
-        return Loja.buscarPorNome(nome).stream()
-                .map(lojaConverter::toDto)
-                .collect(Collectors.toList());
+        
+        if (nome == null || nome.isBlank()) {
+            throw new IllegalArgumentException("O nome para busca é obrigatório");
+        }
+        
+        String termo = nome.trim();
+        return buscaTrigrama
+                ? Loja.buscarDtosPorNomeTrigrama(termo, limiteBusca)
+                : Loja.buscarDtosPorNome(termo, limiteBusca);
     }
     
     /**
-     * Busca uma loja pelo CNPJ
+     * Sugere nomes de loja para o autocompletar a partir do índice em memória,
+     * sem consultar o banco
+     * 
+     * @param consulta Texto digitado (cada palavra é tratada como prefixo)
+     * @param limite Quantidade de sugestões (limitada a clausonus.loja.autocomplete.limite-maximo)
+     * @return Lista de LojaSugestaoDTO ordenada por relevância
+     * @throws IllegalArgumentException se a consulta não for informada ou o limite for inválido
+     */
+    public List<LojaSugestaoDTO> sugerirNomes(String consulta, Integer limite) {
+        log.debug("Sugerindo nomes de loja para: {}", consulta);
+        
+        if (consulta == null || consulta.isBlank()) {
+            throw new IllegalArgumentException("O texto para sugestão é obrigatório");
+        }
+        
+        int tamanho = limite == null ? limiteSugestoes : limite;
+        if (tamanho < 1) {
+            throw new IllegalArgumentException("O limite de sugestões deve ser maior que zero");
+        }
+        
+        return indiceNomes.sugerir(consulta, Math.min(tamanho, limiteMaximoSugestoes));
+    }
+    
+    /**
+     * Busca uma loja pelo CNPJ (com ou sem máscara), consultando primeiro o cache
      * 
      * @param cnpj CNPJ da loja
      * @return LojaDTO ou null se não encontrada
+     * @throws IllegalArgumentException se o CNPJ não tiver 14 dígitos
      */
     public Optional<LojaDTO> buscarPorCnpj(String cnpj) {
         log.info("Buscando loja pelo CNPJ: {}", cnpj);
-        return Loja.buscarPorCnpj(cnpj)
-                .map(lojaConverter::toDto);
+        return lojaCache.buscarPorCnpj(CnpjUtil.paraNumero(cnpj), Loja::buscarDtoPorCnpj);
     }
     
     /**
-     * Salva uma nova loja
+     * Salva uma nova loja com um único INSERT. A unicidade do CNPJ é garantida pela
+     * restrição uk_loja_cnpj_numerico do banco, sem consulta prévia, de modo que duas
+     * criações simultâneas com o mesmo CNPJ resultam em uma loja e um conflito.
      * 
      * @param lojaDTO Dados da loja
      * @return LojaDTO com o ID gerado
+     * @throws BusinessException (409) se já existir loja com o mesmo CNPJ
      */
     @Transactional
     public LojaDTO salvar(LojaDTO lojaDTO) {
         log.info("Salvando loja: {}", lojaDTO);
         
-        // Verifica se já existe loja com o mesmo CNPJ
-        Optional<Loja> existente = Loja.buscarPorCnpj(lojaDTO.getCnpj());
-        if (existente.isPresent()) {
-            throw new IllegalArgumentException("Já existe uma loja cadastrada com o CNPJ: " + lojaDTO.getCnpj());
-        }
-        
         Loja loja = lojaConverter.toEntity(lojaDTO);
+        loja.registrarAlteracao(sequenciaAlteracao.proximo());
         loja.persist();
+        gravar("Já existe uma loja cadastrada com o CNPJ: " + lojaDTO.getCnpj());
+        
+        LojaDTO salva = lojaConverter.toDto(loja);
+        lojaAlterada.fire(LojaAlteradaEvent.criacao(salva));
+        return salva;
+    }
+    
+    /**
+     * Insere um bloco de lojas já validadas em uma única transação. Os CNPJs do bloco são
+     * verificados em uma só consulta e os INSERTs são agrupados em lotes JDBC
+     * (quarkus.hibernate-orm.jdbc.statement-batch-size) no flush.
+     * 
+     * @param lojas Lojas a inserir, sem CNPJs repetidos entre si
+     * @return Lojas inseridas, na mesma ordem da entrada, com null na posição das lojas
+     *         cujo CNPJ já estava cadastrado
+     * @throws BusinessException (409) se outra transação cadastrar um dos CNPJs durante o bloco
+     */
+    @Transactional
+    public List<LojaDTO> importarBloco(List<LojaDTO> lojas) {
+        log.info("Importando bloco de {} lojas", lojas.size());
+        
+        Set<Long> cadastrados = Loja.listarCnpjsCadastrados(lojas.stream()
+                .map(lojaDTO -> CnpjUtil.paraNumero(lojaDTO.getCnpj()))
+                .collect(Collectors.toList()));
         
-        return lojaConverter.toDto(loja);
+        // Todas as lojas do bloco compartilham o mesmo número de alteração
+        NumeroAlteracao alteracao = sequenciaAlteracao.proximo();
+        List<Loja> inseridas = new ArrayList<>(lojas.size());
+        for (LojaDTO lojaDTO : lojas) {
+            if (cadastrados.contains(CnpjUtil.paraNumero(lojaDTO.getCnpj()))) {
+                inseridas.add(null);
+                continue;
+            }
+            
+            Loja loja = lojaConverter.toEntity(lojaDTO);
+            loja.id = null;
+            loja.registrarAlteracao(alteracao);
+            loja.persist();
+            inseridas.add(loja);
+        }
+        gravar("Um CNPJ do bloco foi cadastrado por outra requisição durante a importação");
+        
+        List<LojaDTO> resultado = new ArrayList<>(inseridas.size());
+        for (Loja loja : inseridas) {
+            LojaDTO salva = lojaConverter.toDto(loja);
+            if (salva != null) {
+                lojaAlterada.fire(LojaAlteradaEvent.criacao(salva));
+            }
+            resultado.add(salva);
+        }
+        return resultado;
     }
     
     /**
@@ -108,6 +408,8 @@ public class LojaService {
      * @param lojaDTO Novos dados da loja
      * @return LojaDTO atualizada
      * @throws NotFoundException se a loja não for encontrada
+     * @throws BusinessException (409) se o CNPJ já pertencer a outra loja ou se a loja for
+     *         alterada por outra requisição durante a atualização
      */
     @Transactional
     public LojaDTO atualizar(Long id, LojaDTO lojaDTO) {
@@ -116,19 +418,186 @@ public class LojaService {
         Loja loja = Loja.buscarPorId(id)
                 .orElseThrow(() -> new NotFoundException("Loja não encontrada com o ID: " + id));
         
-        // Verifica se o CNPJ já está sendo usado por outra loja
-        if (!loja.getCnpj().equals(lojaDTO.getCnpj())) {
-            Optional<Loja> existente = Loja.buscarPorCnpj(lojaDTO.getCnpj());
-            if (existente.isPresent() && !existente.get().id.equals(id)) {
-                throw new IllegalArgumentException("Já existe uma loja cadastrada com o CNPJ: " + lojaDTO.getCnpj());
+        String cnpjAnterior = loja.getCnpj();
+        
+        // Atualiza os campos; o flush incrementa a versão antes da conversão para DTO e
+        // a restrição de unicidade rejeita um CNPJ já usado por outra loja
+        lojaConverter.updateEntityFromDto(loja, lojaDTO);
+        loja.registrarAlteracao(sequenciaAlteracao.proximo());
+        loja.persist();
+        gravar("Já existe uma loja cadastrada com o CNPJ: " + lojaDTO.getCnpj());
+        
+        LojaDTO atualizada = lojaConverter.toDto(loja);
+        lojaAlterada.fire(LojaAlteradaEvent.atualizacao(atualizada, cnpjAnterior));
+        return atualizada;
+    }
+    
+    /**
+     * Atualiza os dados de uma loja somente se ela ainda estiver na versão lida pelo cliente
+     * (If-Match). A loja não é carregada: um único UPDATE ... WHERE id = ? AND versao = ?
+     * aplica a alteração e incrementa a versão; a loja só é consultada quando nenhuma linha
+     * é afetada, para distinguir loja inexistente de versão desatualizada.
+     * 
+     * @param id ID da loja a ser atualizada
+     * @param lojaDTO Novos dados da loja
+     * @param versaoEsperada Versão lida pelo cliente, ou null para atualizar sem verificação
+     * @return LojaDTO atualizada
+     * @throws NotFoundException se a loja não for encontrada
+     * @throws BusinessException (412) se a versão da loja não for a esperada, ou (409) se o
+     *         CNPJ já pertencer a outra loja
+     */
+    @Transactional
+    public LojaDTO atualizar(Long id, LojaDTO lojaDTO, Long versaoEsperada) {
+        if (versaoEsperada == null) {
+            return atualizar(id, lojaDTO);
+        }
+        
+        log.info("Atualizando loja com ID {} na versão {}: {}", id, versaoEsperada, lojaDTO);
+        
+        Loja dados = lojaConverter.toEntity(lojaDTO);
+        dados.registrarAlteracao(sequenciaAlteracao.proximo());
+        boolean atualizada;
+        try {
+            atualizada = Loja.atualizarSeVersao(id, versaoEsperada, dados);
+        } catch (PersistenceException e) {
+            if (violaCnpjUnico(e)) {
+                throw new BusinessException("Já existe uma loja cadastrada com o CNPJ: " + lojaDTO.getCnpj(),
+                        Response.Status.CONFLICT);
             }
+            throw e;
+        }
+        
+        if (!atualizada) {
+            if (Loja.count("id", id) == 0) {
+                throw new NotFoundException("Loja não encontrada com o ID: " + id);
+            }
+            throw versaoDesatualizada(id, Response.Status.PRECONDITION_FAILED);
+        }
+        
+        LojaDTO resultado = new LojaDTO(id, dados.getNome(), dados.getEndereco(), dados.getCnpj(),
+                dados.getTelefone(), versaoEsperada + 1);
+        lojaAlterada.fire(LojaAlteradaEvent.atualizacao(resultado, null));
+        return resultado;
+    }
+    
+    /**
+     * Atualiza parcialmente uma loja com a semântica de JSON Merge Patch (RFC 7396): somente
+     * os campos presentes no documento são alterados e null remove o valor. Como a entidade
+     * usa {@code @DynamicUpdate}, o UPDATE inclui apenas as colunas que de fato mudaram; se o
+     * CNPJ não muda, suas colunas (e a restrição de unicidade) não são tocadas.
+     * 
+     * @param id ID da loja a ser atualizada
+     * @param patch Documento JSON Merge Patch
+     * @return LojaDTO atualizada
+     * @throws NotFoundException se a loja não for encontrada
+     * @throws IllegalArgumentException se o documento não for um objeto JSON ou o resultado for inválido
+     * @throws BusinessException (409) se o CNPJ já pertencer a outra loja
+     */
+    @Transactional
+    public LojaDTO atualizarParcialmente(Long id, JsonNode patch) {
+        return atualizarParcialmente(id, patch, null);
+    }
+    
+    /**
+     * Atualiza parcialmente uma loja (JSON Merge Patch) somente se ela ainda estiver na versão
+     * lida pelo cliente (If-Match). O UPDATE gerado pelo Hibernate inclui a versão na cláusula
+     * WHERE, de modo que uma alteração concorrente entre a leitura e a gravação também é detectada.
+     * 
+     * @param id ID da loja a ser atualizada
+     * @param patch Documento JSON Merge Patch
+     * @param versaoEsperada Versão lida pelo cliente, ou null para atualizar sem verificação
+     * @return LojaDTO atualizada
+     * @throws NotFoundException se a loja não for encontrada
+     * @throws IllegalArgumentException se o documento não for um objeto JSON ou o resultado for inválido
+     * @throws BusinessException (412) se a versão da loja não for a esperada, ou (409) se o
+     *         CNPJ já pertencer a outra loja
+     */
+    @Transactional
+    public LojaDTO atualizarParcialmente(Long id, JsonNode patch, Long versaoEsperada) {
+        log.info("Atualizando parcialmente loja com ID {}: {}", id, patch);
+        
+        if (patch == null || !patch.isObject()) {
+            throw new IllegalArgumentException("O JSON Merge Patch deve ser um objeto JSON");
+        }
+        
+        Loja loja = Loja.buscarPorId(id)
+                .orElseThrow(() -> new NotFoundException("Loja não encontrada com o ID: " + id));
+        
+        if (versaoEsperada != null && !versaoEsperada.equals(loja.getVersao())) {
+            throw versaoDesatualizada(id, Response.Status.PRECONDITION_FAILED);
+        }
+        
+        // Sem If-Match, uma alteração concorrente detectada na gravação é um conflito (409)
+        Response.Status statusVersao = versaoEsperada == null
+                ? Response.Status.CONFLICT : Response.Status.PRECONDITION_FAILED;
+        
+        String cnpjAnterior = loja.getCnpj();
+        
+        // ID e versão são controlados pelo servidor e não podem ser alterados pelo patch
+        ObjectNode campos = ((ObjectNode) patch).deepCopy();
+        campos.remove(List.of("id", "versao"));
+        
+        LojaDTO lojaDTO = lojaConverter.toDto(loja);
+        try {
+            objectMapper.readerForUpdating(lojaDTO).readValue(campos);
+        } catch (IOException e) {
+            throw new IllegalArgumentException("JSON Merge Patch inválido: " + e.getMessage(), e);
+        }
+        
+        Set<ConstraintViolation<LojaDTO>> violacoes = validator.validate(lojaDTO);
+        if (!violacoes.isEmpty()) {
+            throw new IllegalArgumentException(violacoes.stream()
+                    .map(ConstraintViolation::getMessage)
+                    .sorted()
+                    .collect(Collectors.joining(", ")));
         }
         
-        // Atualiza os campos
         lojaConverter.updateEntityFromDto(loja, lojaDTO);
-        loja.persist();
+        loja.registrarAlteracao(sequenciaAlteracao.proximo());
+        gravar("Já existe uma loja cadastrada com o CNPJ: " + lojaDTO.getCnpj(), statusVersao);
         
-        return lojaConverter.toDto(loja);
+        LojaDTO atualizada = lojaConverter.toDto(loja);
+        lojaAlterada.fire(LojaAlteradaEvent.atualizacao(atualizada, cnpjAnterior));
+        return atualizada;
+    }
+    
+    private void gravar(String mensagemConflito) {
+        gravar(mensagemConflito, Response.Status.CONFLICT);
+    }
+    
+    /**
+     * Envia as alterações pendentes ao banco, convertendo a violação da restrição de
+     * unicidade do CNPJ em conflito (409) e a falha na verificação da versão no status informado
+     * 
+     * @param mensagemConflito Mensagem da exceção em caso de CNPJ repetido
+     * @param statusVersao Status da exceção se a loja foi alterada por outra transação
+     */
+    private void gravar(String mensagemConflito, Response.Status statusVersao) {
+        try {
+            Loja.flush();
+        } catch (OptimisticLockException e) {
+            throw versaoDesatualizada(null, statusVersao);
+        } catch (PersistenceException e) {
+            if (violaCnpjUnico(e)) {
+                throw new BusinessException(mensagemConflito, Response.Status.CONFLICT);
+            }
+            throw e;
+        }
+    }
+    
+    private static BusinessException versaoDesatualizada(Long id, Response.Status status) {
+        return new BusinessException("A loja " + (id == null ? "" : id + " ")
+                + "foi alterada por outra requisição; consulte a versão atual e tente novamente", status);
+    }
+    
+    private static boolean violaCnpjUnico(Throwable erro) {
+        for (Throwable causa = erro; causa != null; causa = causa.getCause()) {
+            if (causa instanceof ConstraintViolationException violacao && violacao.getConstraintName() != null
+                    && violacao.getConstraintName().toLowerCase(Locale.ROOT).contains(RESTRICAO_CNPJ_UNICO)) {
+                return true;
+            }
+        }
+        return false;
     }
     
     /**
@@ -142,10 +611,116 @@ public class LojaService {
     public boolean excluir(Long id) {
         log.info("Excluindo loja com ID: {}", id);
         
-        if (!Loja.buscarPorId(id).isPresent()) {
+        // Um único DELETE; a quantidade de linhas afetadas indica se a loja existia
+        NumeroAlteracao alteracao = sequenciaAlteracao.proximo();
+        if (!Loja.excluirPorId(id)) {
             throw new NotFoundException("Loja não encontrada com o ID: " + id);
         }
+        new LojaExclusao(id, alteracao).persist();
         
-        return Loja.deleteById(id);
+        lojaAlterada.fire(LojaAlteradaEvent.exclusao(id, null));
+        return true;
+    }
+    
+    /**
+     * Exclui várias lojas em um único comando e uma única transação.
+     * IDs inexistentes são ignorados.
+     * 
+     * @param ids IDs das lojas a serem excluídas
+     * @return Quantidade de lojas efetivamente excluídas
+     * @throws IllegalArgumentException se nenhum ID for informado ou a quantidade exceder
+     *         clausonus.loja.exclusao.maximo-ids
+     */
+    @Transactional
+    public long excluirEmLote(Collection<Long> ids) {
+        log.info("Excluindo {} lojas em lote", ids.size());
+        
+        Set<Long> unicos = new LinkedHashSet<>(ids);
+        if (unicos.isEmpty()) {
+            throw new IllegalArgumentException("Informe ao menos um ID para exclusão");
+        }
+        if (unicos.size() > maximoIdsExclusao) {
+            throw new IllegalArgumentException("A exclusão em lote aceita no máximo " + maximoIdsExclusao + " IDs");
+        }
+        
+        // A leitura dos IDs bloqueia as lojas: outra exclusão concorrente das mesmas lojas
+        // espera o commit desta, e cada loja recebe um único registro de exclusão
+        List<Long> existentes = Loja.listarIdsExistentes(unicos);
+        long excluidas = Loja.excluirPorIds(existentes);
+        
+        NumeroAlteracao alteracao = sequenciaAlteracao.proximo();
+        for (Long id : existentes) {
+            new LojaExclusao(id, alteracao).persist();
+            lojaAlterada.fire(LojaAlteradaEvent.exclusao(id, null));
+        }
+        return excluidas;
+    }
+    
+    /**
+     * Lista as alterações de lojas (criações, atualizações e exclusões) posteriores ao token,
+     * em ordem de número de alteração. Cada loja aparece uma única vez, no seu estado atual; a
+     * leitura usa os índices por número de alteração, então o custo acompanha a quantidade de
+     * alterações e não o tamanho do cadastro.
+     * <p>
+     * A página termina na primeira alteração cujo número foi obtido depois do horizonte de
+     * visibilidade ({@link SequenciaAlteracao#horizonte()}), calculado antes das consultas:
+     * alterações confirmadas entre as duas consultas ou ainda não confirmadas têm número obtido
+     * depois do horizonte, então o token nunca avança sobre uma alteração que o cliente não viu.
+     * 
+     * @param token Token retornado pela sincronização anterior, ou null para ler desde o início
+     * @param limite Quantidade máxima de alterações na página
+     * @return Página de alterações com o token da próxima leitura
+     * @throws IllegalArgumentException se o token ou o limite forem inválidos
+     */
+    @Transactional
+    public AlteracoesLojaDTO listarAlteracoes(String token, Integer limite) {
+        log.info("Listando alterações de lojas após o token: {}", token);
+        
+        int tamanho = tamanhoPagina(limite);
+        long[] posicao = CursorUtil.decodificarAlteracao(token);
+        Instant horizonte = sequenciaAlteracao.horizonte();
+        
+        // Um item a mais de cada origem indica se existe próxima página; as duas consultas
+        // usam a mesma transação e conexão
+        List<Loja> lojas = Loja.listarAlteradas(posicao[0], posicao[1], tamanho + 1);
+        List<LojaExclusao> exclusoes = LojaExclusao.listarApos(posicao[0], posicao[1], tamanho + 1);
+        
+        List<LojaDTO> alteradas = new ArrayList<>();
+        List<Long> excluidas = new ArrayList<>();
+        long ultimaSeq = posicao[0];
+        long ultimoId = posicao[1];
+        int l = 0;
+        int e = 0;
+        boolean noHorizonte = false;
+        while (alteradas.size() + excluidas.size() < tamanho && (l < lojas.size() || e < exclusoes.size())) {
+            boolean proximaELoja = e >= exclusoes.size() || (l < lojas.size()
+                    && compararPosicao(lojas.get(l).getSeqAlteracao(), lojas.get(l).id,
+                            exclusoes.get(e).getSeqAlteracao(), exclusoes.get(e).idLoja) < 0);
+            Instant obtidoEm = proximaELoja ? lojas.get(l).getAlteradaEm() : exclusoes.get(e).getExcluidaEm();
+            if (obtidoEm.isAfter(horizonte)) {
+                // As alterações seguintes serão entregues quando o horizonte passar por elas
+                noHorizonte = true;
+                break;
+            }
+            if (proximaELoja) {
+                Loja loja = lojas.get(l++);
+                alteradas.add(lojaConverter.toDto(loja));
+                ultimaSeq = loja.getSeqAlteracao();
+                ultimoId = loja.id;
+            } else {
+                LojaExclusao exclusao = exclusoes.get(e++);
+                excluidas.add(exclusao.idLoja);
+                ultimaSeq = exclusao.getSeqAlteracao();
+                ultimoId = exclusao.idLoja;
+            }
+        }
+        
+        boolean temMais = !noHorizonte && (l < lojas.size() || e < exclusoes.size());
+        return new AlteracoesLojaDTO(alteradas, excluidas, CursorUtil.codificarAlteracao(ultimaSeq, ultimoId), temMais);
+    }
+    
+    private static int compararPosicao(long seqA, long idA, long seqB, long idB) {
+        int comparacao = Long.compare(seqA, seqB);
+        return comparacao != 0 ? comparacao : Long.compare(idA, idB);
     }
 }
\ No newline at end of file
@@ -0,0 +1,44 @@
+package br.com.rockambole.clausonus.loja.service;
+
+import java.time.Instant;
+
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.enterprise.event.Observes;
+import jakarta.enterprise.event.TransactionPhase;
+import jakarta.inject.Inject;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import br.com.rockambole.clausonus.loja.entity.EventoOutbox;
+import br.com.rockambole.clausonus.loja.evento.LojaAlteradaEvent;
+
+/**
+ * Grava cada alteração de loja no outbox dentro da própria transação da alteração: o evento
+ * só existe se a alteração for confirmada, e nenhuma alteração confirmada fica sem evento.
+ * A publicação é feita depois, de forma assíncrona, pelo {@link RelayOutboxLoja}.
+ */
+@ApplicationScoped
+public class RegistroOutboxLoja {
+
+    private final ObjectMapper objectMapper;
+
+    @Inject
+    public RegistroOutboxLoja(ObjectMapper objectMapper) {
+        this.objectMapper = objectMapper;
+    }
+
+    void aoAlterarLoja(@Observes(during = TransactionPhase.IN_PROGRESS) LojaAlteradaEvent evento) {
+        String payload = null;
+        if (evento.getLoja() != null) {
+            try {
+                payload = objectMapper.writeValueAsString(evento.getLoja());
+            } catch (JsonProcessingException e) {
+                throw new IllegalStateException("Não foi possível serializar a loja " + evento.getIdLoja(), e);
+            }
+        }
+
+        // Persistido junto com a alteração; em lotes (importação) os INSERTs são agrupados pelo JDBC
+        new EventoOutbox(evento.getTipo().name(), evento.getIdLoja(), payload, Instant.now()).persist();
+    }
+}
@@ -0,0 +1,168 @@
+package br.com.rockambole.clausonus.loja.service;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import br.com.rockambole.clausonus.loja.dto.EventoLojaDTO;
+import br.com.rockambole.clausonus.loja.dto.LojaDTO;
+import br.com.rockambole.clausonus.loja.entity.EventoOutbox;
+import br.com.rockambole.clausonus.loja.evento.PublicadorEventosLoja;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.quarkus.narayana.jta.QuarkusTransaction;
+import io.quarkus.scheduler.Scheduled;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Relay do outbox de lojas: a cada clausonus.loja.outbox.intervalo lê os eventos pendentes em
+ * lotes de clausonus.loja.outbox.tamanho-lote, publica cada lote no {@link PublicadorEventosLoja}
+ * e o exclui do outbox na mesma transação. Um lote só é lido depois que o anterior foi aceito
+ * pelo destino (contrapressão), no máximo clausonus.loja.outbox.maximo-lotes-por-ciclo lotes por
+ * ciclo; se o destino falhar, o lote permanece no outbox e o ciclo é encerrado.
+ */
+@Slf4j
+@ApplicationScoped
+public class RelayOutboxLoja {
+
+    private final PublicadorEventosLoja publicador;
+    private final ObjectMapper objectMapper;
+    private final int tamanhoLote;
+    private final int maximoLotesPorCiclo;
+    private final Counter publicados;
+    private final Counter falhas;
+    private final Timer duracaoLote;
+    private final Timer atraso;
+    private final AtomicLong pendentes = new AtomicLong();
+    private final AtomicLong criadoEmMaisAntigo = new AtomicLong();
+
+    @Inject
+    public RelayOutboxLoja(PublicadorEventosLoja publicador, ObjectMapper objectMapper, MeterRegistry registry,
+            @ConfigProperty(name = "clausonus.loja.outbox.tamanho-lote", defaultValue = "200") int tamanhoLote,
+            @ConfigProperty(name = "clausonus.loja.outbox.maximo-lotes-por-ciclo", defaultValue = "20") int maximoLotesPorCiclo) {
+        this.publicador = publicador;
+        this.objectMapper = objectMapper;
+        this.tamanhoLote = tamanhoLote;
+        this.maximoLotesPorCiclo = maximoLotesPorCiclo;
+        this.publicados = Counter.builder("loja.outbox.publicados")
+                .description("Eventos de loja publicados pelo relay do outbox")
+                .register(registry);
+        this.falhas = Counter.builder("loja.outbox.falhas")
+                .description("Lotes de eventos de loja cuja publicação falhou e será repetida")
+                .register(registry);
+        this.duracaoLote = Timer.builder("loja.outbox.lote.duracao")
+                .description("Tempo para ler, publicar e remover um lote do outbox")
+                .publishPercentiles(0.5, 0.99)
+                .register(registry);
+        this.atraso = Timer.builder("loja.outbox.atraso")
+                .description("Tempo entre a alteração da loja e a publicação do evento")
+                .publishPercentiles(0.5, 0.99)
+                .register(registry);
+        Gauge.builder("loja.outbox.pendentes", pendentes, AtomicLong::get)
+                .description("Eventos de loja aguardando publicação no outbox")
+                .register(registry);
+        Gauge.builder("loja.outbox.atraso.maximo", this, RelayOutboxLoja::idadeMaisAntigoSegundos)
+                .description("Idade do evento pendente mais antigo do outbox")
+                .baseUnit("seconds")
+                .register(registry);
+    }
+
+    @Scheduled(identity = "relay-outbox-loja", every = "${clausonus.loja.outbox.intervalo}",
+            concurrentExecution = Scheduled.ConcurrentExecution.SKIP)
+    void executar() {
+        publicarPendentes();
+    }
+
+    /**
+     * Publica os eventos pendentes até esvaziar o outbox, atingir o máximo de lotes do ciclo
+     * ou o destino falhar
+     *
+     * @return Quantidade de eventos publicados
+     */
+    public int publicarPendentes() {
+        int total = 0;
+        try {
+            for (int lote = 0; lote < maximoLotesPorCiclo; lote++) {
+                int quantidade = QuarkusTransaction.requiringNew().call(this::publicarLote);
+                total += quantidade;
+                if (quantidade < tamanhoLote) {
+                    break;
+                }
+            }
+        } catch (RuntimeException e) {
+            falhas.increment();
+            log.warn("Falha ao publicar eventos do outbox de lojas; o lote será repetido no próximo ciclo", e);
+        }
+
+        atualizarPendentes();
+        if (total > 0) {
+            log.debug("{} eventos do outbox de lojas publicados", total);
+        }
+        return total;
+    }
+
+    private int publicarLote() {
+        List<EventoOutbox> lote = EventoOutbox.bloquearPendentes(tamanhoLote);
+        if (lote.isEmpty()) {
+            return 0;
+        }
+
+        Timer.Sample inicio = Timer.start();
+        List<EventoLojaDTO> eventos = new ArrayList<>(lote.size());
+        List<Long> ids = new ArrayList<>(lote.size());
+        for (EventoOutbox evento : lote) {
+            eventos.add(paraDto(evento));
+            ids.add(evento.id);
+        }
+
+        publicador.publicar(eventos);
+        EventoOutbox.excluirPorIds(ids);
+
+        Instant agora = Instant.now();
+        for (EventoOutbox evento : lote) {
+            atraso.record(Duration.between(evento.getCriadoEm(), agora));
+        }
+        publicados.increment(lote.size());
+        inicio.stop(duracaoLote);
+        return lote.size();
+    }
+
+    private EventoLojaDTO paraDto(EventoOutbox evento) {
+        LojaDTO loja = null;
+        if (evento.getPayload() != null) {
+            try {
+                loja = objectMapper.readValue(evento.getPayload(), LojaDTO.class);
+            } catch (IOException e) {
+                throw new IllegalStateException("Payload inválido no evento " + evento.id + " do outbox", e);
+            }
+        }
+        return new EventoLojaDTO(evento.id, evento.getTipo(), evento.getIdLoja(), loja, evento.getCriadoEm());
+    }
+
+    private void atualizarPendentes() {
+        try {
+            Object[] resumo = QuarkusTransaction.requiringNew().call(EventoOutbox::resumirPendentes);
+            pendentes.set((Long) resumo[0]);
+            criadoEmMaisAntigo.set(resumo[1] == null ? 0 : ((Instant) resumo[1]).toEpochMilli());
+        } catch (RuntimeException e) {
+            log.warn("Não foi possível atualizar as métricas do outbox de lojas", e);
+        }
+    }
+
+    private double idadeMaisAntigoSegundos() {
+        long criadoEm = criadoEmMaisAntigo.get();
+        return criadoEm == 0 ? 0 : (System.currentTimeMillis() - criadoEm) / 1000.0;
+    }
+}
@@ -0,0 +1,112 @@
+package br.com.rockambole.clausonus.loja.service;
+
+import java.time.Duration;
+import java.time.Instant;
+
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+import jakarta.transaction.Synchronization;
+import jakarta.transaction.TransactionSynchronizationRegistry;
+import jakarta.ws.rs.core.Response;
+
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+
+import br.com.rockambole.clausonus.loja.entity.NumeroAlteracao;
+import br.com.rockambole.clausonus.loja.exception.BusinessException;
+import io.quarkus.hibernate.orm.panache.Panache;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Números do feed de alterações de loja, obtidos da sequência loja_alteracao_seq sem bloqueio
+ * entre as transações que alteram lojas.
+ * <p>
+ * Uma sequência não garante que os números sejam confirmados na ordem em que foram obtidos: uma
+ * transação pode confirmar o número N depois que outra já confirmou N + 1. Por isso o feed só
+ * entrega alterações cujo número foi obtido antes do horizonte (agora menos
+ * clausonus.loja.alteracoes.margem-visibilidade), e uma transação que leva mais da metade da
+ * margem entre obter o número e confirmar é desfeita no commit. Assim, quando o feed entrega o
+ * número N, toda alteração com número menor já foi confirmada ou nunca será; a outra metade da
+ * margem cobre a diferença de relógio entre as instâncias e a latência do commit. Margem zero
+ * desliga a verificação (uma única instância sem gravações concorrentes, como nos testes).
+ */
+@Slf4j
+@ApplicationScoped
+public class SequenciaAlteracao {
+
+    static final String SEQUENCIA = "loja_alteracao_seq";
+
+    private final TransactionSynchronizationRegistry transacoes;
+    private final Duration margemVisibilidade;
+    private final long limiteConfirmacaoNanos;
+    private volatile String comandoProximoValor;
+
+    @Inject
+    public SequenciaAlteracao(TransactionSynchronizationRegistry transacoes,
+            @ConfigProperty(name = "clausonus.loja.alteracoes.margem-visibilidade", defaultValue = "PT10S") Duration margemVisibilidade) {
+        if (margemVisibilidade.isNegative()) {
+            throw new IllegalArgumentException("clausonus.loja.alteracoes.margem-visibilidade não pode ser negativa");
+        }
+        this.transacoes = transacoes;
+        this.margemVisibilidade = margemVisibilidade;
+        this.limiteConfirmacaoNanos = margemVisibilidade.toNanos() / 2;
+    }
+
+    /**
+     * Obtém o próximo número de alteração. Deve ser chamado dentro da transação da alteração,
+     * o mais perto possível do commit: se a transação levar mais de metade da margem de
+     * visibilidade até confirmar, ela é desfeita com 503.
+     *
+     * @return Número da alteração e o instante em que foi obtido
+     */
+    public NumeroAlteracao proximo() {
+        long seq = ((Number) Panache.getEntityManager()
+                .createNativeQuery(comandoProximoValor())
+                .getSingleResult()).longValue();
+        long obtidoEm = System.nanoTime();
+        NumeroAlteracao numero = new NumeroAlteracao(seq, Instant.now());
+        
+        if (limiteConfirmacaoNanos > 0) {
+            transacoes.registerInterposedSynchronization(new Synchronization() {
+                @Override
+                public void beforeCompletion() {
+                    long decorridoNanos = System.nanoTime() - obtidoEm;
+                    if (decorridoNanos > limiteConfirmacaoNanos) {
+                        log.warn("Alteração {} desfeita: {} ms entre obter o número e confirmar", seq,
+                                Duration.ofNanos(decorridoNanos).toMillis());
+                        throw new BusinessException("A alteração demorou demais para ser confirmada; tente novamente",
+                                Response.Status.SERVICE_UNAVAILABLE);
+                    }
+                }
+
+                @Override
+                public void afterCompletion(int status) {
+                }
+            });
+        }
+        return numero;
+    }
+
+    /**
+     * Instante até o qual as alterações são entregues pelo feed: toda alteração cujo número
+     * foi obtido até esse instante já foi confirmada ou desfeita
+     */
+    public Instant horizonte() {
+        return Instant.now().minus(margemVisibilidade);
+    }
+
+    private String comandoProximoValor() {
+        String comando = comandoProximoValor;
+        if (comando == null) {
+            // Comando do dialeto: nextval no PostgreSQL, next value for no H2
+            comando = Panache.getEntityManager().getEntityManagerFactory()
+                    .unwrap(SessionFactoryImplementor.class)
+                    .getJdbcServices()
+                    .getDialect()
+                    .getSequenceSupport()
+                    .getSequenceNextValString(SEQUENCIA);
+            comandoProximoValor = comando;
+        }
+        return comando;
+    }
+}
@@ -0,0 +1,79 @@
+package br.com.rockambole.clausonus.loja.util;
+
+/**
+ * Utilitário para normalização de CNPJ
+ */
+public final class CnpjUtil {
+
+    private static final int TAMANHO_CNPJ = 14;
+
+    private CnpjUtil() {
+    }
+
+    /**
+     * Remove a máscara do CNPJ, mantendo apenas os dígitos
+     * 
+     * @param cnpj CNPJ com ou sem máscara ("12.345.678/0001-90" ou "12345678000190")
+     * @return Somente os dígitos do CNPJ, ou null se o valor for nulo
+     */
+    public static String normalizar(String cnpj) {
+        if (cnpj == null) {
+            return null;
+        }
+
+        StringBuilder digitos = new StringBuilder(TAMANHO_CNPJ);
+        for (int i = 0; i < cnpj.length(); i++) {
+            char c = cnpj.charAt(i);
+            if (c >= '0' && c <= '9') {
+                digitos.append(c);
+            }
+        }
+        return digitos.toString();
+    }
+
+    /**
+     * Aplica a máscara padrão (00.000.000/0000-00) a um CNPJ
+     * 
+     * @param cnpj CNPJ com ou sem máscara
+     * @return CNPJ formatado, ou o valor original se não tiver 14 dígitos
+     */
+    public static String formatar(String cnpj) {
+        String digitos = normalizar(cnpj);
+        if (digitos == null || digitos.length() != TAMANHO_CNPJ) {
+            return cnpj;
+        }
+
+        return digitos.substring(0, 2) + "." + digitos.substring(2, 5) + "." + digitos.substring(5, 8)
+                + "/" + digitos.substring(8, 12) + "-" + digitos.substring(12);
+    }
+
+    /**
+     * Converte o CNPJ para a chave numérica canônica usada nas consultas e na unicidade
+     * 
+     * @param cnpj CNPJ com ou sem máscara
+     * @return Os 14 dígitos do CNPJ como número
+     * @throws IllegalArgumentException se o CNPJ não tiver 14 dígitos
+     */
+    public static Long paraNumero(String cnpj) {
+        String digitos = normalizar(cnpj);
+        if (digitos == null || digitos.length() != TAMANHO_CNPJ) {
+            throw new IllegalArgumentException("CNPJ inválido: " + cnpj);
+        }
+
+        return Long.valueOf(digitos);
+    }
+
+    /**
+     * Converte a chave numérica de volta para os 14 dígitos do CNPJ (com zeros à esquerda)
+     * 
+     * @param cnpjNumerico Chave numérica do CNPJ
+     * @return Somente os dígitos do CNPJ
+     */
+    public static String deNumero(Long cnpjNumerico) {
+        if (cnpjNumerico == null) {
+            return null;
+        }
+
+        return String.format("%014d", cnpjNumerico);
+    }
+}
@@ -0,0 +1,93 @@
+package br.com.rockambole.clausonus.loja.util;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+/**
+ * Utilitário para codificar e decodificar cursores opacos de paginação
+ */
+public final class CursorUtil {
+
+    private static final String PREFIXO = "id:";
+    private static final String PREFIXO_ALTERACAO = "alt:";
+
+    private CursorUtil() {
+    }
+
+    /**
+     * Codifica o último ID de uma página em um cursor opaco
+     *
+     * @param id Último ID retornado
+     * @return Cursor em Base64 URL-safe
+     */
+    public static String codificar(Long id) {
+        if (id == null) {
+            return null;
+        }
+
+        return Base64.getUrlEncoder().withoutPadding()
+                .encodeToString((PREFIXO + id).getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Decodifica um cursor opaco gerado por {@link #codificar(Long)}
+     *
+     * @param cursor Cursor recebido do cliente
+     * @return ID a partir do qual a próxima página começa, ou null se não houver cursor
+     * @throws IllegalArgumentException se o cursor for inválido
+     */
+    public static Long decodificar(String cursor) {
+        if (cursor == null || cursor.isBlank()) {
+            return null;
+        }
+
+        try {
+            String valor = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            if (!valor.startsWith(PREFIXO)) {
+                throw new IllegalArgumentException("Cursor de paginação inválido");
+            }
+            return Long.valueOf(valor.substring(PREFIXO.length()));
+        } catch (IllegalArgumentException e) {
+            // NumberFormatException também é uma IllegalArgumentException
+            throw new IllegalArgumentException("Cursor de paginação inválido", e);
+        }
+    }
+
+    /**
+     * Codifica uma posição do feed de alterações em um token opaco
+     *
+     * @param seqAlteracao Número de alteração do último item lido
+     * @param id ID da loja do último item lido
+     * @return Token em Base64 URL-safe
+     */
+    public static String codificarAlteracao(long seqAlteracao, long id) {
+        return Base64.getUrlEncoder().withoutPadding()
+                .encodeToString((PREFIXO_ALTERACAO + seqAlteracao + ":" + id).getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Decodifica um token gerado por {@link #codificarAlteracao(long, long)}
+     *
+     * @param token Token recebido do cliente
+     * @return Posição [seqAlteracao, id], ou [-1, -1] (início do feed) se não houver token
+     * @throws IllegalArgumentException se o token for inválido
+     */
+    public static long[] decodificarAlteracao(String token) {
+        if (token == null || token.isBlank()) {
+            return new long[] { -1, -1 };
+        }
+
+        try {
+            String valor = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            String[] partes = valor.startsWith(PREFIXO_ALTERACAO)
+                    ? valor.substring(PREFIXO_ALTERACAO.length()).split(":")
+                    : new String[0];
+            if (partes.length != 2) {
+                throw new IllegalArgumentException("Token de alterações inválido");
+            }
+            return new long[] { Long.parseLong(partes[0]), Long.parseLong(partes[1]) };
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Token de alterações inválido", e);
+        }
+    }
+}
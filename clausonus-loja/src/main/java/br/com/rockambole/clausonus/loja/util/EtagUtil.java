@@ -0,0 +1,117 @@
+package br.com.rockambole.clausonus.loja.util;
+
+import java.nio.ByteBuffer;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Arrays;
+import java.util.HexFormat;
+import java.util.List;
+
+import jakarta.ws.rs.core.Response;
+
+import br.com.rockambole.clausonus.loja.dto.LojaDTO;
+import br.com.rockambole.clausonus.loja.dto.PaginaDTO;
+import br.com.rockambole.clausonus.loja.exception.BusinessException;
+
+/**
+ * Utilitário para gerar os valores de ETag das lojas a partir da coluna de versão
+ */
+public final class EtagUtil {
+
+    // Bytes do SHA-256 mantidos no ETag da página (128 bits)
+    private static final int BYTES_RESUMO_PAGINA = 16;
+
+    private EtagUtil() {
+    }
+
+    /**
+     * Gera o ETag de uma loja
+     *
+     * @param id ID da loja
+     * @param versao Versão atual da loja
+     * @return Valor do ETag (sem aspas)
+     */
+    public static String daLoja(Long id, Long versao) {
+        return id + "-" + versao;
+    }
+
+    /**
+     * Extrai do cabeçalho If-Match a versão da loja que o cliente leu. Aceita um ETag ou uma
+     * lista separada por vírgula; vale o primeiro ETag forte que pertença à loja informada.
+     *
+     * @param ifMatch Valor do cabeçalho If-Match
+     * @param id ID da loja a ser alterada
+     * @return Versão esperada, ou null se o cabeçalho estiver ausente ou for "*"
+     * @throws BusinessException (412) se nenhum ETag do cabeçalho pertencer à loja
+     */
+    public static Long versaoEsperada(String ifMatch, Long id) {
+        if (ifMatch == null || ifMatch.isBlank() || ifMatch.trim().equals("*")) {
+            return null;
+        }
+
+        String prefixo = id + "-";
+        for (String etag : ifMatch.split(",")) {
+            String valor = etag.trim();
+            // If-Match exige comparação forte: ETags fracos (W/) nunca correspondem
+            if (valor.length() < 2 || !valor.startsWith("\"") || !valor.endsWith("\"")) {
+                continue;
+            }
+            valor = valor.substring(1, valor.length() - 1);
+            if (valor.startsWith(prefixo)) {
+                try {
+                    return Long.valueOf(valor.substring(prefixo.length()));
+                } catch (NumberFormatException e) {
+                    // ETag que não foi gerado por este serviço: segue para o próximo
+                }
+            }
+        }
+        throw new BusinessException("O ETag informado em If-Match não corresponde à loja " + id,
+                Response.Status.PRECONDITION_FAILED);
+    }
+
+    /**
+     * Gera o ETag de uma página de lojas a partir dos pares [id, versao] dos seus itens, como
+     * o SHA-256 truncado em 128 bits do limite, do indicador de próxima página e dos pares.
+     * Qualquer inclusão, exclusão ou alteração de loja da página muda o valor, e duas páginas
+     * diferentes só produzem o mesmo ETag por uma colisão do SHA-256.
+     *
+     * @param limite Tamanho da página
+     * @param temProxima Se existe próxima página
+     * @param idsEVersoes Pares [id, versao] das lojas da página, em ordem de ID
+     * @return Valor do ETag (sem aspas)
+     */
+    public static String daPagina(int limite, boolean temProxima, List<long[]> idsEVersoes) {
+        ByteBuffer conteudo = ByteBuffer.allocate(Integer.BYTES + 1 + idsEVersoes.size() * 2 * Long.BYTES)
+                .putInt(limite)
+                .put((byte) (temProxima ? 1 : 0));
+        for (long[] idEVersao : idsEVersoes) {
+            conteudo.putLong(idEVersao[0]).putLong(idEVersao[1]);
+        }
+
+        byte[] resumo = sha256().digest(conteudo.array());
+        return "p" + idsEVersoes.size() + "-" + HexFormat.of().formatHex(Arrays.copyOf(resumo, BYTES_RESUMO_PAGINA));
+    }
+
+    /**
+     * Gera o ETag de uma página já carregada; equivale a
+     * {@link #daPagina(int, boolean, List)} sobre os mesmos itens
+     *
+     * @param pagina Página de lojas
+     * @return Valor do ETag (sem aspas)
+     */
+    public static String daPagina(PaginaDTO<LojaDTO> pagina) {
+        List<long[]> idsEVersoes = pagina.getItens().stream()
+                .map(loja -> new long[] { loja.getId(), loja.getVersao() })
+                .toList();
+        return daPagina(pagina.getLimite(), pagina.getProximoCursor() != null, idsEVersoes);
+    }
+
+    private static MessageDigest sha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            // Todo JRE é obrigado a oferecer SHA-256
+            throw new IllegalStateException("SHA-256 indisponível", e);
+        }
+    }
+}
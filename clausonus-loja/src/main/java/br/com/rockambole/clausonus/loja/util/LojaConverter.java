@@ -26,7 +26,8 @@ public class LojaConverter {
             loja.getNome(),
             loja.getEndereco(),
             loja.getCnpj(),
-            loja.getTelefone()
+            loja.getTelefone(),
+            loja.getVersao()
         );
     }
     
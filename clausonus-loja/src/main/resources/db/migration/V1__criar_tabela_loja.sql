@@ -0,0 +1,9 @@
+-- Estrutura inicial da tabela de lojas (equivalente ao esquema gerado pelo Hibernate).
+-- Em bancos já existentes esta versão é marcada como baseline e não é executada.
+CREATE TABLE IF NOT EXISTS loja (
+    id_loja BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    nome VARCHAR(100) NOT NULL,
+    endereco VARCHAR(200) NOT NULL,
+    cnpj VARCHAR(18) NOT NULL UNIQUE,
+    telefone VARCHAR(20)
+);
@@ -0,0 +1,4 @@
+-- Índice de trigramas para a busca de lojas por parte do nome (LIKE '%termo%' e similaridade)
+CREATE EXTENSION IF NOT EXISTS pg_trgm;
+
+CREATE INDEX IF NOT EXISTS idx_loja_nome_trgm ON loja USING gin (nome gin_trgm_ops);
@@ -0,0 +1,5 @@
+-- Sequência usada pelo gerador pooled-lo da entidade Loja (incremento igual ao allocation size)
+CREATE SEQUENCE IF NOT EXISTS loja_seq INCREMENT BY 50;
+
+-- Continua a partir do maior ID já existente
+SELECT setval('loja_seq', (SELECT COALESCE(MAX(id_loja), 0) + 1 FROM loja), false);
@@ -0,0 +1,34 @@
+-- Chave numérica canônica do CNPJ (somente dígitos), usada nas consultas e na unicidade.
+-- O CNPJ textual passa a ser gravado sem máscara.
+ALTER TABLE loja ADD COLUMN IF NOT EXISTS cnpj_numerico BIGINT;
+
+-- A unicidade passa para a chave numérica; a restrição textual deixaria passar o mesmo
+-- CNPJ com e sem máscara. O nome da restrição depende de quem criou a tabela (loja_cnpj_key
+-- pelo V1, UK_... pelo Hibernate), então ela é procurada no catálogo pela coluna
+DO $$
+DECLARE
+    restricao RECORD;
+BEGIN
+    FOR restricao IN
+        SELECT c.conname
+          FROM pg_constraint c
+          JOIN pg_attribute a ON a.attrelid = c.conrelid AND a.attnum = c.conkey[1]
+         WHERE c.conrelid = 'loja'::regclass
+           AND c.contype = 'u'
+           AND array_length(c.conkey, 1) = 1
+           AND a.attname = 'cnpj'
+    LOOP
+        EXECUTE format('ALTER TABLE loja DROP CONSTRAINT %I', restricao.conname);
+    END LOOP;
+END $$;
+
+-- Preenche as linhas existentes. Falha se algum CNPJ não tiver 14 dígitos ou se o mesmo
+-- CNPJ estiver cadastrado em mais de um formato; nesses casos corrija os dados antes:
+--   SELECT regexp_replace(cnpj, '[^0-9]', '', 'g') AS digitos, count(*) FROM loja
+--   GROUP BY 1 HAVING count(*) > 1 OR length(regexp_replace(cnpj, '[^0-9]', '', 'g')) <> 14;
+UPDATE loja
+   SET cnpj = regexp_replace(cnpj, '[^0-9]', '', 'g'),
+       cnpj_numerico = CAST(regexp_replace(cnpj, '[^0-9]', '', 'g') AS BIGINT);
+
+ALTER TABLE loja ALTER COLUMN cnpj_numerico SET NOT NULL;
+ALTER TABLE loja ADD CONSTRAINT uk_loja_cnpj_numerico UNIQUE (cnpj_numerico);
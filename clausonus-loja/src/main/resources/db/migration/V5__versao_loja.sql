@@ -0,0 +1,2 @@
+-- Versão da loja (@Version), incrementada a cada alteração e usada como base do ETag
+ALTER TABLE loja ADD COLUMN IF NOT EXISTS versao BIGINT NOT NULL DEFAULT 0;
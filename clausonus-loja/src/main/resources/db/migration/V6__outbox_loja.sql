@@ -0,0 +1,11 @@
+-- Outbox de eventos de alteração de loja, gravado na mesma transação da alteração e
+-- consumido em ordem de ID pelo relay (linhas excluídas após a publicação)
+CREATE SEQUENCE IF NOT EXISTS loja_outbox_seq INCREMENT BY 50;
+
+CREATE TABLE IF NOT EXISTS loja_outbox (
+    id_evento BIGINT PRIMARY KEY,
+    tipo VARCHAR(20) NOT NULL,
+    id_loja BIGINT NOT NULL,
+    payload VARCHAR(4000),
+    criado_em TIMESTAMP WITH TIME ZONE NOT NULL
+);
@@ -0,0 +1,19 @@
+-- Feed de alterações de loja (GET /lojas/changes): número da última alteração de cada loja,
+-- contador de linha única que o fornece e registros das lojas excluídas
+
+CREATE TABLE IF NOT EXISTS loja_alteracao_contador (
+    id INTEGER PRIMARY KEY,
+    valor BIGINT NOT NULL
+);
+INSERT INTO loja_alteracao_contador (id, valor) VALUES (1, 0) ON CONFLICT (id) DO NOTHING;
+
+-- Lojas existentes ficam na alteração 0 e são entregues na primeira leitura do feed
+ALTER TABLE loja ADD COLUMN IF NOT EXISTS seq_alteracao BIGINT NOT NULL DEFAULT 0;
+CREATE INDEX IF NOT EXISTS idx_loja_seq_alteracao ON loja (seq_alteracao, id_loja);
+
+CREATE TABLE IF NOT EXISTS loja_exclusao (
+    id_loja BIGINT PRIMARY KEY,
+    seq_alteracao BIGINT NOT NULL,
+    excluida_em TIMESTAMP WITH TIME ZONE NOT NULL
+);
+CREATE INDEX IF NOT EXISTS idx_loja_exclusao_seq_alteracao ON loja_exclusao (seq_alteracao, id_loja);
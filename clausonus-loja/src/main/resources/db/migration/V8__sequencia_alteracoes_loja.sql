@@ -0,0 +1,19 @@
+-- Feed de alterações de loja: o contador de linha única (que serializava todas as gravações
+-- de loja no bloqueio da sua linha) é substituído pela sequência loja_alteracao_seq. Os números
+-- de uma sequência podem ser confirmados fora de ordem, então cada alteração guarda o instante
+-- em que obteve o número e o feed só entrega alterações anteriores ao horizonte de visibilidade.
+
+DO $$
+DECLARE
+    ultimo BIGINT;
+BEGIN
+    SELECT COALESCE(MAX(valor), 0) INTO ultimo FROM loja_alteracao_contador;
+    EXECUTE format('CREATE SEQUENCE IF NOT EXISTS loja_alteracao_seq START WITH %s', ultimo + 1);
+END $$;
+
+DROP TABLE IF EXISTS loja_alteracao_contador;
+
+-- Alterações existentes já foram confirmadas e ficam antes de qualquer horizonte
+ALTER TABLE loja ADD COLUMN IF NOT EXISTS alterada_em TIMESTAMP WITH TIME ZONE NOT NULL
+    DEFAULT TIMESTAMP WITH TIME ZONE '1970-01-01 00:00:00+00';
+ALTER TABLE loja ALTER COLUMN alterada_em DROP DEFAULT;
@@ -5,11 +5,18 @@ import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
 
+import java.time.Instant;
 import java.util.List;
 import java.util.Optional;
 
+import jakarta.inject.Inject;
 import jakarta.transaction.Transactional;
 
+import br.com.rockambole.clausonus.loja.dto.LojaDTO;
+
+import org.hibernate.SessionFactory;
+
+import io.quarkus.narayana.jta.QuarkusTransaction;
 import io.quarkus.test.junit.QuarkusTest;
 import io.quarkus.test.junit.TestProfile;
 
@@ -22,6 +29,9 @@ import org.junit.jupiter.api.Test;
 @TestProfile(LojaTestProfile.class)
 public class LojaTest {
 
+    @Inject
+    SessionFactory sessionFactory;
+
     @Test
     public void testListarTodas() {
         List<Loja> lojas = Loja.listAll();
@@ -29,6 +39,17 @@ public class LojaTest {
         assertEquals(3, lojas.size(), "Deveriam existir 3 lojas cadastradas");
     }
 
+    @Test
+    public void testListarPagina() {
+        List<LojaDTO> primeiraPagina = Loja.listarPaginaDto(null, 2);
+        assertEquals(2, primeiraPagina.size(), "A primeira página deveria ter 2 lojas");
+        assertEquals(1L, primeiraPagina.get(0).getId(), "A primeira página deveria começar pela loja de ID 1");
+        
+        List<LojaDTO> segundaPagina = Loja.listarPaginaDto(primeiraPagina.get(1).getId(), 2);
+        assertEquals(1, segundaPagina.size(), "A segunda página deveria ter 1 loja");
+        assertEquals(3L, segundaPagina.get(0).getId(), "A segunda página deveria conter a loja de ID 3");
+    }
+
     @Test
     public void testBuscarPorId() {
         Optional<Loja> loja = Loja.findByIdOptional(1L);
@@ -49,6 +70,16 @@ public class LojaTest {
         assertEquals("Loja Matriz", loja.get().getNome(), "O nome da loja deveria ser 'Loja Matriz'");
     }
 
+    @Test
+    public void testBuscarPorIdNaoUsaCacheDeSegundoNivel() {
+        // As gravações comparam a versão lida do banco, e não uma cópia mantida no cache local
+        // da instância
+        Optional<Loja> loja = QuarkusTransaction.requiringNew().call(() -> Loja.buscarPorId(2L));
+        assertTrue(loja.isPresent(), "Deveria encontrar a loja com ID 2");
+        assertFalse(sessionFactory.getCache().containsEntity(Loja.class, loja.get().id),
+                "A loja não deveria ser armazenada no cache de segundo nível");
+    }
+
     @Test
     public void testBuscarPorCnpjInexistente() {
         Optional<Loja> loja = Loja.find("cnpj", "99999999999999").firstResultOptional();
@@ -68,11 +99,25 @@ public class LojaTest {
         assertEquals(3, lojas.size(), "Deveria encontrar 3 lojas com nome contendo 'Loja'");
     }
 
+    @Test
+    public void testBuscarPorNomeRanqueadoELimitado() {
+        List<LojaDTO> lojas = Loja.buscarDtosPorNome("campinas", 10);
+        assertEquals(1, lojas.size(), "Deveria encontrar 1 loja com nome contendo 'campinas', sem diferenciar maiúsculas");
+        assertEquals("Loja Campinas", lojas.get(0).getNome(), "O nome da loja deveria ser 'Loja Campinas'");
+        
+        List<LojaDTO> limitadas = Loja.buscarDtosPorNome("Loja", 2);
+        assertEquals(2, limitadas.size(), "A busca deveria respeitar o limite de resultados");
+        
+        List<LojaDTO> curinga = Loja.buscarDtosPorNome("%", 10);
+        assertTrue(curinga.isEmpty(), "Caracteres curinga do LIKE deveriam ser tratados literalmente");
+    }
+
     @Test
     @Transactional
     public void testSalvarEDeletar() {
         // Criar uma nova loja
         Loja novaLoja = new Loja("Loja Teste", "Rua de Teste, 123", "98765432109876", "(11) 1234-5678");
+        novaLoja.registrarAlteracao(new NumeroAlteracao(0, Instant.now()));
         
         // Salvar a loja
         novaLoja.persist();
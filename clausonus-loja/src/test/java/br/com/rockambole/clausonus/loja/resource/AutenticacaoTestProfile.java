@@ -0,0 +1,18 @@
+package br.com.rockambole.clausonus.loja.resource;
+
+import java.util.Map;
+
+import br.com.rockambole.clausonus.loja.entity.LojaTestProfile;
+
+/**
+ * Perfil de teste com a exigência de token JWT ligada (desligada no perfil de teste padrão)
+ */
+public class AutenticacaoTestProfile extends LojaTestProfile {
+    
+    @Override
+    public Map<String, String> getConfigOverrides() {
+        Map<String, String> config = super.getConfigOverrides();
+        config.put("quarkus.http.auth.permission.api.enabled", "true");
+        return config;
+    }
+}
@@ -0,0 +1,76 @@
+package br.com.rockambole.clausonus.loja.resource;
+
+import static io.restassured.RestAssured.given;
+import static org.hamcrest.CoreMatchers.is;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Set;
+
+import io.quarkus.test.junit.QuarkusTest;
+import io.quarkus.test.junit.TestProfile;
+import io.restassured.RestAssured;
+import io.smallrye.jwt.build.Jwt;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Testes da validação local dos tokens emitidos pelo módulo de funcionário
+ */
+@QuarkusTest
+@TestProfile(AutenticacaoTestProfile.class)
+public class LojaAutenticacaoTest {
+
+    @BeforeEach
+    public void setup() {
+        RestAssured.basePath = "/clausonus/api/lojas";
+    }
+
+    /**
+     * Token com os mesmos claims emitidos em POST /funcionarios/login
+     */
+    private static String token(String emissor, Instant expiracao) {
+        return Jwt.issuer(emissor)
+                .issuedAt(expiracao.minus(Duration.ofMinutes(15)))
+                .subject("1")
+                .upn("testuser")
+                .groups(Set.of("Gerente"))
+                .claim("id", 1L)
+                .claim("login", "testuser")
+                .claim("cargo", "Gerente")
+                .claim("loja", 1L)
+                .expiresAt(expiracao)
+                .sign();
+    }
+
+    @Test
+    public void testTokenValidoAcessaApi() {
+        given()
+            .auth().oauth2(token("clausonus-funcionario", Instant.now().plus(Duration.ofMinutes(15))))
+            .when().get("/1")
+            .then()
+                .statusCode(200)
+                .body("nome", is("Loja Matriz"));
+    }
+
+    @Test
+    public void testApiRecusaSemTokenOuComTokenInvalido() {
+        given()
+            .when().get("/1")
+            .then()
+                .statusCode(401);
+
+        given()
+            .auth().oauth2(token("outro-emissor", Instant.now().plus(Duration.ofMinutes(15))))
+            .when().get("/1")
+            .then()
+                .statusCode(401);
+
+        given()
+            .auth().oauth2(token("clausonus-funcionario", Instant.now().minus(Duration.ofMinutes(10))))
+            .when().get("/1")
+            .then()
+                .statusCode(401);
+    }
+}
@@ -0,0 +1,138 @@
+package br.com.rockambole.clausonus.loja.resource;
+
+import static io.restassured.RestAssured.given;
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.notNullValue;
+import static org.mockito.Mockito.when;
+
+import java.util.List;
+import java.util.Map;
+
+import jakarta.enterprise.inject.Produces;
+import jakarta.inject.Singleton;
+
+import br.com.rockambole.clausonus.loja.dto.LojaDTO;
+import br.com.rockambole.clausonus.loja.entity.LojaTestProfile;
+import br.com.rockambole.clausonus.loja.repository.LojaReativaRepository;
+
+import io.quarkus.arc.properties.IfBuildProperty;
+import io.quarkus.test.junit.QuarkusTest;
+import io.quarkus.test.junit.TestProfile;
+import io.quarkus.test.junit.mockito.InjectMock;
+import io.restassured.RestAssured;
+import io.smallrye.mutiny.Uni;
+import io.vertx.mutiny.pgclient.PgPool;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+
+/**
+ * Testes do GET condicional dos endpoints reativos de lojas. O perfil liga o modo reativo no
+ * build; como os perfis de teste usam H2, sem cliente reativo, o repositório é substituído
+ * por um mock.
+ */
+@QuarkusTest
+@TestProfile(LojaReativaResourceTest.ReativoTestProfile.class)
+public class LojaReativaResourceTest {
+
+    public static class ReativoTestProfile extends LojaTestProfile {
+
+        @Override
+        public Map<String, String> getConfigOverrides() {
+            Map<String, String> config = super.getConfigOverrides();
+            config.put("clausonus.loja.reativo.habilitado", "true");
+            return config;
+        }
+    }
+
+    /**
+     * Cliente reativo do PostgreSQL exigido pelo LojaReativaRepository real, que não é usado
+     * nos testes
+     */
+    @Singleton
+    @IfBuildProperty(name = "clausonus.loja.reativo.habilitado", stringValue = "true")
+    public static class ClienteReativoDeTeste {
+
+        @Produces
+        @Singleton
+        PgPool client() {
+            return Mockito.mock(PgPool.class);
+        }
+    }
+
+    @InjectMock
+    LojaReativaRepository lojaReativaRepository;
+
+    @BeforeEach
+    public void setup() {
+        RestAssured.basePath = "/clausonus/api/lojas/reativo";
+    }
+
+    @Test
+    public void testGetCondicionalPorId() {
+        when(lojaReativaRepository.buscarPorId(1L)).thenReturn(Uni.createFrom().item(
+                new LojaDTO(1L, "Loja Matriz", "Av. Paulista, 1000", "12345678901234", "(11) 3333-4444", 0L)));
+
+        String etag = given()
+            .when().get("/1")
+            .then()
+                .statusCode(200)
+                .header("ETag", is("\"1-0\""))
+                .body("nome", is("Loja Matriz"))
+                .extract().header("ETag");
+
+        // Mesmo ETag: 304 sem corpo
+        given()
+            .header("If-None-Match", etag)
+            .when().get("/1")
+            .then()
+                .statusCode(304);
+
+        // ETag antigo: 200 com o ETag atual
+        given()
+            .header("If-None-Match", "\"1-999\"")
+            .when().get("/1")
+            .then()
+                .statusCode(200)
+                .header("ETag", is(etag));
+    }
+
+    @Test
+    public void testGetCondicionalDaListagemMudaAposAlteracao() {
+        when(lojaReativaRepository.listarPagina(null, 3)).thenReturn(Uni.createFrom().item(List.of(
+                new LojaDTO(1L, "Loja Matriz", "Av. Paulista, 1000", "12345678901234", "(11) 3333-4444", 0L),
+                new LojaDTO(2L, "Loja Centro", "Rua Direita, 50", "98765432109876", null, 0L))));
+        when(lojaReativaRepository.listarVersoesPagina(null, 3)).thenReturn(Uni.createFrom().item(List.of(
+                new long[] { 1L, 0L }, new long[] { 2L, 0L })));
+
+        String etag = given()
+            .queryParam("limit", 2)
+            .when().get()
+            .then()
+                .statusCode(200)
+                .header("ETag", notNullValue())
+                .body("itens.size()", is(2))
+                .extract().header("ETag");
+
+        // Página inalterada: 304 sem ler as lojas
+        given()
+            .queryParam("limit", 2)
+            .header("If-None-Match", etag)
+            .when().get()
+            .then()
+                .statusCode(304);
+
+        // Outra versão de uma loja da página muda o ETag da página
+        when(lojaReativaRepository.listarVersoesPagina(null, 3)).thenReturn(Uni.createFrom().item(List.of(
+                new long[] { 1L, 0L }, new long[] { 2L, 1L })));
+
+        given()
+            .queryParam("limit", 2)
+            .header("If-None-Match", etag)
+            .when().get()
+            .then()
+                .statusCode(200)
+                .body("itens.size()", is(2));
+    }
+}
@@ -0,0 +1,187 @@
+package br.com.rockambole.clausonus.loja.resource;
+
+import static io.restassured.RestAssured.given;
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.notNullValue;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+
+import jakarta.inject.Inject;
+
+import br.com.rockambole.clausonus.loja.dto.LojaDTO;
+import br.com.rockambole.clausonus.loja.entity.LojaTestProfile;
+import br.com.rockambole.clausonus.loja.service.LojaService;
+
+import io.quarkus.test.junit.QuarkusTest;
+import io.quarkus.test.junit.TestProfile;
+import io.restassured.RestAssured;
+import io.restassured.http.ContentType;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Testes da API REST de lojas
+ */
+@QuarkusTest
+@TestProfile(LojaTestProfile.class)
+public class LojaResourceTest {
+
+    @Inject
+    LojaService lojaService;
+
+    @BeforeEach
+    public void setup() {
+        // Definindo o basePath para os testes
+        RestAssured.basePath = "/clausonus/api/lojas";
+    }
+
+    @Test
+    public void testGetCondicionalPorId() {
+        String etag = given()
+            .when().get("/1")
+            .then()
+                .statusCode(200)
+                .header("ETag", notNullValue())
+                .extract().header("ETag");
+
+        // Mesmo ETag: 304 sem corpo
+        given()
+            .header("If-None-Match", etag)
+            .when().get("/1")
+            .then()
+                .statusCode(304);
+
+        // ETag antigo: 200 com o novo ETag
+        given()
+            .header("If-None-Match", "\"1-999\"")
+            .when().get("/1")
+            .then()
+                .statusCode(200);
+    }
+
+    @Test
+    public void testGetCondicionalDaListagemMudaAposAlteracao() {
+        String etag = given()
+            .queryParam("limit", 2)
+            .when().get()
+            .then()
+                .statusCode(200)
+                .extract().header("ETag");
+
+        given()
+            .queryParam("limit", 2)
+            .header("If-None-Match", etag)
+            .when().get()
+            .then()
+                .statusCode(304);
+
+        // Alterar uma loja da página muda o ETag da página
+        LojaDTO loja = lojaService.buscarPorId(2L);
+        String nomeOriginal = loja.getNome();
+        LojaDTO alterada = new LojaDTO(loja.getId(), nomeOriginal + " Alterada", loja.getEndereco(),
+                loja.getCnpj(), loja.getTelefone());
+        lojaService.atualizar(2L, alterada);
+
+        String novoEtag = given()
+            .queryParam("limit", 2)
+            .header("If-None-Match", etag)
+            .when().get()
+            .then()
+                .statusCode(200)
+                .extract().header("ETag");
+        assertNotEquals(etag, novoEtag, "O ETag da página deveria mudar após a alteração");
+
+        // Restaura o nome original para não interferir nos demais testes
+        alterada.setNome(nomeOriginal);
+        lojaService.atualizar(2L, alterada);
+    }
+
+    @Test
+    public void testAtualizacaoCondicionalComIfMatch() {
+        LojaDTO salva = lojaService.salvar(
+                new LojaDTO(null, "Loja If-Match", "Rua Versão, 1", "88999000000166", null));
+        String etag = given()
+            .when().get("/" + salva.getId())
+            .then()
+                .statusCode(200)
+                .extract().header("ETag");
+
+        // ETag atual: a atualização é aplicada e o novo ETag é devolvido
+        String novoEtag = given()
+            .contentType(ContentType.JSON)
+            .header("If-Match", etag)
+            .body(new LojaDTO(null, "Loja If-Match Alterada", "Rua Versão, 1", "88999000000166", null))
+            .when().put("/" + salva.getId())
+            .then()
+                .statusCode(200)
+                .body("nome", is("Loja If-Match Alterada"))
+                .extract().header("ETag");
+        assertNotEquals(etag, novoEtag, "O ETag deveria mudar após a atualização");
+
+        // ETag antigo: outra edição já foi gravada, então PUT e PATCH são recusados
+        given()
+            .contentType(ContentType.JSON)
+            .header("If-Match", etag)
+            .body(new LojaDTO(null, "Loja Sobrescrita", "Rua Versão, 1", "88999000000166", null))
+            .when().put("/" + salva.getId())
+            .then()
+                .statusCode(412);
+        given()
+            .contentType("application/merge-patch+json")
+            .header("If-Match", etag)
+            .body("{\"nome\": \"Loja Sobrescrita\"}")
+            .when().patch("/" + salva.getId())
+            .then()
+                .statusCode(412);
+
+        // PATCH com o ETag atual é aceito
+        given()
+            .contentType("application/merge-patch+json")
+            .header("If-Match", novoEtag)
+            .body("{\"telefone\": \"(11) 5555-5555\"}")
+            .when().patch("/" + salva.getId())
+            .then()
+                .statusCode(200)
+                .body("nome", is("Loja If-Match Alterada"))
+                .body("telefone", is("(11) 5555-5555"));
+
+        lojaService.excluir(salva.getId());
+    }
+
+    @Test
+    public void testBuscaEmLotePorIdsEPorCnpjs() {
+        // Um item por ID, na ordem pedida; o inexistente é marcado explicitamente
+        given()
+            .queryParam("ids", "3,999,1")
+            .when().get()
+            .then()
+                .statusCode(200)
+                .body("total", is(3))
+                .body("encontradas", is(2))
+                .body("naoEncontradas", is(1))
+                .body("itens[0].chave", is("3"))
+                .body("itens[0].status", is("ENCONTRADA"))
+                .body("itens[0].loja.nome", is("Loja Campinas"))
+                .body("itens[1].chave", is("999"))
+                .body("itens[1].status", is("NAO_ENCONTRADA"))
+                .body("itens[2].loja.id", is(1));
+
+        // CNPJs com ou sem máscara; a chave devolvida é a que foi enviada
+        given()
+            .contentType(ContentType.JSON)
+            .body("[\"23.456.789/0123-45\", \"99999999999999\"]")
+            .when().post("/cnpjs")
+            .then()
+                .statusCode(200)
+                .body("itens[0].chave", is("23.456.789/0123-45"))
+                .body("itens[0].loja.nome", is("Loja Guarulhos"))
+                .body("itens[1].status", is("NAO_ENCONTRADA"));
+
+        given()
+            .contentType(ContentType.JSON)
+            .body("[\"123\"]")
+            .when().post("/cnpjs")
+            .then()
+                .statusCode(400);
+    }
+}
@@ -0,0 +1,69 @@
+package br.com.rockambole.clausonus.loja.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.List;
+import java.util.stream.Collectors;
+
+import br.com.rockambole.clausonus.loja.dto.LojaSugestaoDTO;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Testes unitários do índice em memória do autocompletar
+ */
+public class IndiceNomesLojaTest {
+
+    private SimpleMeterRegistry registry;
+    private IndiceNomesLoja indice;
+
+    @BeforeEach
+    public void setup() {
+        registry = new SimpleMeterRegistry();
+        indice = new IndiceNomesLoja(registry);
+        indice.atualizar(1L, "Loja Centro");
+        indice.atualizar(2L, "Loja Shopping Ibirapuera");
+        indice.atualizar(3L, "Mercado São João");
+        indice.atualizar(4L, "Centro Automotivo");
+    }
+
+    private List<Long> ids(List<LojaSugestaoDTO> sugestoes) {
+        return sugestoes.stream().map(LojaSugestaoDTO::getId).collect(Collectors.toList());
+    }
+
+    @Test
+    public void testSugerirPorPrefixoOrdenadoPorRelevancia() {
+        // "Centro Automotivo" começa com a consulta e vem antes de "Loja Centro"
+        assertEquals(List.of(4L, 1L), ids(indice.sugerir("cen", 10)));
+
+        // Todos os termos precisam ser prefixo de alguma palavra do nome
+        assertEquals(List.of(2L), ids(indice.sugerir("loja shop", 10)));
+
+        // Acentos e maiúsculas são ignorados
+        assertEquals(List.of(3L), ids(indice.sugerir("SAO joa", 10)));
+
+        // O limite é respeitado
+        assertEquals(List.of(1L), ids(indice.sugerir("loja", 1)));
+
+        assertTrue(indice.sugerir("xyz", 10).isEmpty(), "Não deveria sugerir nomes sem correspondência");
+    }
+
+    @Test
+    public void testAtualizarERemoverMantemIndiceConsistente() {
+        indice.atualizar(1L, "Loja Jardins");
+        assertEquals(List.of(4L), ids(indice.sugerir("centro", 10)));
+        assertEquals(List.of(1L), ids(indice.sugerir("jard", 10)));
+
+        indice.remover(1L);
+        assertTrue(indice.sugerir("jard", 10).isEmpty(), "Não deveria sugerir a loja removida");
+
+        assertEquals(3.0, registry.get("loja.autocomplete.nomes").gauge().value());
+        assertTrue(registry.get("loja.autocomplete.memoria.estimada").gauge().value() > 0,
+                "A memória estimada do índice deveria ser positiva");
+        assertTrue(registry.get("loja.autocomplete.latencia").timer().count() > 0,
+                "As consultas deveriam ser registradas no timer de latência");
+    }
+}
@@ -0,0 +1,92 @@
+package br.com.rockambole.clausonus.loja.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import jakarta.inject.Inject;
+import jakarta.ws.rs.core.Response;
+
+import br.com.rockambole.clausonus.loja.dto.LojaDTO;
+import br.com.rockambole.clausonus.loja.entity.LojaTestProfile;
+import br.com.rockambole.clausonus.loja.exception.BusinessException;
+
+import io.quarkus.logging.Log;
+import io.quarkus.test.junit.QuarkusTest;
+import io.quarkus.test.junit.TestProfile;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Testes de criação concorrente de lojas: várias threads tentam cadastrar os mesmos CNPJs
+ * ao mesmo tempo e cada CNPJ deve gerar exatamente uma loja e conflitos (409) para as demais
+ */
+@QuarkusTest
+@TestProfile(LojaTestProfile.class)
+public class LojaConcorrenciaTest {
+
+    private static final int THREADS = 8;
+    private static final int CNPJS = 50;
+
+    @Inject
+    LojaService lojaService;
+
+    @Test
+    public void testCriacaoConcorrenteSemDuplicidade() throws InterruptedException {
+        Queue<Long> criadas = new ConcurrentLinkedQueue<>();
+        Queue<Throwable> inesperados = new ConcurrentLinkedQueue<>();
+        AtomicInteger conflitos = new AtomicInteger();
+        CountDownLatch largada = new CountDownLatch(1);
+
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        for (int t = 0; t < THREADS; t++) {
+            executor.submit(() -> {
+                largada.await();
+                for (int i = 0; i < CNPJS; i++) {
+                    LojaDTO loja = new LojaDTO(null, "Loja Concorrente " + i, "Rua Paralela, " + i,
+                            String.format("77%012d", i), null);
+                    try {
+                        criadas.add(lojaService.salvar(loja).getId());
+                    } catch (BusinessException e) {
+                        if (e.getStatus() == Response.Status.CONFLICT) {
+                            conflitos.incrementAndGet();
+                        } else {
+                            inesperados.add(e);
+                        }
+                    } catch (RuntimeException e) {
+                        inesperados.add(e);
+                    }
+                }
+                return null;
+            });
+        }
+
+        long inicio = System.nanoTime();
+        largada.countDown();
+        executor.shutdown();
+        assertTrue(executor.awaitTermination(2, TimeUnit.MINUTES), "As criações deveriam terminar");
+        double segundos = (System.nanoTime() - inicio) / 1_000_000_000.0;
+
+        Log.infof("Criação concorrente: %d tentativas em %.2fs (%.0f/s), %d criadas, %d conflitos",
+                THREADS * CNPJS, segundos, THREADS * CNPJS / segundos, criadas.size(), conflitos.get());
+
+        try {
+            assertTrue(inesperados.isEmpty(), "Nenhum erro além do conflito deveria ocorrer: " + inesperados);
+            assertEquals(CNPJS, criadas.size(), "Cada CNPJ deveria gerar exatamente uma loja");
+            assertEquals(CNPJS * (THREADS - 1), conflitos.get(), "As demais tentativas deveriam ser conflitos");
+        } finally {
+            // Remove as lojas criadas para não interferir nos demais testes
+            for (Long id : new ArrayList<>(criadas)) {
+                lojaService.excluir(id);
+            }
+        }
+    }
+}
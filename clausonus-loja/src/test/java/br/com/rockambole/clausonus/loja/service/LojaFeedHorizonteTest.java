@@ -0,0 +1,65 @@
+package br.com.rockambole.clausonus.loja.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.Map;
+
+import jakarta.inject.Inject;
+
+import br.com.rockambole.clausonus.loja.dto.AlteracoesLojaDTO;
+import br.com.rockambole.clausonus.loja.dto.LojaDTO;
+import br.com.rockambole.clausonus.loja.entity.LojaTestProfile;
+
+import io.quarkus.test.junit.QuarkusTest;
+import io.quarkus.test.junit.TestProfile;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Testes do horizonte de visibilidade do feed de alterações: uma alteração só é entregue
+ * depois que a margem de visibilidade passa pelo instante em que ela obteve o número
+ */
+@QuarkusTest
+@TestProfile(LojaFeedHorizonteTest.HorizonteTestProfile.class)
+public class LojaFeedHorizonteTest {
+
+    public static class HorizonteTestProfile extends LojaTestProfile {
+
+        @Override
+        public Map<String, String> getConfigOverrides() {
+            Map<String, String> config = super.getConfigOverrides();
+            config.put("clausonus.loja.alteracoes.margem-visibilidade", "1S");
+            return config;
+        }
+    }
+
+    @Inject
+    LojaService lojaService;
+
+    @Test
+    public void testAlteracaoSoEEntregueAposOHorizonte() throws InterruptedException {
+        AlteracoesLojaDTO pagina = lojaService.listarAlteracoes(null, 500);
+        while (pagina.isTemMais()) {
+            pagina = lojaService.listarAlteracoes(pagina.getProximoToken(), 500);
+        }
+        String token = pagina.getProximoToken();
+
+        LojaDTO salva = lojaService.salvar(new LojaDTO(null, "Loja Horizonte", "Rua Horizonte, 1", "55000111000155", null));
+
+        // Dentro da margem a alteração ainda não é entregue e o token não avança sobre ela
+        AlteracoesLojaDTO recente = lojaService.listarAlteracoes(token, 10);
+        assertTrue(recente.getAlteradas().isEmpty(), "A alteração ainda não deveria ser entregue");
+        assertFalse(recente.isTemMais(), "Não deveria indicar próxima página antes do horizonte");
+        assertEquals(token, recente.getProximoToken(), "O token deveria ser mantido");
+
+        Thread.sleep(1100);
+
+        AlteracoesLojaDTO visivel = lojaService.listarAlteracoes(token, 10);
+        assertEquals(1, visivel.getAlteradas().size(), "A alteração deveria ser entregue após o horizonte");
+        assertEquals(salva.getId(), visivel.getAlteradas().get(0).getId());
+
+        lojaService.excluir(salva.getId());
+    }
+}
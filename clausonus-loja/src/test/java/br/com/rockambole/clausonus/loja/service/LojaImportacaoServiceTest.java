@@ -0,0 +1,120 @@
+package br.com.rockambole.clausonus.loja.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import jakarta.inject.Inject;
+import jakarta.validation.Validator;
+import jakarta.ws.rs.core.Response;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import br.com.rockambole.clausonus.loja.dto.ItemLoteDTO;
+import br.com.rockambole.clausonus.loja.dto.LojaDTO;
+import br.com.rockambole.clausonus.loja.dto.ResultadoLoteDTO;
+import br.com.rockambole.clausonus.loja.entity.LojaTestProfile;
+import br.com.rockambole.clausonus.loja.exception.BusinessException;
+
+import io.quarkus.test.junit.QuarkusTest;
+import io.quarkus.test.junit.TestProfile;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Testes de integração da importação de lojas em lote
+ */
+@QuarkusTest
+@TestProfile(LojaTestProfile.class)
+public class LojaImportacaoServiceTest {
+
+    @Inject
+    LojaImportacaoService lojaImportacaoService;
+
+    @Inject
+    LojaService lojaService;
+
+    @Inject
+    ObjectMapper objectMapper;
+
+    @Inject
+    Validator validator;
+
+    private ByteArrayInputStream corpo(String json) {
+        return new ByteArrayInputStream(json.getBytes(StandardCharsets.UTF_8));
+    }
+
+    @Test
+    public void testImportarLoteComResultadoPorLinha() {
+        String json = "["
+                + "{\"nome\":\"Loja Lote 1\",\"endereco\":\"Rua A, 1\",\"cnpj\":\"55.666.777/0001-01\"},"
+                + "{\"nome\":\"Loja Lote 2\",\"endereco\":\"Rua B, 2\",\"cnpj\":\"55666777000102\"},"
+                + "{\"nome\":\"Loja Repetida\",\"endereco\":\"Rua C, 3\",\"cnpj\":\"55666777000101\"},"
+                + "{\"nome\":\"Loja Existente\",\"endereco\":\"Rua D, 4\",\"cnpj\":\"12345678901234\"},"
+                + "{\"nome\":\"\",\"endereco\":\"Rua E, 5\",\"cnpj\":\"55666777000105\"}"
+                + "]";
+
+        ResultadoLoteDTO resultado = lojaImportacaoService.importar(corpo(json));
+
+        assertEquals(5, resultado.getTotal(), "Todas as linhas deveriam ter resultado");
+        assertEquals(2, resultado.getCriadas(), "Somente as duas primeiras lojas deveriam ser criadas");
+        assertEquals(3, resultado.getRejeitadas(), "As demais linhas deveriam ser rejeitadas");
+
+        ItemLoteDTO primeira = resultado.getItens().get(0);
+        ItemLoteDTO segunda = resultado.getItens().get(1);
+        assertEquals(ItemLoteDTO.Status.CRIADA, primeira.getStatus());
+        assertEquals(ItemLoteDTO.Status.CRIADA, segunda.getStatus());
+        assertNotNull(primeira.getId(), "A loja criada deveria ter ID");
+
+        for (int i = 2; i < 5; i++) {
+            assertEquals(i, resultado.getItens().get(i).getIndice(), "Os resultados deveriam seguir a ordem de leitura");
+            assertEquals(ItemLoteDTO.Status.REJEITADA, resultado.getItens().get(i).getStatus());
+        }
+
+        // Remove as lojas criadas para não interferir nos demais testes
+        lojaService.excluir(primeira.getId());
+        lojaService.excluir(segunda.getId());
+    }
+
+    @Test
+    public void testConflitoConcorrenteRejeitaSomenteALinhaEmConflito() {
+        // Simula outra requisição cadastrando o CNPJ da segunda linha depois da verificação do bloco
+        LojaService servico = mock(LojaService.class);
+        BusinessException conflito = new BusinessException("CNPJ cadastrado durante a importação", Response.Status.CONFLICT);
+        when(servico.importarBloco(anyList())).thenAnswer(chamada -> {
+            List<LojaDTO> bloco = chamada.getArgument(0);
+            if (bloco.size() > 1 || bloco.get(0).getCnpj().equals("55666777000202")) {
+                throw conflito;
+            }
+            LojaDTO inserida = bloco.get(0);
+            return List.of(new LojaDTO(100L, inserida.getNome(), inserida.getEndereco(), inserida.getCnpj(), null));
+        });
+        LojaImportacaoService importacao = new LojaImportacaoService(servico, objectMapper, validator, 500, 10000);
+
+        String json = "["
+                + "{\"nome\":\"Loja Conflito 1\",\"endereco\":\"Rua A, 1\",\"cnpj\":\"55666777000201\"},"
+                + "{\"nome\":\"Loja Conflito 2\",\"endereco\":\"Rua B, 2\",\"cnpj\":\"55666777000202\"}"
+                + "]";
+        ResultadoLoteDTO resultado = importacao.importar(corpo(json));
+
+        assertEquals(2, resultado.getTotal(), "Todas as linhas deveriam ter resultado");
+        assertEquals(ItemLoteDTO.Status.CRIADA, resultado.getItens().get(0).getStatus(),
+                "A linha sem conflito deveria ser gravada individualmente");
+        assertEquals(ItemLoteDTO.Status.REJEITADA, resultado.getItens().get(1).getStatus(),
+                "A linha em conflito deveria ser rejeitada");
+        assertEquals("55666777000202", resultado.getItens().get(1).getCnpj());
+    }
+
+    @Test
+    public void testImportarLoteInvalido() {
+        assertThrows(IllegalArgumentException.class, () -> lojaImportacaoService.importar(corpo("[{\"nome\":")),
+                "JSON inválido deveria ser rejeitado");
+    }
+}
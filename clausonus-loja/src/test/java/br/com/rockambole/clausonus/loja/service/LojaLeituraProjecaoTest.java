@@ -0,0 +1,76 @@
+package br.com.rockambole.clausonus.loja.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import jakarta.inject.Inject;
+
+import br.com.rockambole.clausonus.loja.dto.LojaDTO;
+import br.com.rockambole.clausonus.loja.entity.Loja;
+import br.com.rockambole.clausonus.loja.entity.LojaTestProfile;
+import br.com.rockambole.clausonus.loja.util.LojaConverter;
+
+import io.quarkus.narayana.jta.QuarkusTransaction;
+import io.quarkus.panache.common.Sort;
+import io.quarkus.test.junit.QuarkusTest;
+import io.quarkus.test.junit.TestProfile;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Compara a leitura de lojas por projeção em DTO com a leitura anterior (entidades
+ * gerenciadas convertidas pelo LojaConverter). A alocação das duas leituras é medida em
+ * src/jmh/java, no LeituraLojaBenchmark.
+ */
+@QuarkusTest
+@TestProfile(LojaTestProfile.class)
+public class LojaLeituraProjecaoTest {
+
+    private static final int QUANTIDADE_LOJAS = 200;
+
+    @Inject
+    LojaService lojaService;
+
+    @Inject
+    LojaConverter lojaConverter;
+
+    private final List<Long> ids = new ArrayList<>();
+
+    @BeforeEach
+    public void setup() {
+        List<LojaDTO> lojas = new ArrayList<>();
+        for (int i = 0; i < QUANTIDADE_LOJAS; i++) {
+            lojas.add(new LojaDTO(null, "Loja Projeção " + i, "Rua da Leitura, " + i,
+                    String.format("77%012d", i), "(11) 5555-0000"));
+        }
+        lojaService.importarBloco(lojas).forEach(loja -> ids.add(loja.getId()));
+    }
+
+    @AfterEach
+    public void limpar() {
+        lojaService.excluirEmLote(ids);
+        ids.clear();
+    }
+
+    private List<LojaDTO> lerPorEntidade() {
+        return QuarkusTransaction.requiringNew().call(() -> Loja.<Loja>findAll(Sort.by("id"))
+                .range(0, QUANTIDADE_LOJAS - 1)
+                .stream()
+                .map(lojaConverter::toDto)
+                .toList());
+    }
+
+    private List<LojaDTO> lerPorProjecao() {
+        return QuarkusTransaction.requiringNew().call(() -> Loja.listarPaginaDto(null, QUANTIDADE_LOJAS));
+    }
+
+    @Test
+    public void testProjecaoRetornaMesmasLojas() {
+        assertEquals(lerPorEntidade().toString(), lerPorProjecao().toString(),
+                "A projeção deveria retornar as mesmas lojas, na mesma ordem, que a conversão das entidades");
+    }
+}
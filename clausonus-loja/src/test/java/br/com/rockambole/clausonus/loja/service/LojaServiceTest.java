@@ -0,0 +1,172 @@
+package br.com.rockambole.clausonus.loja.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+import jakarta.inject.Inject;
+import jakarta.ws.rs.NotFoundException;
+import jakarta.ws.rs.core.Response;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import br.com.rockambole.clausonus.loja.dto.AlteracoesLojaDTO;
+import br.com.rockambole.clausonus.loja.dto.LojaDTO;
+import br.com.rockambole.clausonus.loja.entity.LojaTestProfile;
+import br.com.rockambole.clausonus.loja.exception.BusinessException;
+
+import io.quarkus.test.junit.QuarkusTest;
+import io.quarkus.test.junit.TestProfile;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Testes de integração do LojaService (cache de consultas e invalidação)
+ */
+@QuarkusTest
+@TestProfile(LojaTestProfile.class)
+public class LojaServiceTest {
+
+    @Inject
+    LojaService lojaService;
+
+    @Inject
+    ObjectMapper objectMapper;
+
+    @Test
+    public void testCacheInvalidadoAposAtualizarEExcluir() {
+        LojaDTO nova = new LojaDTO(null, "Loja Cache", "Rua do Cache, 1", "11.222.333/0001-81", "(11) 1111-1111");
+        LojaDTO salva = lojaService.salvar(nova);
+
+        // Segunda consulta deve vir do cache
+        LojaDTO primeiraLeitura = lojaService.buscarPorId(salva.getId());
+        LojaDTO segundaLeitura = lojaService.buscarPorId(salva.getId());
+        assertSame(primeiraLeitura, segundaLeitura, "A segunda consulta por ID deveria vir do cache");
+
+        // CNPJ com e sem máscara devem apontar para a mesma loja
+        Optional<LojaDTO> porCnpjComMascara = lojaService.buscarPorCnpj("11.222.333/0001-81");
+        Optional<LojaDTO> porCnpjSemMascara = lojaService.buscarPorCnpj("11222333000181");
+        assertTrue(porCnpjComMascara.isPresent(), "Deveria encontrar a loja pelo CNPJ com máscara");
+        assertTrue(porCnpjSemMascara.isPresent(), "Deveria encontrar a loja pelo CNPJ sem máscara");
+        assertEquals(salva.getId(), porCnpjSemMascara.get().getId(), "Os dois formatos deveriam retornar a mesma loja");
+
+        // Atualização deve invalidar o cache
+        salva.setNome("Loja Cache Atualizada");
+        lojaService.atualizar(salva.getId(), salva);
+        assertEquals("Loja Cache Atualizada", lojaService.buscarPorId(salva.getId()).getNome(),
+                "A consulta por ID deveria refletir a atualização");
+        assertEquals("Loja Cache Atualizada", lojaService.buscarPorCnpj("11222333000181").get().getNome(),
+                "A consulta por CNPJ deveria refletir a atualização");
+
+        // Exclusão deve invalidar o cache
+        assertTrue(lojaService.excluir(salva.getId()), "A exclusão deveria retornar true");
+        assertThrows(NotFoundException.class, () -> lojaService.buscarPorId(salva.getId()),
+                "Não deveria encontrar a loja excluída pelo ID");
+        assertFalse(lojaService.buscarPorCnpj("11222333000181").isPresent(),
+                "Não deveria encontrar a loja excluída pelo CNPJ");
+    }
+
+    @Test
+    public void testCnpjNormalizadoNaGravacaoENaUnicidade() {
+        LojaDTO salva = lojaService.salvar(
+                new LojaDTO(null, "Loja Normalizada", "Rua Normal, 7", "44.555.666/0001-77", null));
+        assertEquals("44555666000177", salva.getCnpj(), "O CNPJ deveria ser gravado somente com dígitos");
+
+        // O mesmo CNPJ sem máscara não pode ser cadastrado novamente
+        BusinessException conflito = assertThrows(BusinessException.class, () -> lojaService.salvar(
+                new LojaDTO(null, "Loja Duplicada", "Rua Normal, 8", "44555666000177", null)),
+                "Não deveria aceitar o mesmo CNPJ em outro formato");
+        assertEquals(Response.Status.CONFLICT, conflito.getStatus(), "CNPJ repetido deveria ser um conflito");
+
+        // CNPJ sem 14 dígitos é rejeitado antes de consultar o banco
+        assertThrows(IllegalArgumentException.class, () -> lojaService.buscarPorCnpj("44.555.666/0001"),
+                "Deveria rejeitar CNPJ com quantidade de dígitos inválida");
+
+        lojaService.excluir(salva.getId());
+    }
+
+    @Test
+    public void testExcluirEmLote() {
+        LojaDTO primeira = lojaService.salvar(new LojaDTO(null, "Loja Lote A", "Rua A, 1", "66777888000101", null));
+        LojaDTO segunda = lojaService.salvar(new LojaDTO(null, "Loja Lote B", "Rua B, 2", "66777888000102", null));
+
+        // IDs inexistentes e repetidos são ignorados
+        long excluidas = lojaService.excluirEmLote(List.of(primeira.getId(), segunda.getId(), primeira.getId(), 999999L));
+        assertEquals(2, excluidas, "Deveria excluir somente as duas lojas existentes");
+
+        assertThrows(NotFoundException.class, () -> lojaService.buscarPorId(primeira.getId()),
+                "Não deveria encontrar a loja excluída em lote");
+        assertFalse(lojaService.buscarPorCnpj("66777888000102").isPresent(),
+                "Não deveria encontrar pelo CNPJ a loja excluída em lote");
+        assertThrows(NotFoundException.class, () -> lojaService.excluir(segunda.getId()),
+                "Excluir uma loja inexistente deveria resultar em 404");
+    }
+
+    @Test
+    public void testAtualizarParcialmente() throws Exception {
+        LojaDTO salva = lojaService.salvar(
+                new LojaDTO(null, "Loja Patch", "Rua Patch, 3", "77888999000155", "(11) 3333-3333"));
+
+        // Somente o telefone é alterado; id e versao enviados no patch são ignorados
+        LojaDTO atualizada = lojaService.atualizarParcialmente(salva.getId(),
+                objectMapper.readTree("{\"telefone\": \"(11) 4444-4444\", \"id\": 999, \"versao\": 99}"));
+        assertEquals(salva.getId(), atualizada.getId(), "O ID não deveria ser alterado pelo patch");
+        assertEquals("(11) 4444-4444", atualizada.getTelefone(), "O telefone deveria ser alterado");
+        assertEquals("Loja Patch", atualizada.getNome(), "O nome não deveria ser alterado");
+        assertEquals("Rua Patch, 3", atualizada.getEndereco(), "O endereço não deveria ser alterado");
+        assertEquals("77888999000155", atualizada.getCnpj(), "O CNPJ não deveria ser alterado");
+        assertEquals(salva.getVersao() + 1, atualizada.getVersao(), "A versão deveria ser incrementada");
+
+        // null remove o valor de um campo opcional, mas não de um obrigatório
+        assertNull(lojaService.atualizarParcialmente(salva.getId(),
+                objectMapper.readTree("{\"telefone\": null}")).getTelefone(), "O telefone deveria ser removido");
+        assertThrows(IllegalArgumentException.class, () -> lojaService.atualizarParcialmente(salva.getId(),
+                objectMapper.readTree("{\"nome\": null}")), "Não deveria aceitar nome nulo");
+
+        lojaService.excluir(salva.getId());
+    }
+
+    @Test
+    public void testFeedDeAlteracoes() {
+        // Posiciona o token no fim do feed
+        AlteracoesLojaDTO pagina = lojaService.listarAlteracoes(null, 500);
+        while (pagina.isTemMais()) {
+            pagina = lojaService.listarAlteracoes(pagina.getProximoToken(), 500);
+        }
+        String token = pagina.getProximoToken();
+
+        LojaDTO mantida = lojaService.salvar(new LojaDTO(null, "Loja Feed", "Rua Feed, 1", "55000111000133", null));
+        mantida.setNome("Loja Feed Alterada");
+        lojaService.atualizar(mantida.getId(), mantida);
+        LojaDTO excluida = lojaService.salvar(new LojaDTO(null, "Loja Feed Excluída", "Rua Feed, 2", "55000111000144", null));
+        lojaService.excluir(excluida.getId());
+
+        // Lê somente o que mudou desde o token, uma alteração por página
+        List<LojaDTO> alteradas = new ArrayList<>();
+        List<Long> excluidas = new ArrayList<>();
+        do {
+            pagina = lojaService.listarAlteracoes(token, 1);
+            alteradas.addAll(pagina.getAlteradas());
+            excluidas.addAll(pagina.getExcluidas());
+            token = pagina.getProximoToken();
+        } while (pagina.isTemMais());
+
+        assertEquals(1, alteradas.size(), "Cada loja deveria aparecer uma única vez, no estado atual");
+        assertEquals("Loja Feed Alterada", alteradas.get(0).getNome(), "Deveria trazer o estado mais recente");
+        assertEquals(List.of(excluida.getId()), excluidas, "Deveria informar a loja excluída");
+
+        // Sem novas alterações, o token não avança
+        AlteracoesLojaDTO vazia = lojaService.listarAlteracoes(token, 1);
+        assertTrue(vazia.getAlteradas().isEmpty() && vazia.getExcluidas().isEmpty(), "Não deveria haver alterações");
+        assertEquals(token, vazia.getProximoToken(), "O token deveria ser mantido");
+
+        lojaService.excluir(mantida.getId());
+    }
+}
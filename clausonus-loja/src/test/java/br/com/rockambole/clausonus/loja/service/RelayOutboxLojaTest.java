@@ -0,0 +1,88 @@
+package br.com.rockambole.clausonus.loja.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import jakarta.inject.Inject;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import br.com.rockambole.clausonus.loja.dto.EventoLojaDTO;
+import br.com.rockambole.clausonus.loja.dto.LojaDTO;
+import br.com.rockambole.clausonus.loja.entity.EventoOutbox;
+import br.com.rockambole.clausonus.loja.entity.LojaTestProfile;
+
+import io.quarkus.narayana.jta.QuarkusTransaction;
+import io.quarkus.test.junit.QuarkusTest;
+import io.quarkus.test.junit.TestProfile;
+import io.vertx.mutiny.core.eventbus.EventBus;
+import io.vertx.mutiny.core.eventbus.MessageConsumer;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Testes do outbox de lojas: gravação na transação da alteração e publicação pelo relay
+ */
+@QuarkusTest
+@TestProfile(LojaTestProfile.class)
+public class RelayOutboxLojaTest {
+
+    @Inject
+    LojaService lojaService;
+
+    @Inject
+    RelayOutboxLoja relay;
+
+    @Inject
+    EventBus eventBus;
+
+    @Inject
+    ObjectMapper objectMapper;
+
+    @Test
+    public void testAlteracoesPublicadasPeloRelay() throws Exception {
+        List<EventoLojaDTO> recebidos = new CopyOnWriteArrayList<>();
+        MessageConsumer<String> consumidor = eventBus.<String>consumer("loja.alterada", mensagem -> {
+            try {
+                recebidos.add(objectMapper.readValue(mensagem.body(), EventoLojaDTO.class));
+            } catch (Exception e) {
+                throw new IllegalStateException(e);
+            }
+        });
+
+        try {
+            LojaDTO salva = lojaService.salvar(
+                    new LojaDTO(null, "Loja Outbox", "Rua do Evento, 1", "99000111000122", null));
+            lojaService.excluir(salva.getId());
+
+            // Os eventos ficam no outbox até o relay publicar
+            assertTrue(relay.publicarPendentes() >= 2, "O relay deveria publicar a criação e a exclusão");
+            assertEquals(0L, QuarkusTransaction.requiringNew().call(EventoOutbox::resumirPendentes)[0],
+                    "O outbox deveria ficar vazio após a publicação");
+
+            // A entrega no event bus é assíncrona
+            long limite = System.currentTimeMillis() + 5000;
+            while (eventosDaLoja(recebidos, salva.getId()).size() < 2 && System.currentTimeMillis() < limite) {
+                Thread.sleep(20);
+            }
+
+            List<EventoLojaDTO> eventos = eventosDaLoja(recebidos, salva.getId());
+            assertEquals(2, eventos.size(), "Deveria receber um evento por alteração");
+            assertEquals("CRIACAO", eventos.get(0).getTipo(), "O primeiro evento deveria ser a criação");
+            assertEquals("Loja Outbox", eventos.get(0).getLoja().getNome(), "A criação deveria trazer a loja");
+            assertEquals("EXCLUSAO", eventos.get(1).getTipo(), "O segundo evento deveria ser a exclusão");
+            assertTrue(eventos.get(0).getId() < eventos.get(1).getId(), "Os eventos deveriam sair em ordem");
+        } finally {
+            consumidor.unregisterAndAwait();
+        }
+    }
+
+    private static List<EventoLojaDTO> eventosDaLoja(List<EventoLojaDTO> eventos, Long idLoja) {
+        return eventos.stream()
+                .filter(evento -> idLoja.equals(evento.getIdLoja()))
+                .toList();
+    }
+}
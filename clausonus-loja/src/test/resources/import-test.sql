@@ -1,9 +1,13 @@
 -- Script para carga inicial de dados no ambiente de testes
 
 -- Lojas
-INSERT INTO loja (id_loja, nome, endereco, cnpj, telefone) VALUES (1, 'Loja Matriz', 'Av. Paulista, 1000 - São Paulo/SP', '12345678901234', '(11) 3333-4444');
-INSERT INTO loja (id_loja, nome, endereco, cnpj, telefone) VALUES (2, 'Loja Guarulhos', 'Rua Cristóbal Cláudio Elillo, 158 - Guarulhos/SP', '23456789012345', '(11) 2222-3333');
-INSERT INTO loja (id_loja, nome, endereco, cnpj, telefone) VALUES (3, 'Loja Campinas', 'Av. Norte-Sul, 500 - Campinas/SP', '34567890123456', '(19) 9999-8888');
+INSERT INTO loja (id_loja, nome, endereco, cnpj, cnpj_numerico, telefone, versao, seq_alteracao, alterada_em) VALUES (1, 'Loja Matriz', 'Av. Paulista, 1000 - São Paulo/SP', '12345678901234', 12345678901234, '(11) 3333-4444', 0, 0, TIMESTAMP '1970-01-01 00:00:00');
+INSERT INTO loja (id_loja, nome, endereco, cnpj, cnpj_numerico, telefone, versao, seq_alteracao, alterada_em) VALUES (2, 'Loja Guarulhos', 'Rua Cristóbal Cláudio Elillo, 158 - Guarulhos/SP', '23456789012345', 23456789012345, '(11) 2222-3333', 0, 0, TIMESTAMP '1970-01-01 00:00:00');
+INSERT INTO loja (id_loja, nome, endereco, cnpj, cnpj_numerico, telefone, versao, seq_alteracao, alterada_em) VALUES (3, 'Loja Campinas', 'Av. Norte-Sul, 500 - Campinas/SP', '34567890123456', 34567890123456, '(19) 9999-8888', 0, 0, TIMESTAMP '1970-01-01 00:00:00');
 
 -- Sequência para autoincremento
-ALTER SEQUENCE loja_id_loja_seq RESTART WITH 4;
\ No newline at end of file
+ALTER SEQUENCE loja_seq RESTART WITH 4;
+
+-- Sequência do feed de alterações (as lojas acima estão na alteração 0); criada aqui porque
+-- não pertence a nenhum gerador de ID do Hibernate
+CREATE SEQUENCE IF NOT EXISTS loja_alteracao_seq START WITH 1;
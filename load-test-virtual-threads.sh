@@ -0,0 +1,63 @@
+#!/bin/bash
+
+# Teste de carga dos endpoints bloqueantes (JDBC) de lojas e funcionários, para comparar a
+# execução em threads virtuais (@RunOnVirtualThread) com o pool de workers do Quarkus.
+#
+# INSTRUÇÕES DE USO:
+#
+# 1. Suba os módulos com Java 21 no perfil de produção (PostgreSQL) e execute:
+#    ./load-test-virtual-threads.sh
+#
+# 2. Para comparar com o pool de workers, suba os mesmos módulos com
+#    QUARKUS_VIRTUAL_THREADS_ENABLED=false (os métodos @RunOnVirtualThread passam a rodar no
+#    pool de workers), em outra porta, e execute novamente apontando para eles:
+#    API_PORT=8081 ./load-test-virtual-threads.sh
+#
+# 3. Para alterar a carga:
+#    NIVEIS="1000 2000 4000" DURACAO=60s ./load-test-virtual-threads.sh
+#
+# 4. A API exige um token JWT, obtido em POST /clausonus/api/funcionarios/login:
+#    API_TOKEN=<token> ./load-test-virtual-threads.sh
+#
+# REQUISITOS:
+# - hey: gerador de carga HTTP (https://github.com/rakyll/hey)
+#
+# Para cada nível de concorrência são exibidos requisições por segundo, p50, p99 e a
+# distribuição de status (respostas 5xx indicam espera por conexão acima do acquisition-timeout).
+
+API_HOST="${API_HOST:-localhost}"
+API_PORT="${API_PORT:-8080}"
+FUNCIONARIO_PORT="${FUNCIONARIO_PORT:-${API_PORT}}"
+LOJA_URL="http://${API_HOST}:${API_PORT}/clausonus/api/lojas?limit=50"
+FUNCIONARIO_URL="http://${API_HOST}:${FUNCIONARIO_PORT}/clausonus/api/funcionarios"
+NIVEIS="${NIVEIS:-250 1000 2000}"
+DURACAO="${DURACAO:-30s}"
+AUTH_ARGS=()
+if [ -n "${API_TOKEN}" ]; then
+  AUTH_ARGS=(-H "Authorization: Bearer ${API_TOKEN}")
+fi
+
+if ! command -v hey > /dev/null; then
+  echo "O hey não foi encontrado no PATH"
+  exit 1
+fi
+
+executar() {
+  local descricao=$1
+  local url=$2
+  local concorrencia=$3
+
+  echo "=== ${descricao} - ${concorrencia} clientes, ${DURACAO} ==="
+  hey "${AUTH_ARGS[@]}" -z "${DURACAO}" -c "${concorrencia}" "${url}" \
+    | grep -E "Requests/sec|50%|99%|\[[0-9]{3}\]"
+  echo
+}
+
+# Aquecimento, para que JIT e pools estejam estáveis antes da medição
+hey "${AUTH_ARGS[@]}" -z 10s -c 100 "${LOJA_URL}" > /dev/null
+hey "${AUTH_ARGS[@]}" -z 10s -c 100 "${FUNCIONARIO_URL}" > /dev/null
+
+for nivel in ${NIVEIS}; do
+  executar "GET /lojas" "${LOJA_URL}" "${nivel}"
+  executar "GET /funcionarios" "${FUNCIONARIO_URL}" "${nivel}"
+done
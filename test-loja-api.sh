@@ -15,6 +15,10 @@
 # 3. Para especificar host e porta diferentes:
 #    API_HOST=outro.servidor API_PORT=9090 ./test-loja-api.sh
 #
+# 4. A API exige um token JWT, obtido em POST /clausonus/api/funcionarios/login no módulo
+#    de funcionário:
+#    API_TOKEN=<token> ./test-loja-api.sh
+#
 # REQUISITOS:
 # - curl: para realizar as requisições HTTP
 # - jq: opcional, para formatação de JSON (a saída será legível mesmo sem jq)
@@ -25,6 +29,10 @@ API_PORT="8080"
 API_BASE_URL="http://${API_HOST}:${API_PORT}"
 API_ENDPOINT="/clausonus/api/lojas"
 CONTENT_TYPE="Content-Type: application/json"
+AUTH_ARGS=()
+if [ -n "${API_TOKEN}" ]; then
+  AUTH_ARGS=(-H "Authorization: Bearer ${API_TOKEN}")
+fi
 
 # Cores para saída
 RED='\033[0;31m'
@@ -90,7 +98,7 @@ main() {
   
   # Teste 0: Verificar se o serviço está acessível
   print_message "${BLUE}" "Teste 0: Verificar se o serviço está acessível"
-  response=$(curl -s -o /dev/null -w "%{http_code}" "${API_BASE_URL}${API_ENDPOINT}")
+  response=$(curl -s "${AUTH_ARGS[@]}" -o /dev/null -w "%{http_code}" "${API_BASE_URL}${API_ENDPOINT}")
 
   if [ "$response" -eq 200 ] || [ "$response" -eq 204 ]; then
     print_message "${GREEN}" "✅ Serviço disponível - Status: ${response}"
@@ -100,7 +108,7 @@ main() {
     
     # Tente acessar o Swagger UI para verificar os endpoints disponíveis
     print_message "${YELLOW}" "Tentando acessar a documentação Swagger para verificar endpoints disponíveis..."
-    swagger_response=$(curl -s -o /dev/null -w "%{http_code}" "${API_BASE_URL}/q/swagger-ui/")
+    swagger_response=$(curl -s "${AUTH_ARGS[@]}" -o /dev/null -w "%{http_code}" "${API_BASE_URL}/q/swagger-ui/")
     
     if [ "$swagger_response" -eq 200 ]; then
       print_message "${GREEN}" "✅ Documentação Swagger disponível em: ${API_BASE_URL}/q/swagger-ui/"
@@ -115,7 +123,7 @@ main() {
   
   # Teste 1: Listar todas as lojas
   print_message "${BLUE}" "Teste 1: Listar todas as lojas"
-  response=$(curl -s -w "\n%{http_code}" -X GET "${API_BASE_URL}${API_ENDPOINT}")
+  response=$(curl -s "${AUTH_ARGS[@]}" -w "\n%{http_code}" -X GET "${API_BASE_URL}${API_ENDPOINT}")
   status_code=$(echo "$response" | tail -n1)
   response_body=$(echo "$response" | sed '$d')
   
@@ -125,7 +133,7 @@ main() {
   
   # Teste 2: Criar uma nova loja
   print_message "${BLUE}" "Teste 2: Criar uma nova loja"
-  response=$(curl -s -w "\n%{http_code}" -X POST \
+  response=$(curl -s "${AUTH_ARGS[@]}" -w "\n%{http_code}" -X POST \
     -H "${CONTENT_TYPE}" \
     -d "${LOJA_DATA}" \
     "${API_BASE_URL}${API_ENDPOINT}")
@@ -145,7 +153,7 @@ main() {
   # Teste 3: Buscar loja por ID
   if [ -n "$LOJA_ID" ]; then
     print_message "${BLUE}" "Teste 3: Buscar loja por ID ${LOJA_ID}"
-    response=$(curl -s -w "\n%{http_code}" -X GET "${API_BASE_URL}${API_ENDPOINT}/${LOJA_ID}")
+    response=$(curl -s "${AUTH_ARGS[@]}" -w "\n%{http_code}" -X GET "${API_BASE_URL}${API_ENDPOINT}/${LOJA_ID}")
     status_code=$(echo "$response" | tail -n1)
     response_body=$(echo "$response" | sed '$d')
     
@@ -158,7 +166,7 @@ main() {
   
   # Teste 4: Buscar lojas por nome
   print_message "${BLUE}" "Teste 4: Buscar lojas por nome 'Teste'"
-  response=$(curl -s -w "\n%{http_code}" -X GET "${API_BASE_URL}${API_ENDPOINT}/buscar?nome=Teste")
+  response=$(curl -s "${AUTH_ARGS[@]}" -w "\n%{http_code}" -X GET "${API_BASE_URL}${API_ENDPOINT}/buscar?nome=Teste")
   status_code=$(echo "$response" | tail -n1)
   response_body=$(echo "$response" | sed '$d')
   
@@ -168,7 +176,7 @@ main() {
   
   # Teste 5: Buscar loja por CNPJ
   print_message "${BLUE}" "Teste 5: Buscar loja por CNPJ '12345678901234'"
-  response=$(curl -s -w "\n%{http_code}" -X GET "${API_BASE_URL}${API_ENDPOINT}/cnpj/12345678901234")
+  response=$(curl -s "${AUTH_ARGS[@]}" -w "\n%{http_code}" -X GET "${API_BASE_URL}${API_ENDPOINT}/cnpj/12345678901234")
   status_code=$(echo "$response" | tail -n1)
   response_body=$(echo "$response" | sed '$d')
   
@@ -179,7 +187,7 @@ main() {
   # Teste 6: Atualizar loja
   if [ -n "$LOJA_ID" ]; then
     print_message "${BLUE}" "Teste 6: Atualizar loja com ID ${LOJA_ID}"
-    response=$(curl -s -w "\n%{http_code}" -X PUT \
+    response=$(curl -s "${AUTH_ARGS[@]}" -w "\n%{http_code}" -X PUT \
       -H "${CONTENT_TYPE}" \
       -d "${LOJA_UPDATE}" \
       "${API_BASE_URL}${API_ENDPOINT}/${LOJA_ID}")
@@ -196,7 +204,7 @@ main() {
   # Teste 7: Excluir loja
   if [ -n "$LOJA_ID" ]; then
     print_message "${BLUE}" "Teste 7: Excluir loja com ID ${LOJA_ID}"
-    response=$(curl -s -w "\n%{http_code}" -X DELETE "${API_BASE_URL}${API_ENDPOINT}/${LOJA_ID}")
+    response=$(curl -s "${AUTH_ARGS[@]}" -w "\n%{http_code}" -X DELETE "${API_BASE_URL}${API_ENDPOINT}/${LOJA_ID}")
     status_code=$(echo "$response" | tail -n1)
     response_body=$(echo "$response" | sed '$d')
     
@@ -215,7 +223,7 @@ main() {
   if [ -n "$LOJA_ID" ]; then
     print_message "${BLUE}" "Teste 8: Verificar se a loja com ID ${LOJA_ID} foi realmente excluída"
     print_message "${YELLOW}" "Nota: Espera-se um erro 404 aqui (Loja não encontrada com o ID: ${LOJA_ID})"
-    response=$(curl -s -w "\n%{http_code}" -X GET "${API_BASE_URL}${API_ENDPOINT}/${LOJA_ID}")
+    response=$(curl -s "${AUTH_ARGS[@]}" -w "\n%{http_code}" -X GET "${API_BASE_URL}${API_ENDPOINT}/${LOJA_ID}")
     status_code=$(echo "$response" | tail -n1)
     response_body=$(echo "$response" | sed '$d')
     